@@ -0,0 +1,38 @@
+-- V2 인덱스 전/후 비교 (파티션 전환 전 스키마, f6b792b 시점 쿼리)
+-- 대상: 사용자 4242의 2025년 6월 달력, 2025년 감정 추이, 2025년 6월 키워드 순위
+
+-- CalendarRepository.findAllByDateRangeAndUser_Id (Hibernate가 만드는 SQL)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.id, m.log_date, a.image_url, a.mood_score, a.render_status
+FROM mood_logs m
+LEFT JOIN mood_analysis a ON m.id = a.mood_log_id
+WHERE m.log_date BETWEEN DATE '2025-06-01' AND DATE '2025-06-30'
+  AND m.user_id = 4242;
+
+-- MoodAnalysisRepository.findMoodTrendByPeriod (연도별 감정 추이)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT TO_CHAR(ml.log_date, 'YYYY-MM') AS period,
+       ROUND(AVG(ma.mood_score), 1) AS averageScore
+FROM mood_analysis ma
+JOIN mood_logs ml ON ma.mood_log_id = ml.id
+WHERE ml.log_date BETWEEN DATE '2025-01-01' AND DATE '2025-12-31'
+GROUP BY period
+ORDER BY period ASC;
+
+-- MoodAnalysisRepository.findTopKeywordsByPeriod (월별 키워드 순위)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT sub.count AS count,
+       STRING_AGG(sub.keyword, ', ' ORDER BY sub.keyword) AS keywords
+FROM (
+    SELECT T.keyword AS keyword,
+           COUNT(T.keyword) AS count,
+           DENSE_RANK() OVER (ORDER BY COUNT(T.keyword) DESC) AS ranking
+    FROM mood_analysis ma
+    JOIN mood_logs ml ON ma.mood_log_id = ml.id
+    CROSS JOIN LATERAL unnest(ma.keywords) AS T(keyword)
+    WHERE ml.log_date BETWEEN DATE '2025-06-01' AND DATE '2025-06-30'
+    GROUP BY T.keyword
+) sub
+WHERE sub.ranking <= 3
+GROUP BY sub.count, sub.ranking
+ORDER BY sub.ranking ASC;
@@ -0,0 +1,53 @@
+-- 파티션 전환 전 (V1 ~ V3, 일반 테이블 + V2 인덱스), ae00acc 직전 시점 쿼리
+-- 대상: 사용자 4242의 2025년 6월 달력, 2025년 감정 추이, 2025년 6월 키워드 순위, 통계 재집계
+
+-- CalendarRepository.findAllByDateRangeAndUser_Id
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.id, m.log_date, a.image_url, a.mood_score, a.render_status
+FROM mood_logs m
+LEFT JOIN mood_analysis a ON m.id = a.mood_log_id
+WHERE m.log_date BETWEEN DATE '2025-06-01' AND DATE '2025-06-30'
+  AND m.user_id = 4242;
+
+-- MoodDailyStatRepository.findMoodTrendByPeriod (일별 통계 테이블, 파티션과 무관)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT TO_CHAR(s.log_date, 'YYYY-MM') AS period,
+       ROUND(CAST(SUM(s.score_sum) AS numeric) / SUM(s.score_count), 1) AS averageScore
+FROM mood_daily_stats s
+WHERE s.log_date BETWEEN DATE '2025-01-01' AND DATE '2025-12-31'
+GROUP BY period
+HAVING SUM(s.score_count) > 0
+ORDER BY period ASC;
+
+-- KeywordDailyStatRepository.findTopKeywordsByPeriod (일별 통계 테이블, 파티션과 무관)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT sub.count AS count,
+       STRING_AGG(sub.keyword, ', ' ORDER BY sub.keyword) AS keywords
+FROM (
+    SELECT s.keyword AS keyword,
+           SUM(s.count) AS count,
+           DENSE_RANK() OVER (ORDER BY SUM(s.count) DESC) AS ranking
+    FROM keyword_daily_stats s
+    WHERE s.log_date BETWEEN DATE '2025-06-01' AND DATE '2025-06-30'
+    GROUP BY s.keyword
+    HAVING SUM(s.count) > 0
+) sub
+WHERE sub.ranking <= 3
+GROUP BY sub.count, sub.ranking
+ORDER BY sub.ranking ASC;
+
+-- MoodDailyStatRepository.rebuild의 SELECT (전체 재집계)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT ml.log_date, SUM(ma.mood_score), COUNT(ma.mood_score)
+FROM mood_analysis ma
+JOIN mood_logs ml ON ma.mood_log_id = ml.id
+WHERE ma.mood_score IS NOT NULL
+GROUP BY ml.log_date;
+
+-- KeywordDailyStatRepository.rebuild의 SELECT (전체 재집계)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT ml.log_date, T.keyword, COUNT(*)
+FROM mood_analysis ma
+JOIN mood_logs ml ON ma.mood_log_id = ml.id
+CROSS JOIN LATERAL unnest(ma.keywords) AS T(keyword)
+GROUP BY ml.log_date, T.keyword;
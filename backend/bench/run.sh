@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# 데이터를 넣고 마이그레이션 단계별로 실행 계획을 받아 results/에 저장
+# 사용법: bench/run.sh [DB 이름]   (접속 정보는 PGHOST, PGPORT, PGUSER 등 psql 환경 변수로)
+# 지정한 DB는 지우고 새로 만듦
+set -euo pipefail
+
+DB=${1:-prism_bench}
+BENCH=$(cd "$(dirname "$0")" && pwd)
+MIGRATION=$BENCH/../src/main/resources/db/migration
+RESULTS=$BENCH/results
+
+run() {
+    psql -X -q -v ON_ERROR_STOP=1 -d "$DB" "$@"
+}
+
+migrate() {
+    for version in "$@"; do
+        run -f "$MIGRATION"/V${version}__*.sql > /dev/null
+    done
+    run -c 'VACUUM ANALYZE' > /dev/null
+}
+
+# 한 번 돌려서 캐시를 채운 뒤 두 번째 결과만 저장
+explain() {
+    run -f "$BENCH/$1" > /dev/null
+    run -e -f "$BENCH/$1" > "$RESULTS/$2"
+}
+
+psql -X -q -v ON_ERROR_STOP=1 -d postgres -c "DROP DATABASE IF EXISTS $DB" -c "CREATE DATABASE $DB"
+mkdir -p "$RESULTS"
+
+migrate 1
+run -f "$BENCH/seed.sql" > /dev/null
+run -c 'VACUUM ANALYZE' > /dev/null
+explain explain_indexes.sql v1_no_indexes.txt
+
+migrate 2
+explain explain_indexes.sql v2_indexes.txt
+
+migrate 3
+explain explain_partitioning_before.sql v3_unpartitioned.txt
+
+migrate 4 5 6 7 8 9
+explain explain_partitioning_after.sql v9_partitioned.txt
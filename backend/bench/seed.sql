@@ -0,0 +1,46 @@
+-- 통계/달력 쿼리 실행 계획 확인용 데이터 (V1 스키마 위에 넣음, 파티션 전환 전)
+-- 크기는 세션 설정으로 바꿀 수 있음: PGOPTIONS='-c prism.bench_users=10000 -c prism.bench_per_user=200'
+--   기본값: 사용자 10,000명 x 일기 약 200개 = 일기 약 2,000,000개 + 분석 같은 수
+-- 날짜는 2023-01-01 ~ 2025-12-31 (36개월), 같은 입력이면 항상 같은 데이터 (random() 안 씀)
+-- 일기는 날짜 순으로 쌓이는 것처럼 (log_date, user_id) 순서로 id를 매김
+
+INSERT INTO users (id, created_at, modified_at, email, nickname, role)
+SELECT u, TIMESTAMP '2023-01-01', TIMESTAMP '2023-01-01', 'bench' || u || '@prism.com', 'bench' || u, 'USER'
+FROM generate_series(1, COALESCE(NULLIF(current_setting('prism.bench_users', true), '')::int, 10000)) AS u;
+
+-- 사용자마다 1,096일 각각에 대해 해시로 쓸지 정함 (사용자당 평균 per_user개, 하루에 하나)
+INSERT INTO mood_logs (id, created_at, modified_at, user_id, log_date, content)
+SELECT row_number() OVER (ORDER BY s.log_date, s.u),
+       s.log_date + TIME '21:00', s.log_date + TIME '21:00',
+       s.u, s.log_date,
+       repeat(md5(s.u || ':' || s.log_date), 4)
+FROM (
+    SELECT u, DATE '2023-01-01' + d AS log_date
+    FROM generate_series(1, COALESCE(NULLIF(current_setting('prism.bench_users', true), '')::int, 10000)) AS u,
+         generate_series(0, 1095) AS d
+    WHERE (hashint8(u * 1096 + d)::bigint + 2147483648) % 1096
+          < COALESCE(NULLIF(current_setting('prism.bench_per_user', true), '')::int, 200)
+) s
+ORDER BY s.log_date, s.u;
+
+-- 모든 일기에 분석 결과 (백필이 끝난 상태), 키워드는 40개 중 3개
+INSERT INTO mood_analysis (id, created_at, modified_at, mood_log_id, representative_mood, mood_score, keywords,
+                           image_prompt, image_url, detail_image_url, render_status)
+SELECT ml.id, ml.created_at, ml.created_at, ml.id,
+       (ARRAY['기쁨', '평온', '보통', '불안', '우울', '분노'])[1 + ml.id % 6],
+       (ml.id * 37) % 101,
+       ARRAY[k.words[1 + ml.id % 40], k.words[1 + (ml.id / 40) % 40], k.words[1 + (ml.id / 1600) % 40]],
+       'a cute clay character, diorama, ' || k.words[1 + ml.id % 40],
+       'https://storage.prism.example/images/' || ml.id || '.jpg',
+       'https://storage.prism.example/images/' || ml.id || '_detail.jpg',
+       'READY'
+FROM mood_logs ml,
+     (SELECT ARRAY['산책', '커피', '친구', '가족', '야근', '운동', '비', '눈', '여행', '독서',
+                   '영화', '음악', '시험', '회의', '출근', '퇴근', '주말', '늦잠', '요리', '청소',
+                   '쇼핑', '게임', '공부', '카페', '바다', '산', '고양이', '강아지', '선물', '생일',
+                   '감기', '병원', '이사', '면접', '발표', '데이트', '혼밥', '치킨', '붕어빵', '호떡'] AS words) k
+ORDER BY ml.id;
+
+SELECT setval(pg_get_serial_sequence('users', 'id'), (SELECT MAX(id) FROM users));
+SELECT setval(pg_get_serial_sequence('mood_logs', 'id'), (SELECT MAX(id) FROM mood_logs));
+SELECT setval(pg_get_serial_sequence('mood_analysis', 'id'), (SELECT MAX(id) FROM mood_analysis));
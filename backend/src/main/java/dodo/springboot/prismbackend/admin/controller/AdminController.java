@@ -1,12 +1,18 @@
 package dodo.springboot.prismbackend.admin.controller;
 
+import dodo.springboot.prismbackend.admin.dto.BackfillRunResponseDto;
 import dodo.springboot.prismbackend.admin.service.AdminService;
+import dodo.springboot.prismbackend.admin.service.BackfillService;
+import dodo.springboot.prismbackend.admin.service.BackfillWorker;
 import dodo.springboot.prismbackend.global.dto.ApiResponse;
 import dodo.springboot.prismbackend.mood.dto.KeywordStatisticsDto;
 import dodo.springboot.prismbackend.mood.dto.MoodStatisticsDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,6 +25,8 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final BackfillService backfillService;
+    private final BackfillWorker backfillWorker;
 
     // 키워드 통계 API
     @GetMapping("/stats/keywords")
@@ -40,4 +48,41 @@ public class AdminController {
         List<MoodStatisticsDto> stats = adminService.getMoodTrend(userId, year);
         return ApiResponse.success(stats);
     }
+
+    // 통계 재집계 API (집계 테이블을 분석 결과 전체에서 다시 계산)
+    @PostMapping("/stats/rebuild")
+    public ApiResponse<Void> rebuildStats(@AuthenticationPrincipal Long userId) {
+        adminService.rebuildStats(userId);
+        return ApiResponse.success();
+    }
+
+    // 분석 재실행(백필) 시작 API - 백그라운드로 진행되고 바로 202 리턴
+    @PostMapping("/backfill/analysis")
+    public ResponseEntity<ApiResponse<BackfillRunResponseDto>> startBackfill(
+            @AuthenticationPrincipal Long userId,
+            @RequestParam(required = false) Long targetUserId,
+            @RequestParam(required = false) Integer batchSize
+    ) {
+        Long runId = backfillWorker.start(userId, targetUserId, batchSize);
+        return ResponseEntity.accepted().body(ApiResponse.success(backfillService.getStatus(userId, runId)));
+    }
+
+    // 백필 진행 상황 조회 API
+    @GetMapping("/backfill/{id}")
+    public ApiResponse<BackfillRunResponseDto> getBackfill(
+            @AuthenticationPrincipal Long userId,
+            @PathVariable Long id
+    ) {
+        return ApiResponse.success(backfillService.getStatus(userId, id));
+    }
+
+    // 백필 중단 API
+    @PostMapping("/backfill/{id}/cancel")
+    public ApiResponse<Void> cancelBackfill(
+            @AuthenticationPrincipal Long userId,
+            @PathVariable Long id
+    ) {
+        backfillService.cancel(userId, id);
+        return ApiResponse.success();
+    }
 }
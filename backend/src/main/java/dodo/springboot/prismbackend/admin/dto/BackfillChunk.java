@@ -0,0 +1,11 @@
+package dodo.springboot.prismbackend.admin.dto;
+
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+
+import java.util.List;
+
+// 백필 한 묶음 (afterId: 읽을 때의 체크포인트)
+public record BackfillChunk(
+        Long afterId,
+        List<BatchAnalysisItem> items
+) {}
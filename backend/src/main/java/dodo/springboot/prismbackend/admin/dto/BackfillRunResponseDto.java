@@ -0,0 +1,19 @@
+package dodo.springboot.prismbackend.admin.dto;
+
+import dodo.springboot.prismbackend.admin.entity.BackfillStatus;
+
+import java.time.LocalDateTime;
+
+public record BackfillRunResponseDto(
+        Long id,
+        BackfillStatus status,
+        Long targetUserId,
+        int batchSize,
+        Long lastMoodLogId,
+        int processedCount,
+        int failedCount,
+        int requestCount,
+        String lastError,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {}
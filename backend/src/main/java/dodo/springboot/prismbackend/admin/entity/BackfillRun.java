@@ -0,0 +1,88 @@
+package dodo.springboot.prismbackend.admin.entity;
+
+import dodo.springboot.prismbackend.global.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 분석 재실행(백필) 작업 진행 상황
+// lastMoodLogId까지 처리 완료 -> 서버가 재시작돼도 그 다음 일기부터 이어서 진행
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "backfill_runs")
+public class BackfillRun extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long requestedBy; // 요청한 관리자 id
+
+    private Long targetUserId; // 특정 유저만 (null이면 전체)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+    @Column(nullable = false)
+    private int batchSize; // Gemini 요청 1번에 넣을 일기 수
+
+    @Column(nullable = false)
+    private Long lastMoodLogId; // 체크포인트
+
+    @Column(nullable = false)
+    private int processedCount;
+
+    @Column(nullable = false)
+    private int failedCount;
+
+    @Column(nullable = false)
+    private int requestCount; // Gemini 배치 요청 수
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime finishedAt;
+
+    // 여러 서버가 같은 작업을 이어받았을 때 체크포인트 중복 갱신 방지
+    @Version
+    private Long version;
+
+    @Builder
+    public BackfillRun(Long requestedBy, Long targetUserId, int batchSize) {
+        this.requestedBy = requestedBy;
+        this.targetUserId = targetUserId;
+        this.batchSize = batchSize;
+        this.status = BackfillStatus.RUNNING;
+        this.lastMoodLogId = 0L;
+    }
+
+    // 한 묶음 처리 후 체크포인트 이동
+    public void advance(Long lastMoodLogId, int processed, int failed) {
+        this.lastMoodLogId = lastMoodLogId;
+        this.processedCount += processed;
+        this.failedCount += failed;
+        this.requestCount++;
+    }
+
+    public void complete() {
+        this.status = BackfillStatus.DONE;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String error) {
+        this.status = BackfillStatus.FAILED;
+        this.lastError = error;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void cancel() {
+        this.status = BackfillStatus.CANCELLED;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package dodo.springboot.prismbackend.admin.entity;
+
+public enum BackfillStatus {
+    RUNNING,   // 진행 중 (서버 재시작 시 이어서 진행)
+    DONE,      // 완료
+    FAILED,    // 실패로 중단
+    CANCELLED  // 관리자가 중단
+}
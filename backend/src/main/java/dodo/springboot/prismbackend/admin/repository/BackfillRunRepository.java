@@ -0,0 +1,14 @@
+package dodo.springboot.prismbackend.admin.repository;
+
+import dodo.springboot.prismbackend.admin.entity.BackfillRun;
+import dodo.springboot.prismbackend.admin.entity.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BackfillRunRepository extends JpaRepository<BackfillRun, Long> {
+
+    List<BackfillRun> findAllByStatus(BackfillStatus status);
+
+    boolean existsByStatus(BackfillStatus status);
+}
@@ -2,7 +2,9 @@ package dodo.springboot.prismbackend.admin.service;
 
 import dodo.springboot.prismbackend.mood.dto.KeywordStatisticsDto;
 import dodo.springboot.prismbackend.mood.dto.MoodStatisticsDto;
-import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.KeywordDailyStatRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodDailyStatRepository;
+import dodo.springboot.prismbackend.mood.service.MoodStatsService;
 import dodo.springboot.prismbackend.user.entity.User;
 import dodo.springboot.prismbackend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +20,9 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class AdminService {
 
-    private final MoodAnalysisRepository moodAnalysisRepository;
+    private final KeywordDailyStatRepository keywordDailyStatRepository;
+    private final MoodDailyStatRepository moodDailyStatRepository;
+    private final MoodStatsService moodStatsService;
     private final UserRepository userRepository;
 
     // 해당 기간의 Top3 키워드 조회
@@ -47,7 +51,7 @@ public class AdminService {
             startDate = ym.atDay(1);
             endDate = ym.atEndOfMonth();
         }
-        return moodAnalysisRepository.findTopKeywordsByPeriod(startDate, endDate);
+        return keywordDailyStatRepository.findTopKeywordsByPeriod(startDate, endDate);
     }
 
     // 연도별 감정 추이 통계
@@ -64,6 +68,14 @@ public class AdminService {
         LocalDate startDate = LocalDate.of(targetYear, 1, 1);
         LocalDate endDate = LocalDate.of(targetYear, 12, 31);
 
-        return moodAnalysisRepository.findMoodTrendByPeriod(startDate, endDate);
+        return moodDailyStatRepository.findMoodTrendByPeriod(startDate, endDate);
+    }
+
+    // 통계 집계 테이블 재집계
+    @Transactional
+    public void rebuildStats(Long userId) {
+        userRepository.findByIdAndAdmin(userId)
+                .orElseThrow(() -> new IllegalArgumentException("관리자 권한이 없습니다."));
+        moodStatsService.rebuild();
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package dodo.springboot.prismbackend.admin.service;
+
+import dodo.springboot.prismbackend.admin.dto.BackfillChunk;
+import dodo.springboot.prismbackend.admin.dto.BackfillRunResponseDto;
+import dodo.springboot.prismbackend.admin.entity.BackfillRun;
+import dodo.springboot.prismbackend.admin.entity.BackfillStatus;
+import dodo.springboot.prismbackend.admin.repository.BackfillRunRepository;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
+import dodo.springboot.prismbackend.mood.service.CalendarCacheService;
+import dodo.springboot.prismbackend.mood.service.MoodStatsService;
+import dodo.springboot.prismbackend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 분석 재실행(백필) 작업 상태 관리
+// Gemini 호출은 BackfillWorker가 트랜잭션 밖에서 하고, 여기서는 읽기/결과 저장만 함
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BackfillService {
+
+    private static final int MAX_BATCH_SIZE = 50; // 응답 토큰 한도 고려
+
+    private final BackfillRunRepository backfillRunRepository;
+    private final MoodLogRepository moodLogRepository;
+    private final MoodAnalysisRepository moodAnalysisRepository;
+    private final UserRepository userRepository;
+    private final CalendarCacheService calendarCacheService;
+    private final MoodStatsService moodStatsService;
+
+    @Value("${spring.jobs.backfill.batch-size:20}")
+    private int defaultBatchSize;
+
+    // 백필 작업 등록 (한 번에 하나만)
+    public Long start(Long adminId, Long targetUserId, Integer batchSize) {
+        checkAdmin(adminId);
+        if (backfillRunRepository.existsByStatus(BackfillStatus.RUNNING)) {
+            throw new IllegalStateException("이미 진행 중인 백필 작업이 있습니다.");
+        }
+        int size = (batchSize == null || batchSize <= 0) ? defaultBatchSize : Math.min(batchSize, MAX_BATCH_SIZE);
+
+        BackfillRun run = BackfillRun.builder()
+                .requestedBy(adminId)
+                .targetUserId(targetUserId)
+                .batchSize(size)
+                .build();
+        return backfillRunRepository.save(run).getId();
+    }
+
+    // 관리자가 중단 (진행 중인 묶음까지만 저장되고 멈춤)
+    public void cancel(Long adminId, Long runId) {
+        checkAdmin(adminId);
+        BackfillRun run = getRun(runId);
+        if (run.getStatus() != BackfillStatus.RUNNING) {
+            throw new IllegalStateException("진행 중인 작업이 아닙니다.");
+        }
+        run.cancel();
+    }
+
+    @Transactional(readOnly = true)
+    public BackfillRunResponseDto getStatus(Long adminId, Long runId) {
+        checkAdmin(adminId);
+        BackfillRun run = getRun(runId);
+        return new BackfillRunResponseDto(
+                run.getId(),
+                run.getStatus(),
+                run.getTargetUserId(),
+                run.getBatchSize(),
+                run.getLastMoodLogId(),
+                run.getProcessedCount(),
+                run.getFailedCount(),
+                run.getRequestCount(),
+                run.getLastError(),
+                run.getCreatedAt(),
+                run.getFinishedAt()
+        );
+    }
+
+    // 서버 시작 시 이어서 진행할 작업들
+    @Transactional(readOnly = true)
+    public List<Long> findRunningIds() {
+        return backfillRunRepository.findAllByStatus(BackfillStatus.RUNNING).stream()
+                .map(BackfillRun::getId)
+                .toList();
+    }
+
+    // 체크포인트 다음 묶음 읽기 (진행 중이 아니면 null)
+    // readOnly가 아니라서 복제본이 아닌 primary에서 읽음: 워커 스레드에는 사용자가 없어 sticky가 적용되지 않는데,
+    // 바로 앞에서 커밋한 체크포인트(또는 방금 등록된 작업)를 복제 지연 때문에 못 보면 진행 중인 작업이 멈춤
+    public BackfillChunk nextChunk(Long runId) {
+        BackfillRun run = getRun(runId);
+        if (run.getStatus() != BackfillStatus.RUNNING) {
+            return null;
+        }
+
+        List<BatchAnalysisItem> items = moodLogRepository.findBatchAnalysisItems(
+                        run.getLastMoodLogId(), run.getTargetUserId(), PageRequest.of(0, run.getBatchSize()))
+                .stream()
+                // 캐릭터 미설정이면 기본값 (MoodLogService.toAnalysisTask와 동일)
+                .map(item -> (item.character() == null || item.character().isEmpty())
+                        ? new BatchAnalysisItem(item.id(), item.content(), "dog") : item)
+                .toList();
+        return new BackfillChunk(run.getLastMoodLogId(), items);
+    }
+
+    // 묶음 결과 저장 + 체크포인트 이동 (한 트랜잭션)
+    // 중단됐거나 다른 서버가 체크포인트를 먼저 옮겼으면 저장하지 않고 false
+    // (동시에 저장하는 경우는 @Version 충돌로 롤백됨)
+    public boolean applyChunk(Long runId, BackfillChunk chunk, Map<Long, AiAnalysisResult> results) {
+        BackfillRun run = getRun(runId);
+        if (run.getStatus() != BackfillStatus.RUNNING || !run.getLastMoodLogId().equals(chunk.afterId())) {
+            return false;
+        }
+
+        List<Long> logIds = chunk.items().stream().map(BatchAnalysisItem::id).toList();
+        // 일기 + 기존 분석을 한 번에 (일기마다 분석을 따로 조회하지 않도록)
+        Map<Long, MoodLog> moodLogs = moodLogRepository.findAllWithAnalysisByIdIn(logIds).stream()
+                .collect(Collectors.toMap(MoodLog::getId, Function.identity()));
+
+        int processed = 0;
+        int failed = 0;
+        for (Long logId : logIds) {
+            AiAnalysisResult result = results.get(logId);
+            MoodLog moodLog = moodLogs.get(logId);
+            // 단건 재시도까지 실패한 경우(키워드 없음) 기존 분석을 유지 (읽은 뒤 삭제된 일기도 건너뜀)
+            if (moodLog == null || result == null || result.keywords() == null || result.keywords().isEmpty()) {
+                failed++;
+                continue;
+            }
+
+            MoodAnalysis analysis = moodLog.getMoodAnalysis();
+            if (analysis != null) {
+                // 통계 집계: 기존 결과 빼고 새 결과 더함
+                moodStatsService.remove(analysis);
+                analysis.updateResult(result);
+            } else {
+                analysis = moodAnalysisRepository.save(MoodAnalysis.builder()
+                        .moodLog(moodLog)
+                        .representativeMood(result.representativeMood())
+                        .moodScore(result.moodScore())
+                        .keywords(result.keywords())
+                        .imagePrompt(result.imagePrompt())
+                        .imageUrl(null)
+                        .build());
+            }
+            moodStatsService.add(analysis);
+            calendarCacheService.evict(moodLog);
+            processed++;
+        }
+
+        run.advance(logIds.get(logIds.size() - 1), processed, failed);
+        return true;
+    }
+
+    // 아직 진행 중이고 체크포인트가 afterId 그대로인지 (저장 충돌이 작업 자체의 충돌인지 확인용, primary에서 읽음)
+    public boolean isRunningAt(Long runId, Long afterId) {
+        BackfillRun run = getRun(runId);
+        return run.getStatus() == BackfillStatus.RUNNING && run.getLastMoodLogId().equals(afterId);
+    }
+
+    public void complete(Long runId) {
+        getRun(runId).complete();
+    }
+
+    public void fail(Long runId, String error) {
+        BackfillRun run = getRun(runId);
+        if (run.getStatus() == BackfillStatus.RUNNING) {
+            run.fail(error);
+        }
+    }
+
+    private BackfillRun getRun(Long runId) {
+        return backfillRunRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("백필 작업을 찾을 수 없습니다."));
+    }
+
+    private void checkAdmin(Long adminId) {
+        userRepository.findByIdAndAdmin(adminId)
+                .orElseThrow(() -> new IllegalArgumentException("관리자 권한이 없습니다."));
+    }
+}
@@ -0,0 +1,115 @@
+package dodo.springboot.prismbackend.admin.service;
+
+import dodo.springboot.prismbackend.admin.dto.BackfillChunk;
+import dodo.springboot.prismbackend.admin.entity.BackfillRun;
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.service.AnalysisCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 백필 실행: 체크포인트 다음 N건 읽기 -> Gemini 배치 요청 1번 -> 결과 저장 + 체크포인트 이동 반복
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackfillWorker {
+
+    // 사용자가 같은 분석을 동시에 바꿔서(재생성, 이미지 완료) 묶음 저장이 충돌할 때 연속으로 다시 시도하는 횟수
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    private final BackfillService backfillService;
+    private final AnalysisCacheService analysisCacheService;
+    private final ThreadPoolTaskExecutor backfillExecutor;
+
+    // 백필 작업 등록 후 바로 실행
+    public Long start(Long adminId, Long targetUserId, Integer batchSize) {
+        Long runId = backfillService.start(adminId, targetUserId, batchSize);
+        launch(runId);
+        return runId;
+    }
+
+    // 서버가 중간에 내려갔던 작업은 체크포인트부터 이어서 진행
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (Long runId : backfillService.findRunningIds()) {
+            log.info("백필 작업 {} 이어서 진행", runId);
+            launch(runId);
+        }
+    }
+
+    private void launch(Long runId) {
+        backfillExecutor.execute(() -> run(runId));
+    }
+
+    private void run(Long runId) {
+        int conflicts = 0;
+        try {
+            while (true) {
+                BackfillChunk chunk = backfillService.nextChunk(runId);
+                if (chunk == null) {
+                    log.info("백필 작업 {} 중단됨", runId);
+                    return;
+                }
+                if (chunk.items().isEmpty()) {
+                    backfillService.complete(runId);
+                    log.info("백필 작업 {} 완료", runId);
+                    return;
+                }
+
+                Map<Long, AiAnalysisResult> results;
+                try {
+                    results = analysisCacheService.analyzeBatch(chunk.items());
+                } catch (ProviderUnavailableException e) {
+                    // Gemini가 막혀 있으면 기다렸다가 같은 묶음부터 다시
+                    Thread.sleep(e.getRetryAfter().toMillis());
+                    continue;
+                }
+                boolean applied;
+                try {
+                    applied = backfillService.applyChunk(runId, chunk, results);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (isRunConflict(e, runId, chunk)) {
+                        throw e;
+                    }
+                    // 사용자가 묶음 안의 분석을 바꿈 (묶음 전체가 롤백됨) -> 바뀐 분석을 다시 읽어서 같은 묶음부터 다시
+                    if (++conflicts > MAX_CONFLICT_RETRIES) {
+                        throw new IllegalStateException("분석 저장 충돌이 계속됩니다.", e);
+                    }
+                    log.info("백필 작업 {} 묶음 저장 중 분석이 바뀌어서 다시 시도합니다. ({}번째)", runId, conflicts);
+                    continue;
+                }
+                if (!applied) {
+                    log.info("백필 작업 {} 중단됨 (취소 또는 다른 서버가 진행 중)", runId);
+                    return;
+                }
+                conflicts = 0;
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // 다른 서버가 같은 작업을 이어받아 진행 중
+            log.warn("백필 작업 {}을 다른 서버가 진행 중이어서 중단합니다.", runId);
+        } catch (InterruptedException e) {
+            // 서버 종료 중 (다음 시작 때 체크포인트부터 이어서 진행)
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("백필 작업 {} 실패", runId, e);
+            backfillService.fail(runId, e.getMessage());
+        }
+    }
+
+    // 백필 작업 자체의 충돌인지 (아니면 사용자가 바꾼 분석과 충돌)
+    // JDBC 배치로 묶인 update는 충돌한 엔티티를 알려주지 않음 -> 그때는 체크포인트가 그대로인지로 판단
+    private boolean isRunConflict(ObjectOptimisticLockingFailureException e, Long runId, BackfillChunk chunk) {
+        String entity = e.getPersistentClassName();
+        if (entity != null) {
+            return entity.equals(BackfillRun.class.getName());
+        }
+        return !backfillService.isRunningAt(runId, chunk.afterId());
+    }
+}
@@ -1,13 +1,17 @@
 package dodo.springboot.prismbackend.auth.controller;
 
 import dodo.springboot.prismbackend.auth.dto.TokenResponseDto;
+import dodo.springboot.prismbackend.auth.jwt.VerifiedTokenCache;
 import dodo.springboot.prismbackend.auth.service.AuthService;
+import dodo.springboot.prismbackend.auth.service.GuestService;
+import dodo.springboot.prismbackend.global.dto.ApiResponse;
+import dodo.springboot.prismbackend.global.ratelimit.RateLimited;
 import dodo.springboot.prismbackend.global.util.CookieUtil;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,22 +23,38 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final GuestService guestService;
     private final CookieUtil cookieUtil;
 
-    @GetMapping("/guest")
-    public ResponseEntity<?> guestLogin(HttpServletResponse response) {
-        // 토근 생성
-        TokenResponseDto tokenDto = authService.loginOrSignup(
-                "guest@prism.com", "체험용 계정", "guest", "guest_1234"
-        );
-
-        // 쿠키 설정
-        ResponseCookie cookie = cookieUtil.createRefreshTokenCookie(tokenDto.refreshToken());
-        response.addHeader("Set-Cookie", cookie.toString());
+    // 체험하기: 미리 만들어 둔 체험용 계정 하나를 받아서 accessToken만 발급 (refreshToken 쿠키 없음)
+    // 호출마다 계정을 하나씩 쓰므로 POST + 로그인 전이라 IP별 횟수 제한
+    @PostMapping("/guest")
+    @RateLimited(value = "guest", perIp = true)
+    public ResponseEntity<?> guestLogin() {
+        TokenResponseDto tokenDto = guestService.login();
 
         return ResponseEntity.ok(Map.of(
                 "accessToken", tokenDto.accessToken(),
                 "nickname", tokenDto.nickname()
         ));
     }
-}
\ No newline at end of file
+
+    // 로그아웃 (지금 쓰는 accessToken + refreshToken 폐기)
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(Authentication authentication, HttpServletResponse response) {
+        Long userId = (Long) authentication.getPrincipal();
+        authService.logout(userId, (VerifiedTokenCache.VerifiedToken) authentication.getDetails());
+
+        response.addHeader("Set-Cookie", cookieUtil.deleteRefreshTokenCookie().toString());
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+
+    // 모든 기기에서 로그아웃 (지금까지 발급된 토큰 모두 폐기)
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponse<Void>> logoutAll(Authentication authentication, HttpServletResponse response) {
+        authService.logoutAll((Long) authentication.getPrincipal());
+
+        response.addHeader("Set-Cookie", cookieUtil.deleteRefreshTokenCookie().toString());
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+}
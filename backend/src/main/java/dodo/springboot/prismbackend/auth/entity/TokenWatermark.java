@@ -0,0 +1,35 @@
+package dodo.springboot.prismbackend.auth.entity;
+
+import dodo.springboot.prismbackend.global.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 유저별 토큰 폐기 기준 시각 (이 시각 전에 발급된 토큰은 모두 무효)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "token_watermarks")
+public class TokenWatermark extends BaseTimeEntity {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime notBefore;
+
+    public TokenWatermark(Long userId, LocalDateTime notBefore) {
+        this.userId = userId;
+        this.notBefore = notBefore;
+    }
+
+    // 기준 시각은 뒤로만 이동
+    public void raise(LocalDateTime notBefore) {
+        if (notBefore.isAfter(this.notBefore)) {
+            this.notBefore = notBefore;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package dodo.springboot.prismbackend.auth.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,26 +11,40 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
     private final Key key;
+    private final JwtParser parser; // 불변이라 스레드 간 공유 가능 (요청마다 만들지 않음)
     private final long accessTokenValidity = 1000L * 60 * 60 * 24; // 24시간
 
     public JwtUtil(@Value("${spring.jwt.secret}") String secret) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    // 서명/만료 검증 후 클레임 리턴 (실패 시 JwtException)
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     // accessToken 생성 (userId, email 담음)
     public String createAccessToken(Long userId, String email, String role, String nickname) {
+        return createAccessToken(userId, email, role, nickname, new Date(System.currentTimeMillis() + accessTokenValidity));
+    }
+
+    // 만료 시각 지정 (체험용 계정은 계정 만료 시각까지만)
+    public String createAccessToken(Long userId, String email, String role, String nickname, Date expiration) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti (로그아웃 시 이 토큰만 폐기)
                 .setSubject(String.valueOf(userId)) // Subject에 ID 저장
                 .claim("email", email) // Claim에 이메일 저장
                 .claim("role", role)
                 .claim("nickname", nickname)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + accessTokenValidity))
+                .setExpiration(expiration)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -38,6 +54,7 @@ public class JwtUtil {
         long refreshTokenValidity = 1000L * 60 * 60 * 24 * 7; // 7일
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(String.valueOf(userId))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshTokenValidity))
@@ -0,0 +1,94 @@
+package dodo.springboot.prismbackend.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+// 검증을 통과한 accessToken -> (userId, 권한, jti, 발급/만료 시각) 캐시
+// 폐기 여부는 캐시와 상관없이 요청마다 TokenRevocationService에서 확인
+// 같은 토큰이 요청마다 오므로 서명 검증/클레임 파싱은 토큰당 한 번만 하고, 항목은 토큰 만료 시각에 같이 만료
+// 키는 토큰 원문 대신 SHA-256 (메모리에 토큰을 그대로 들고 있지 않음), 검증에 실패한 토큰은 캐시하지 않음
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${spring.jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt");
+    }
+
+    // 캐시에 없으면 검증 후 저장 (위조/만료 토큰은 JwtException)
+    public VerifiedToken verify(String token) {
+        return cache.get(digest(token), key -> resolve(jwtUtil.parseClaims(token)));
+    }
+
+    private VerifiedToken resolve(Claims claims) {
+        // 토큰에서 role 꺼내기 (없으면 기본값 ROLE_USER)
+        String role = claims.get("role", String.class);
+        if (role == null) {
+            role = "ROLE_USER";
+        }
+        // 만료 시각이 없는 토큰은 캐시에 두지 않음 (바로 만료)
+        Instant expiresAt = (claims.getExpiration() != null) ? claims.getExpiration().toInstant() : Instant.now();
+        // 발급 시각이 없으면 유저별 폐기 기준 시각에 항상 걸리도록
+        Instant issuedAt = (claims.getIssuedAt() != null) ? claims.getIssuedAt().toInstant() : Instant.EPOCH;
+        return new VerifiedToken(
+                Long.parseLong(claims.getSubject()),
+                List.of(new SimpleGrantedAuthority(role)),
+                claims.getId(),
+                issuedAt,
+                expiresAt);
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // jti: 이전 버전에서 발급된 토큰이면 null
+    public record VerifiedToken(Long userId, List<GrantedAuthority> authorities, String jti,
+                                Instant issuedAt, Instant expiresAt) {}
+}
@@ -2,11 +2,20 @@ package dodo.springboot.prismbackend.auth.repository;
 
 import dodo.springboot.prismbackend.auth.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     Optional<RefreshToken> findByUserId(Long userId);
     Optional<RefreshToken> findByToken(String token);
-}
\ No newline at end of file
+
+    // 체험용 계정 일괄 삭제 시
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id IN :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
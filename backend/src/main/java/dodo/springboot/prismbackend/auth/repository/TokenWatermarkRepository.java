@@ -0,0 +1,23 @@
+package dodo.springboot.prismbackend.auth.repository;
+
+import dodo.springboot.prismbackend.auth.entity.TokenWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenWatermarkRepository extends JpaRepository<TokenWatermark, Long> {
+
+    // since 이후에 생기거나 바뀐 기준 시각
+    List<TokenWatermark> findAllByModifiedAtAfter(LocalDateTime since);
+
+    // 기준 시각 전에 발급된 토큰이 모두 만료됐으면 더 이상 필요 없음
+    @Transactional
+    @Modifying
+    @Query("delete from TokenWatermark w where w.notBefore < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -3,14 +3,19 @@ package dodo.springboot.prismbackend.auth.service;
 import dodo.springboot.prismbackend.auth.dto.TokenResponseDto;
 import dodo.springboot.prismbackend.auth.entity.RefreshToken;
 import dodo.springboot.prismbackend.auth.jwt.JwtUtil;
+import dodo.springboot.prismbackend.auth.jwt.VerifiedTokenCache;
 import dodo.springboot.prismbackend.auth.repository.RefreshTokenRepository;
 import dodo.springboot.prismbackend.user.entity.Role;
 import dodo.springboot.prismbackend.user.entity.User;
 import dodo.springboot.prismbackend.user.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -19,6 +24,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     // 소셜 로그인
     @Transactional
@@ -52,4 +58,30 @@ public class AuthService {
         // 토큰과 닉네임 응답
         return new TokenResponseDto(accessToken, refreshToken, user.getNickname());
     }
-}
\ No newline at end of file
+
+    // 로그아웃: 지금 쓰는 accessToken과 저장된 refreshToken 폐기
+    @Transactional
+    public void logout(Long userId, VerifiedTokenCache.VerifiedToken accessToken) {
+        tokenRevocationService.revoke(accessToken.jti(), userId, accessToken.expiresAt());
+        refreshTokenRepository.findByUserId(userId).ifPresent(refreshToken -> {
+            revokeRefreshToken(userId, refreshToken.getToken());
+            refreshTokenRepository.delete(refreshToken);
+        });
+    }
+
+    // 모든 기기에서 로그아웃 (탈퇴 시에도 사용): 지금까지 발급된 그 유저의 토큰 모두 폐기
+    @Transactional
+    public void logoutAll(Long userId) {
+        tokenRevocationService.revokeAllBefore(userId, Instant.now());
+        refreshTokenRepository.findByUserId(userId).ifPresent(refreshTokenRepository::delete);
+    }
+
+    private void revokeRefreshToken(Long userId, String refreshToken) {
+        try {
+            Claims claims = jwtUtil.parseClaims(refreshToken);
+            tokenRevocationService.revoke(claims.getId(), userId, claims.getExpiration().toInstant());
+        } catch (JwtException e) {
+            // 이미 만료됐거나 jti 없이 발급된 토큰 (DB에서 지우는 것으로 충분)
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dodo.springboot.prismbackend.auth.service;
+
+import dodo.springboot.prismbackend.auth.repository.RefreshTokenRepository;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
+import dodo.springboot.prismbackend.mood.repository.DiaryImportRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
+import dodo.springboot.prismbackend.mood.service.MoodStatsService;
+import dodo.springboot.prismbackend.mood.service.StorageService;
+import dodo.springboot.prismbackend.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 만료된 체험용 계정을 일기/분석/작업과 함께 묶음 단위로 삭제
+// 계정 accessToken은 계정 만료 시각에 같이 만료되므로 지울 때는 이미 쓸 수 없는 계정
+@Slf4j
+@Service
+public class GuestCleanupService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MoodLogRepository moodLogRepository;
+    private final MoodAnalysisRepository moodAnalysisRepository;
+    private final AiJobRepository aiJobRepository;
+    private final DiaryImportRepository diaryImportRepository;
+    private final MoodStatsService moodStatsService;
+    private final StorageService storageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public GuestCleanupService(UserRepository userRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               MoodLogRepository moodLogRepository,
+                               MoodAnalysisRepository moodAnalysisRepository,
+                               AiJobRepository aiJobRepository,
+                               DiaryImportRepository diaryImportRepository,
+                               MoodStatsService moodStatsService,
+                               StorageService storageService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${spring.guest.cleanup-batch-size:100}") int batchSize) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.moodLogRepository = moodLogRepository;
+        this.moodAnalysisRepository = moodAnalysisRepository;
+        this.aiJobRepository = aiJobRepository;
+        this.diaryImportRepository = diaryImportRepository;
+        this.moodStatsService = moodStatsService;
+        this.storageService = storageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // 10분마다, 남은 게 없을 때까지 batchSize명씩
+    @Scheduled(cron = "0 */10 * * * *")
+    public void deleteExpired() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch();
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("만료된 체험용 계정 {}개 삭제", total);
+        }
+    }
+
+    // 한 묶음 삭제 (한 트랜잭션), 스토리지 이미지는 커밋 후에 지움
+    private int deleteBatch() {
+        List<String> imageUrls = new ArrayList<>();
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<Long> userIds = userRepository.findExpiredGuestIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (userIds.isEmpty()) {
+                return 0;
+            }
+
+            // 통계 집계에서 빼기 + 지울 이미지 모으기
+            List<MoodAnalysis> analyses = moodAnalysisRepository.findAllByUserIdIn(userIds);
+            for (MoodAnalysis analysis : analyses) {
+                if (analysis.getImageUrl() != null) {
+                    imageUrls.add(analysis.getImageUrl());
+                }
+                if (analysis.getDetailImageUrl() != null) {
+                    imageUrls.add(analysis.getDetailImageUrl());
+                }
+            }
+            moodStatsService.removeAll(analyses);
+
+            // FK 순서대로 일괄 삭제
+            aiJobRepository.deleteAllByUserIdIn(userIds);
+            moodAnalysisRepository.deleteAllByUserIdIn(userIds);
+            moodLogRepository.deleteAllByUserIdIn(userIds);
+            diaryImportRepository.deleteAllByUserIdIn(userIds);
+            refreshTokenRepository.deleteAllByUserIdIn(userIds);
+            return userRepository.deleteAllByIdIn(userIds);
+        });
+
+        imageUrls.forEach(storageService::deleteStorageImage);
+        return deleted == null ? 0 : deleted;
+    }
+}
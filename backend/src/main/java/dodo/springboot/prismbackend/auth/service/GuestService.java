@@ -0,0 +1,151 @@
+package dodo.springboot.prismbackend.auth.service;
+
+import dodo.springboot.prismbackend.auth.dto.TokenResponseDto;
+import dodo.springboot.prismbackend.auth.jwt.JwtUtil;
+import dodo.springboot.prismbackend.user.entity.Role;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 체험하기 (게스트 로그인)
+// 방문자마다 따로 쓰는 임시 계정을 묶음으로 미리 만들어 두고 (INSERT 한 번), 로그인 때는 하나 꺼내서 accessToken만 발급
+// -> 로그인 요청에서는 users/refresh_tokens에 쓰지 않음, 계정은 ttl 뒤 GuestCleanupService가 일기와 함께 삭제
+@Slf4j
+@Service
+public class GuestService {
+
+    public static final String NICKNAME = "체험용 계정";
+
+    private static final String INSERT_GUESTS_SQL = """
+            INSERT INTO users (created_at, modified_at, email, nickname, role, provider, character_description, guest_expires_at)
+            SELECT now(), now(), 'guest-' || gen_random_uuid() || '@guest.prism', ?, 'USER', 'guest', 'dog', ?
+            FROM generate_series(1, ?)
+            RETURNING id, email
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int lowWater;
+    private final int inlineBatchSize;
+    private final Duration inlineWait;
+
+    private final BlockingQueue<PooledGuest> pool = new LinkedBlockingQueue<>();
+    // 계정 생성(INSERT) 중에 잡고 있는 잠금이라 synchronized 대신 (가상 스레드 모드에서 캐리어 스레드를 붙잡지 않도록)
+    private final ReentrantLock allocateLock = new ReentrantLock();
+
+    public GuestService(JdbcTemplate jdbcTemplate,
+                        JwtUtil jwtUtil,
+                        MeterRegistry meterRegistry,
+                        @Value("${spring.guest.ttl:24h}") Duration ttl,
+                        @Value("${spring.guest.pool-batch-size:50}") int batchSize,
+                        @Value("${spring.guest.pool-low-water:20}") int lowWater,
+                        @Value("${spring.guest.inline-batch-size:5}") int inlineBatchSize,
+                        @Value("${spring.guest.inline-wait:2s}") Duration inlineWait) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.lowWater = lowWater;
+        this.inlineBatchSize = inlineBatchSize;
+        this.inlineWait = inlineWait;
+        Gauge.builder("prism.guest.pool.size", pool, BlockingQueue::size)
+                .description("미리 만들어 둔 체험용 계정 수")
+                .register(meterRegistry);
+    }
+
+    // 체험용 계정 하나 꺼내서 accessToken 발급 (계정 만료 시각까지 유효, refreshToken 없음)
+    public TokenResponseDto login() {
+        PooledGuest guest = take();
+        String accessToken = jwtUtil.createAccessToken(
+                guest.id(), guest.email(), Role.USER.getKey(), NICKNAME, Date.from(guest.expiresAt()));
+        meterRegistry.counter("prism.guest.login").increment();
+        return new TokenResponseDto(accessToken, null, NICKNAME);
+    }
+
+    // 풀이 줄어들면 미리 채워 둠
+    @Scheduled(fixedDelayString = "${spring.guest.refill-interval-ms:1000}")
+    public void refill() {
+        if (pool.size() >= lowWater) {
+            return;
+        }
+        allocateLock.lock();
+        try {
+            if (pool.size() < lowWater) {
+                pool.addAll(allocate(batchSize));
+            }
+        } finally {
+            allocateLock.unlock();
+        }
+    }
+
+    private PooledGuest take() {
+        // 풀에서 오래 기다려서 남은 시간이 절반도 안 되는 계정은 건너뜀 (만료되면 정리 작업이 지움)
+        Instant minExpiresAt = Instant.now().plus(ttl.dividedBy(2));
+        PooledGuest guest;
+        while ((guest = pool.poll()) != null) {
+            if (guest.expiresAt().isAfter(minExpiresAt)) {
+                return guest;
+            }
+        }
+
+        // 풀이 비었으면 (트래픽 급증) 이 요청에서 작은 묶음만 만들어서 씀, 만드는 건 한 스레드만
+        // 나머지 요청은 inlineWait까지만 기다리고 503 (요청 스레드가 잠금 앞에 계속 쌓이지 않도록, 풀은 refill이 채움)
+        if (!tryLockAllocate()) {
+            meterRegistry.counter("prism.guest.pool.exhausted").increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "체험용 계정을 준비 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            guest = pool.poll();
+            if (guest != null) {
+                return guest;
+            }
+            meterRegistry.counter("prism.guest.pool.empty").increment();
+            List<PooledGuest> created = allocate(Math.min(inlineBatchSize, batchSize));
+            pool.addAll(created.subList(1, created.size()));
+            return created.get(0);
+        } finally {
+            allocateLock.unlock();
+        }
+    }
+
+    private boolean tryLockAllocate() {
+        try {
+            return allocateLock.tryLock(inlineWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 체험용 계정 count개를 INSERT 한 번으로 생성
+    private List<PooledGuest> allocate(int count) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        List<PooledGuest> created = jdbcTemplate.query(INSERT_GUESTS_SQL,
+                (rs, rowNum) -> new PooledGuest(rs.getLong("id"), rs.getString("email"), expiresAt),
+                NICKNAME, Timestamp.from(expiresAt), Math.max(1, count));
+        log.info("체험용 계정 {}개 생성", created.size());
+        return created;
+    }
+
+    private record PooledGuest(Long id, String email, Instant expiresAt) {}
+}
@@ -0,0 +1,211 @@
+package dodo.springboot.prismbackend.auth.service;
+
+import dodo.springboot.prismbackend.auth.entity.RevokedToken;
+import dodo.springboot.prismbackend.auth.entity.TokenWatermark;
+import dodo.springboot.prismbackend.auth.repository.RevokedTokenRepository;
+import dodo.springboot.prismbackend.auth.repository.TokenWatermarkRepository;
+import dodo.springboot.prismbackend.global.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 토큰 폐기 목록 (jti 단위 + 유저별 "이 시각 전에 발급된 토큰은 무효" 기준 시각)
+// 요청마다 DB를 보지 않도록 서버 메모리에 들고 있음: 블룸 필터로 대부분 바로 통과시키고, 걸린 것만 정확한 맵에서 확인
+// 다른 서버에서 폐기한 것은 refresh-interval마다 새로 생긴 행만 가져와서 반영 (그 사이에는 다른 서버에서 통과될 수 있음)
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // 가장 긴 토큰(refreshToken) 유효 기간: 기준 시각이 이보다 오래되면 걸리는 토큰이 없음
+    private static final Duration WATERMARK_RETENTION = Duration.ofDays(7);
+
+    // 커밋이 늦게 된 행을 놓치지 않도록 마지막으로 본 시각보다 이만큼 앞에서부터 다시 읽음
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // 처음부터 다시 읽을 때 기준 (LocalDateTime.MIN은 빼기를 하면 넘침)
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenWatermarkRepository tokenWatermarkRepository;
+    private final int expectedEntries;
+
+    // refresh/rebuild가 겹치지 않도록 (스케줄러 스레드 + 시작 시 로드)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    // 어디까지 읽었는지 (refreshLock 안에서만 읽고 씀)
+    private Cursor cursor = Cursor.START;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  TokenWatermarkRepository tokenWatermarkRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${spring.jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenWatermarkRepository = tokenWatermarkRepository;
+        this.expectedEntries = expectedEntries;
+        this.snapshot = new Snapshot(expectedEntries);
+        Gauge.builder("prism.auth.revoked.tokens", this, s -> s.snapshot.jtis.size())
+                .description("메모리에 있는 폐기 토큰 수")
+                .register(meterRegistry);
+        Gauge.builder("prism.auth.revoked.watermarks", this, s -> s.snapshot.watermarks.size())
+                .description("메모리에 있는 유저별 폐기 기준 시각 수")
+                .register(meterRegistry);
+    }
+
+    // 요청마다 호출 (DB 조회 없음)
+    // jti가 없는 토큰(이전 버전에서 발급)은 기준 시각만 확인
+    public boolean isRevoked(String jti, Long userId, Instant issuedAt) {
+        Snapshot current = snapshot;
+        if (jti != null && current.jtiFilter.mightContain(BloomFilter.hash(jti)) && current.jtis.containsKey(jti)) {
+            return true;
+        }
+        if (userId != null && current.userFilter.mightContain(BloomFilter.hash(userId))) {
+            Instant notBefore = current.watermarks.get(userId);
+            return notBefore != null && issuedAt.isBefore(notBefore);
+        }
+        return false;
+    }
+
+    // 토큰 하나 폐기 (로그아웃)
+    @Transactional
+    public void revoke(String jti, Long userId, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .userId(userId)
+                .expiresAt(toLocal(expiresAt))
+                .build());
+        snapshot.addToken(jti, expiresAt);
+    }
+
+    // 지금까지 발급된 그 유저의 토큰 모두 폐기 (모든 기기 로그아웃, 탈퇴)
+    // JWT의 발급 시각은 초 단위라 초 아래는 버림 (같은 초에 새로 발급된 토큰은 살아 있어야 하므로)
+    @Transactional
+    public void revokeAllBefore(Long userId, Instant now) {
+        Instant notBefore = now.truncatedTo(ChronoUnit.SECONDS);
+        tokenWatermarkRepository.findById(userId)
+                .ifPresentOrElse(
+                        watermark -> watermark.raise(toLocal(notBefore)),
+                        () -> tokenWatermarkRepository.save(new TokenWatermark(userId, toLocal(notBefore))));
+        snapshot.addWatermark(userId, notBefore);
+    }
+
+    // 웹 서버가 요청을 받기 전에 한 번 전체 로드
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    // 다른 서버에서 폐기한 것 반영 (새로 생기거나 바뀐 행만)
+    @Scheduled(fixedDelayString = "${spring.jwt.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            // 중간에 실패하면 읽은 위치는 그대로 두고 다음에 다시 읽음 (이미 넣은 항목은 다시 넣어도 같음)
+            cursor = pull(snapshot, cursor);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // 만료된 항목 정리 후 블룸 필터를 새로 만들어서 교체 (매시 정각)
+    @Scheduled(cron = "0 0 * * * *")
+    public void rebuild() {
+        int tokens = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        int watermarks = tokenWatermarkRepository.deleteOlderThan(LocalDateTime.now().minus(WATERMARK_RETENTION));
+        reload();
+        log.info("토큰 폐기 목록 재구성 (만료 삭제: 토큰 {}건, 기준 시각 {}건)", tokens, watermarks);
+    }
+
+    // 새 목록을 다 채운 뒤에 한 번에 교체 (채우는 동안 요청은 이전 목록으로 확인, 실패하면 이전 목록 유지)
+    // 그 사이 이 서버에서 폐기한 것은 DB에 먼저 저장되므로 다음 refresh에서 다시 들어옴
+    private void reload() {
+        refreshLock.lock();
+        try {
+            Snapshot fresh = new Snapshot(expectedEntries);
+            Cursor next = pull(fresh, Cursor.START);
+            snapshot = fresh;
+            cursor = next;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // from 이후에 새로 생기거나 바뀐 행을 target에 넣고, 다음에 읽을 위치를 리턴
+    private Cursor pull(Snapshot target, Cursor from) {
+        LocalDateTime revokedSince = from.revokedSince();
+        LocalDateTime watermarkSince = from.watermarkSince();
+
+        for (RevokedToken token : revokedTokenRepository.findAllByCreatedAtAfterAndExpiresAtAfter(
+                revokedSince.minus(REFRESH_OVERLAP), LocalDateTime.now())) {
+            target.addToken(token.getJti(), toInstant(token.getExpiresAt()));
+            revokedSince = max(revokedSince, token.getCreatedAt());
+        }
+        for (TokenWatermark watermark : tokenWatermarkRepository.findAllByModifiedAtAfter(
+                watermarkSince.minus(REFRESH_OVERLAP))) {
+            target.addWatermark(watermark.getUserId(), toInstant(watermark.getNotBefore()));
+            watermarkSince = max(watermarkSince, watermark.getModifiedAt());
+        }
+        return new Cursor(revokedSince, watermarkSince);
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    // 폐기 토큰 / 기준 시각을 각각 어디까지 읽었는지
+    private record Cursor(LocalDateTime revokedSince, LocalDateTime watermarkSince) {
+        private static final Cursor START = new Cursor(BEGINNING, BEGINNING);
+    }
+
+    // 블룸 필터 + 정확한 맵 (교체할 때는 통째로 바꿈)
+    private static final class Snapshot {
+        private final BloomFilter jtiFilter;
+        private final BloomFilter userFilter;
+        private final Map<String, Instant> jtis = new ConcurrentHashMap<>(); // jti -> 토큰 만료 시각
+        private final Map<Long, Instant> watermarks = new ConcurrentHashMap<>(); // userId -> 기준 시각
+
+        private Snapshot(int expectedEntries) {
+            this.jtiFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+            this.userFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        }
+
+        private void addToken(String jti, Instant expiresAt) {
+            // 맵에 먼저 넣어야 필터를 통과한 조회가 맵에서 못 찾는 일이 없음
+            jtis.put(jti, expiresAt);
+            jtiFilter.put(BloomFilter.hash(jti));
+        }
+
+        private void addWatermark(Long userId, Instant notBefore) {
+            watermarks.merge(userId, notBefore, (a, b) -> a.isAfter(b) ? a : b);
+            userFilter.put(BloomFilter.hash(userId));
+        }
+    }
+}
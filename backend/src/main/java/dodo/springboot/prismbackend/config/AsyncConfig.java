@@ -0,0 +1,114 @@
+package dodo.springboot.prismbackend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    // 가상 스레드 모드 (Java 21 이상): I/O 대기 위주인 워커 풀만 가상 스레드로, 동시 실행 수는 풀 크기로 그대로 제한
+    // 이미지 CPU 풀은 CPU 작업이라 이득이 없고 스레드별 버퍼(ThreadLocal)를 재사용하므로 플랫폼 스레드 유지
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Gemini 분석 작업 전용 워커 풀
+    @Bean
+    public ThreadPoolTaskExecutor analysisJobExecutor(@Value("${spring.jobs.analysis.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0); // 빈 워커 수만큼만 가져오므로 대기열 없음
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // 스트리밍 분석 전용 (POST /api/logs/stream, Gemini 응답을 받는 대로 SSE로 전송)
+    // 다 차 있으면 거절 -> 작업 큐로 넘겨서 워커가 처리
+    @Bean
+    public ThreadPoolTaskExecutor analysisStreamExecutor(@Value("${spring.jobs.stream.workers:16}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("analysis-stream-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // 이미지 생성 작업 전용 워커 풀 (Cloudflare 생성이 오래 걸려서 분석과 분리)
+    @Bean
+    public ThreadPoolTaskExecutor imageJobExecutor(@Value("${spring.jobs.image.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("image-job-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // 이미지 디코딩/리사이징/JPEG 인코딩 전용 (CPU 작업)
+    // 기본 스레드 수는 코어 수 - 1 (요청 처리에 코어 하나는 남김), 대기열이 차면 거절
+    @Bean
+    public ThreadPoolTaskExecutor imageCpuExecutor(@Value("${spring.jobs.image.cpu-threads:0}") int threads,
+                                                   @Value("${spring.jobs.image.cpu-queue-capacity:4}") int queueCapacity,
+                                                   MeterRegistry meterRegistry) {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-cpu-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("prism.image.cpu.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("이미지 CPU 작업 대기 수")
+                .register(meterRegistry);
+        Gauge.builder("prism.image.cpu.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("이미지 CPU 작업 처리 중인 스레드 수")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    // 분석 백필 전용 (한 번에 한 작업만 순서대로 진행)
+    @Bean
+    public ThreadPoolTaskExecutor backfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("backfill-");
+        executor.setVirtualThreads(virtualThreads);
+        // 종료 시 기다리지 않음 (체크포인트부터 다시 시작하면 됨)
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // 일기 가져오기 분석 전용 (가져오기 작업은 한 번에 하나씩 순서대로 진행)
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(@Value("${spring.import.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("diary-import-");
+        executor.setVirtualThreads(virtualThreads);
+        // 종료 시 기다리지 않음 (체크포인트부터 다시 시작하면 됨)
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
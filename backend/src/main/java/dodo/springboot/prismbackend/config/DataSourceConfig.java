@@ -0,0 +1,95 @@
+package dodo.springboot.prismbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import dodo.springboot.prismbackend.global.datasource.ReplicaLagMonitor;
+import dodo.springboot.prismbackend.global.datasource.ReplicaRoutingDataSource;
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 읽기 복제본 라우팅 (spring.datasource.replica.urls가 있을 때만)
+// primary/복제본마다 Hikari 풀을 따로 두고 hikaricp.* 메트릭은 pool 태그로 구분
+// 설정: spring.datasource.hikari.* (모든 풀 공통), spring.datasource.replica.*
+@Configuration
+@ConditionalOnExpression("!'${spring.datasource.replica.urls:}'.isBlank()")
+public class DataSourceConfig implements DisposableBean {
+
+    private static final String PREFIX = "spring.datasource.replica.";
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    public DataSourceConfig(Environment env, MeterRegistry meterRegistry) {
+        this.env = env;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties) {
+        List<String> urls = Arrays.stream(env.getProperty(PREFIX + "urls", "").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        // 복제본이 죽었을 때 요청이 오래 묶이지 않도록 (못 얻으면 primary로 읽음)
+        Duration connectionTimeout = env.getProperty(PREFIX + "connection-timeout", Duration.class, Duration.ofSeconds(2));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = pool(properties, urls.get(i), name);
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            replicas.put(name, pool);
+        }
+
+        Duration maxLag = env.getProperty(PREFIX + "max-lag", Duration.class, Duration.ofSeconds(5));
+        return new ReplicaLagMonitor(replicas, maxLag, meterRegistry);
+    }
+
+    // 트랜잭션 시작 시점에는 readOnly 여부가 아직 안 정해져서, 실제 커넥션은 첫 쿼리 때 골라서 가져옴
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReplicaStickiness replicaStickiness) {
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary");
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicaLagMonitor, replicaStickiness, meterRegistry);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
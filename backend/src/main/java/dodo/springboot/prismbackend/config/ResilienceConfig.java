@@ -0,0 +1,71 @@
+package dodo.springboot.prismbackend.config;
+
+import dodo.springboot.prismbackend.global.resilience.AdaptiveLimiter;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+// AI 제공자별 보호 장치 (서킷 브레이커 + 적응형 동시 처리 한도)
+// 설정: spring.{gemini|cloudflare}.guard.*
+@Configuration
+@RequiredArgsConstructor
+public class ResilienceConfig {
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public ProviderGuard geminiGuard(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return build(circuitBreakerRegistry, "gemini");
+    }
+
+    @Bean
+    public ProviderGuard cloudflareGuard(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return build(circuitBreakerRegistry, "cloudflare");
+    }
+
+    private ProviderGuard build(CircuitBreakerRegistry registry, String name) {
+        String prefix = "spring." + name + ".guard.";
+        int initialLimit = env.getProperty(prefix + "initial-limit", Integer.class, 8);
+        int minLimit = env.getProperty(prefix + "min-limit", Integer.class, 1);
+        int maxLimit = env.getProperty(prefix + "max-limit", Integer.class, 32);
+        Duration latencyThreshold = env.getProperty(prefix + "latency-threshold", Duration.class, Duration.ofSeconds(10));
+        float failureRate = env.getProperty(prefix + "failure-rate-threshold", Float.class, 50f);
+        Duration openDuration = env.getProperty(prefix + "open-duration", Duration.class, Duration.ofSeconds(30));
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRate)
+                // 기준 시간의 2배를 넘는 응답이 대부분이면 장애로 봄
+                .slowCallDurationThreshold(latencyThreshold.multipliedBy(2))
+                .slowCallRateThreshold(80)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 요청 자체가 잘못된 4xx는 제공자 장애가 아님 (429는 장애로 봄, 한도 조절과 같은 기준)
+                .recordException(ProviderGuard::isProviderFailure)
+                .build();
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(name, config);
+
+        AdaptiveLimiter limiter = new AdaptiveLimiter(initialLimit, minLimit, maxLimit, latencyThreshold.toNanos());
+        return new ProviderGuard(name, limiter, circuitBreaker, openDuration, meterRegistry);
+    }
+}
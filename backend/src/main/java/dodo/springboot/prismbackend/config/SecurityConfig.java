@@ -2,10 +2,12 @@ package dodo.springboot.prismbackend.config;
 
 import dodo.springboot.prismbackend.auth.handler.OAuth2SuccessHandler;
 import dodo.springboot.prismbackend.auth.jwt.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -46,8 +48,11 @@ public class SecurityConfig {
                 )
                 // URL 권한 설정
                 .authorizeHttpRequests(auth -> auth
+                        // SSE 응답(POST /api/logs/stream)이 끝날 때의 비동기 디스패치 (원래 요청에서 이미 인증됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 아무나 접근 가능
-                        .requestMatchers("/", "/login/**", "/oauth2/**", "/error", "/favicon.ico", "/api/auth/guest").permitAll()
+                        .requestMatchers("/", "/login/**", "/oauth2/**", "/error", "/favicon.ico").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/guest").permitAll()
                         // 그 외 모든 요청은 인증된 사용자만 접근 가능
                         .anyRequest().authenticated()
                 )
@@ -73,6 +78,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true); // 쿠키나 인증 헤더 허용
+        // 요청 제한 헤더를 프론트에서 읽을 수 있게
+        configuration.setExposedHeaders(List.of("Retry-After", "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-RateLimit-Reset"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
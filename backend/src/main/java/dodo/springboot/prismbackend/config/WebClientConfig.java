@@ -0,0 +1,74 @@
+package dodo.springboot.prismbackend.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+// 외부 API별로 WebClient를 하나씩 만들어서 재사용 (요청마다 build() 하면 연결/TLS 핸드셰이크를 매번 다시 함)
+// 설정: spring.{gemini|cloudflare|supabase}.http.*
+@Configuration
+@RequiredArgsConstructor
+public class WebClientConfig {
+
+    private final Environment env;
+
+    @Bean
+    public WebClient geminiWebClient(WebClient.Builder builder) {
+        return build(builder, "gemini");
+    }
+
+    @Bean
+    public WebClient cloudflareWebClient(WebClient.Builder builder) {
+        // 이미지는 스트림으로 받으므로 인메모리 버퍼를 늘릴 필요 없음
+        return build(builder, "cloudflare");
+    }
+
+    @Bean
+    public WebClient supabaseWebClient(WebClient.Builder builder) {
+        return build(builder, "supabase");
+    }
+
+    private WebClient build(WebClient.Builder builder, String name) {
+        String prefix = "spring." + name + ".http.";
+        int maxConnections = env.getProperty(prefix + "max-connections", Integer.class, 50);
+        Duration connectTimeout = env.getProperty(prefix + "connect-timeout", Duration.class, Duration.ofSeconds(3));
+        Duration responseTimeout = env.getProperty(prefix + "response-timeout", Duration.class, Duration.ofSeconds(60));
+        Duration maxIdleTime = env.getProperty(prefix + "max-idle-time", Duration.class, Duration.ofSeconds(30));
+        boolean http2 = env.getProperty(prefix + "http2", Boolean.class, true);
+
+        // 제공자별 커넥션 풀 (reactor.netty.connection.provider.* 게이지로 포화도 확인)
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxConnections * 2)
+                .pendingAcquireTimeout(connectTimeout.plusSeconds(5))
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout)
+                // URI 대신 제공자 이름으로 태그 (URI에 계정 id, 모델명, 캐시/파일 이름이 들어가서 그대로 쓰면 태그 값이 계속 늘어남)
+                .metrics(true, uri -> name)
+                .protocol(http2
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package dodo.springboot.prismbackend.global.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 복제본별 복제 지연을 주기적으로 확인하고, 읽기 전용 트랜잭션을 지연이 허용치 안인 복제본에 돌아가며 배분
+// 확인 전이거나 모두 허용치를 넘으면 null -> primary로 감
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    // 복제 중이 아니면 (테스트용 단독 인스턴스) 0, 받은 WAL을 다 반영했으면 0
+    // 아니면 마지막으로 반영한 트랜잭션 시각부터 지금까지 (한 번도 반영 안 했으면 null)
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END
+            """;
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> candidates = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = Map.copyOf(replicas);
+        this.maxLag = maxLag;
+        for (String name : replicas.keySet()) {
+            lagSeconds.put(name, Double.NaN);
+            Gauge.builder("prism.datasource.replica.lag", lagSeconds, m -> m.getOrDefault(name, Double.NaN))
+                    .description("복제본 복제 지연 (확인 실패 시 NaN)")
+                    .baseUnit("seconds")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            Gauge.builder("prism.datasource.replica.healthy", healthy, s -> s.contains(name) ? 1 : 0)
+                    .description("복제본 사용 여부 (지연이 허용치 안이면 1)")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    // 읽기 전용 트랜잭션에 쓸 복제본 이름 (없으면 null)
+    public String next() {
+        List<String> current = candidates;
+        if (current.isEmpty()) {
+            return null;
+        }
+        return current.get(Math.floorMod(next.getAndIncrement(), current.size()));
+    }
+
+    public DataSource get(String name) {
+        return replicas.get(name);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            String name = entry.getKey();
+            Double lag = measure(name, entry.getValue());
+            lagSeconds.put(name, lag == null ? Double.NaN : lag);
+            if (lag != null && lag <= maxLag.toMillis() / 1000.0) {
+                if (healthy.add(name)) {
+                    log.info("복제본 {} 사용 (지연 {}초)", name, lag);
+                }
+            } else if (healthy.remove(name)) {
+                log.warn("복제본 {} 제외 (지연 {}초, 허용 {}초)", name, lag, maxLag.toSeconds());
+            }
+        }
+        refresh();
+    }
+
+    // 커넥션을 못 얻은 복제본은 다음 확인 때까지 제외
+    public void markDown(String name) {
+        if (healthy.remove(name)) {
+            log.warn("복제본 {} 제외 (커넥션 실패)", name);
+            refresh();
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+
+    private void refresh() {
+        List<String> current = new ArrayList<>(healthy);
+        current.sort(null);
+        candidates = List.copyOf(current);
+    }
+
+    private Double measure(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                return rs.wasNull() ? null : lag;
+            }
+        } catch (SQLException e) {
+            log.warn("복제본 {} 지연 확인 실패: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
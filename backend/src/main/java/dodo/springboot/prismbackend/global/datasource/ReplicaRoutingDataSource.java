@@ -0,0 +1,92 @@
+package dodo.springboot.prismbackend.global.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// readOnly 트랜잭션은 복제본으로, 나머지(쓰기, 트랜잭션 밖)는 primary로 커넥션을 나눠줌
+// 트랜잭션 시작 시점에는 readOnly 여부가 아직 안 정해져서 LazyConnectionDataSourceProxy로 감싸서 씀 (DataSourceConfig)
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReplicaStickiness stickiness;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickAfterCommit();
+            return primary("write");
+        }
+
+        // 방금 쓴 사용자는 복제 지연과 상관없이 primary에서 읽음
+        if (stickiness.isSticky(ReplicaStickiness.currentUserId())) {
+            return primary("sticky");
+        }
+
+        String replica = lagMonitor.next();
+        if (replica == null) {
+            return primary("fallback");
+        }
+        try {
+            Connection connection = lagMonitor.get(replica).getConnection();
+            count(replica, "read");
+            return connection;
+        } catch (SQLException e) {
+            log.warn("복제본 {} 커넥션 실패, primary로 읽음: {}", replica, e.getMessage());
+            lagMonitor.markDown(replica);
+            return primary("fallback");
+        }
+    }
+
+    // 계정을 직접 지정하면 복제본 풀과 계정이 달라질 수 있어서 항상 primary (AbstractRoutingDataSource와 같이 그대로 넘김)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = primary.getConnection(username, password);
+        count(PRIMARY, "credentials");
+        return connection;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection primary(String reason) throws SQLException {
+        Connection connection = primary.getConnection();
+        count(PRIMARY, reason);
+        return connection;
+    }
+
+    // 요청한 사용자의 쓰기 트랜잭션이면 커밋 후부터 sticky
+    private void stickAfterCommit() {
+        Long userId = ReplicaStickiness.currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickiness.markWrite(userId);
+            }
+        });
+    }
+
+    private void count(String pool, String reason) {
+        meterRegistry.counter("prism.datasource.route", "pool", pool, "reason", reason).increment();
+    }
+}
@@ -0,0 +1,43 @@
+package dodo.springboot.prismbackend.global.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 방금 쓴 데이터가 복제본에 아직 안 넘어가서 사용자에게 옛 데이터가 보이는 일 방지
+// 사용자 데이터가 바뀐 뒤 sticky-window 동안은 그 사용자의 읽기 전용 트랜잭션도 primary로 보냄
+// 서버별 메모리 (다른 서버로 간 요청은 복제 지연만큼 옛 데이터를 볼 수 있음)
+@Component
+public class ReplicaStickiness {
+
+    private final Cache<Long, Boolean> recentWriters; // 복제본을 안 쓰면 null
+
+    public ReplicaStickiness(@Value("${spring.datasource.replica.urls:}") String replicaUrls,
+                             @Value("${spring.datasource.replica.sticky-window:10s}") Duration window) {
+        this.recentWriters = replicaUrls.isBlank() ? null : Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void markWrite(Long userId) {
+        if (recentWriters != null && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky(Long userId) {
+        return recentWriters != null && userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // 지금 요청한 사용자 (JWT 필터가 principal에 id를 넣음, 워커 스레드면 null)
+    public static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return (auth != null && auth.getPrincipal() instanceof Long userId) ? userId : null;
+    }
+}
@@ -0,0 +1,9 @@
+package dodo.springboot.prismbackend.global.dto;
+
+import java.awt.image.BufferedImage;
+
+// 한 번 디코딩한 원본에서 만든 크기별 이미지
+public record ImageRenditions(
+        BufferedImage thumbnail, // 달력 썸네일 (500px)
+        BufferedImage detail     // 상세 보기용 (원본이 작으면 원본 크기)
+) {}
@@ -0,0 +1,30 @@
+package dodo.springboot.prismbackend.global.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 요청 횟수 제한 토큰 버킷 (spring.rate-limit.store=postgres일 때 JdbcTokenBucketStore가 사용)
+// 테이블 생성용 매핑이고 읽기/쓰기는 JdbcTemplate로만 함
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 100)
+    private String bucketKey; // "{정책}:{userId}"
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package dodo.springboot.prismbackend.global.exception;
+
+import dodo.springboot.prismbackend.global.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    // AI 제공자 보호 장치에 막힌 요청 -> 429/503 + Retry-After
+    @ExceptionHandler(ProviderUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleProviderUnavailable(ProviderUnavailableException e) {
+        long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    // 외부 호출을 기다리는 동안 다른 요청이 같은 데이터를 먼저 바꾼 경우 -> 409 (다시 시도하면 됨)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("다른 요청이 먼저 수정했습니다. 잠시 후 다시 시도해 주세요."));
+    }
+}
@@ -0,0 +1,23 @@
+package dodo.springboot.prismbackend.global.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+// 외부 AI 제공자 호출을 보호 장치(동시 처리 한도/서킷 브레이커)가 막았을 때
+// 429: 동시 처리 한도 초과, 503: 서킷 열림 (제공자 장애)
+@Getter
+public class ProviderUnavailableException extends RuntimeException {
+
+    private final String provider;
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public ProviderUnavailableException(String provider, HttpStatus status, Duration retryAfter, String message) {
+        super(message);
+        this.provider = provider;
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
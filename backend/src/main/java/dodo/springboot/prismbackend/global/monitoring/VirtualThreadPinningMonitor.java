@@ -0,0 +1,116 @@
+package dodo.springboot.prismbackend.global.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// 가상 스레드 모드에서 캐리어 스레드 고정(pinning) 감지 (JFR jdk.VirtualThreadPinned 이벤트)
+// synchronized 안에서 I/O를 기다리는 등 가상 스레드가 캐리어(플랫폼) 스레드를 붙잡으면 그동안 다른 가상 스레드가 그 캐리어를 못 씀
+// 메트릭: prism.vthread.pinned{source} (app: 우리 코드, jdbc: JDBC 드라이버/커넥션 풀, other: 그 외 라이브러리)
+// 처음 보는 위치는 스택과 함께 경고 로그 한 번
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "dodo.springboot.prismbackend.";
+    private static final List<String> JDBC_PACKAGES = List.of("org.postgresql.", "com.zaxxer.hikari.");
+    private static final int LOGGED_FRAMES = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${spring.threads.virtual.pinned-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 pinning 감시 시작 ({}ms 이상)", threshold.toMillis());
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String source = source(frames);
+
+        Timer.builder("prism.vthread.pinned")
+                .description("가상 스레드가 캐리어 스레드를 붙잡은 시간")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        // 같은 위치는 한 번만 로그 (메트릭은 매번)
+        String location = location(frames);
+        if (reported.add(location)) {
+            log.warn("가상 스레드 pinning 감지 ({}, {}ms): {}\n{}", source, event.getDuration().toMillis(), location,
+                    frames.stream().limit(LOGGED_FRAMES).map(frame -> "\tat " + describe(frame))
+                            .collect(Collectors.joining("\n")));
+        }
+    }
+
+    // 위에서부터 보면서 JDBC 쪽이 먼저 나오면 jdbc, 우리 코드가 먼저 나오면 app
+    private String source(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = typeName(frame);
+            if (JDBC_PACKAGES.stream().anyMatch(type::startsWith)) {
+                return "jdbc";
+            }
+            if (type.startsWith(APP_PACKAGE)) {
+                return "app";
+            }
+        }
+        return "other";
+    }
+
+    // 우리 코드 중 가장 안쪽 프레임 (없으면 맨 위 프레임)
+    private String location(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> typeName(frame).startsWith(APP_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(this::describe)
+                .orElse("unknown");
+    }
+
+    private String describe(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "unknown";
+        }
+        return typeName(frame) + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private String typeName(RecordedFrame frame) {
+        return frame.getMethod() != null ? frame.getMethod().getType().getName() : "";
+    }
+}
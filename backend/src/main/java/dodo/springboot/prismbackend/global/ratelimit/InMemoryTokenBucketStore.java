@@ -0,0 +1,60 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 서버 메모리 토큰 버킷 (서버 한 대 기준)
+// 버킷마다 락을 만들지 않고 key 해시로 고른 락(64개)을 나눠 씀
+@Component
+@ConditionalOnProperty(name = "spring.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private static final int STRIPES = 64; // 2의 거듭제곱
+
+    private final Object[] locks = new Object[STRIPES];
+
+    // 한동안 안 쓴 버킷은 제거 (어차피 다 채워진 상태라 지워도 결과가 같음)
+    private final Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .maximumSize(100_000)
+            .build();
+
+    public InMemoryTokenBucketStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        long now = System.nanoTime();
+        synchronized (locks[key.hashCode() & (STRIPES - 1)]) {
+            Bucket bucket = buckets.get(key, k -> new Bucket(policy.capacity(), now));
+
+            // 지난 시간만큼 채우기
+            double refilled = (double) (now - bucket.updatedAt) / policy.refillInterval().toNanos();
+            bucket.tokens = Math.min(policy.capacity(), bucket.tokens + refilled);
+            bucket.updatedAt = now;
+
+            boolean allowed = bucket.tokens >= 1;
+            if (allowed) {
+                bucket.tokens -= 1;
+            }
+            return RateLimitResult.of(allowed, bucket.tokens, policy);
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
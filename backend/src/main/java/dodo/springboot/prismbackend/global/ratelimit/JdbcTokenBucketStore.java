@@ -0,0 +1,59 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Postgres 토큰 버킷 (여러 서버가 같은 버킷을 공유)
+// 채우기 + 사용을 upsert 한 문장으로 처리 (행 잠금은 그 문장 동안만)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.rate-limit.store", havingValue = "postgres")
+public class JdbcTokenBucketStore implements TokenBucketStore {
+
+    // 토큰이 1개 이상 있을 때만 1개 빼고, 남은 토큰 수 리턴 (없으면 행 없음)
+    private static final String CONSUME_SQL = """
+            INSERT INTO rate_limit_buckets (bucket_key, tokens, updated_at)
+            VALUES (?, ? - 1, clock_timestamp())
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                tokens = LEAST(?, rate_limit_buckets.tokens
+                    + EXTRACT(EPOCH FROM clock_timestamp() - rate_limit_buckets.updated_at) / ?) - 1,
+                updated_at = clock_timestamp()
+            WHERE LEAST(?, rate_limit_buckets.tokens
+                    + EXTRACT(EPOCH FROM clock_timestamp() - rate_limit_buckets.updated_at) / ?) >= 1
+            RETURNING tokens
+            """;
+
+    // 거절된 경우 현재 토큰 수 (헤더/Retry-After 계산용)
+    private static final String PEEK_SQL = """
+            SELECT LEAST(?, tokens + EXTRACT(EPOCH FROM clock_timestamp() - updated_at) / ?)
+            FROM rate_limit_buckets WHERE bucket_key = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        int capacity = policy.capacity();
+        double intervalSeconds = policy.refillInterval().toNanos() / 1_000_000_000.0;
+
+        List<Double> consumed = jdbcTemplate.queryForList(CONSUME_SQL, Double.class,
+                key, capacity, capacity, intervalSeconds, capacity, intervalSeconds);
+        if (!consumed.isEmpty()) {
+            return RateLimitResult.of(true, consumed.get(0), policy);
+        }
+
+        List<Double> current = jdbcTemplate.queryForList(PEEK_SQL, Double.class, capacity, intervalSeconds, key);
+        return RateLimitResult.of(false, current.isEmpty() ? 0 : current.get(0), policy);
+    }
+
+    // 하루 넘게 안 쓴 버킷 정리 (다 채워진 상태라 지워도 결과가 같음)
+    @Scheduled(cron = "0 30 4 * * *")
+    public void deleteIdle() {
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE updated_at < clock_timestamp() - INTERVAL '1 day'");
+    }
+}
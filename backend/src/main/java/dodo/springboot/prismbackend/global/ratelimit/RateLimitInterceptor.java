@@ -0,0 +1,100 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dodo.springboot.prismbackend.global.dto.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// @RateLimited가 붙은 API에 유저별(perIp면 IP별) 토큰 버킷 적용
+// 응답 헤더: X-RateLimit-Limit / X-RateLimit-Remaining / X-RateLimit-Reset (+ 거절 시 Retry-After)
+// 메트릭: prism.ratelimit.requests{policy,result}
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketStore tokenBucketStore;
+    private final Environment env;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, RateLimitPolicy> policies = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // SSE 등 비동기 응답이 끝날 때 다시 디스패치되는 경우는 원래 요청에서 이미 차감함
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        String key = key(rateLimited, request);
+        if (key == null) {
+            return true;
+        }
+
+        RateLimitPolicy policy = policies.computeIfAbsent(rateLimited.value(), this::loadPolicy);
+        RateLimitResult result = tokenBucketStore.tryConsume(policy.name() + ":" + key, policy);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSeconds(result.reset())));
+        meterRegistry.counter("prism.ratelimit.requests",
+                "policy", policy.name(), "result", result.allowed() ? "allowed" : "rejected").increment();
+
+        if (result.allowed()) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(result.retryAfter()))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error("요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+        return false;
+    }
+
+    // 버킷 키: 인증 없이 부르는 API는 IP, 나머지는 JWT 필터가 넣어준 유저 id
+    // (인증 안 된 요청은 SecurityConfig에서 이미 막힘)
+    private String key(RateLimited rateLimited, HttpServletRequest request) {
+        if (rateLimited.perIp()) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof Long userId)) {
+            return null;
+        }
+        return String.valueOf(userId);
+    }
+
+    // spring.rate-limit.policies.{name}.*
+    private RateLimitPolicy loadPolicy(String name) {
+        String prefix = "spring.rate-limit.policies." + name + ".";
+        int capacity = env.getProperty(prefix + "capacity", Integer.class, 10);
+        Duration refillInterval = env.getProperty(prefix + "refill-interval", Duration.class, Duration.ofSeconds(6));
+        return new RateLimitPolicy(name, capacity, refillInterval);
+    }
+
+    // 올림 (초)
+    private long toSeconds(Duration duration) {
+        return (duration.toMillis() + 999) / 1000;
+    }
+}
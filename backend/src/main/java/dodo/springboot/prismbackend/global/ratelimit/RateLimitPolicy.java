@@ -0,0 +1,11 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import java.time.Duration;
+
+// capacity: 버킷 크기 (연속으로 보낼 수 있는 최대 요청 수)
+// refillInterval: 토큰 1개가 다시 채워지는 시간
+public record RateLimitPolicy(
+        String name,
+        int capacity,
+        Duration refillInterval
+) {}
@@ -0,0 +1,20 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import java.time.Duration;
+
+// allowed: 통과 여부, remaining: 남은 토큰 수
+// retryAfter: 다음 토큰까지 남은 시간 (통과 시 0), reset: 버킷이 다 찰 때까지 남은 시간
+public record RateLimitResult(
+        boolean allowed,
+        int remaining,
+        Duration retryAfter,
+        Duration reset
+) {
+    // 현재 토큰 수(소수)로 결과 계산
+    static RateLimitResult of(boolean allowed, double tokens, RateLimitPolicy policy) {
+        long intervalNanos = policy.refillInterval().toNanos();
+        Duration retryAfter = allowed ? Duration.ZERO : Duration.ofNanos((long) ((1 - tokens) * intervalNanos));
+        Duration reset = Duration.ofNanos((long) ((policy.capacity() - tokens) * intervalNanos));
+        return new RateLimitResult(allowed, (int) Math.floor(tokens), retryAfter, reset);
+    }
+}
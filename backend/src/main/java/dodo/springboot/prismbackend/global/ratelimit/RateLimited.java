@@ -0,0 +1,17 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 유저별 요청 횟수 제한 (토큰 버킷)
+// value: 정책 이름 -> spring.rate-limit.policies.{value}.* 설정 사용
+// perIp: 유저 대신 클라이언트 IP 기준 (로그인 전에 부르는 API, 프록시 뒤에서는 server.forward-headers-strategy 설정을 따름)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+
+    boolean perIp() default false;
+}
@@ -0,0 +1,8 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+// 토큰 버킷 저장소 (spring.rate-limit.store: memory | postgres)
+public interface TokenBucketStore {
+
+    // key 버킷에서 토큰 1개 사용 시도
+    RateLimitResult tryConsume(String key, RateLimitPolicy policy);
+}
@@ -0,0 +1,68 @@
+package dodo.springboot.prismbackend.global.resilience;
+
+// 응답 시간을 보고 동시 처리 한도를 조절 (AIMD)
+// - 응답이 기준 시간 안에 오고 한도를 절반 이상 쓰고 있으면: 한도 +1/limit (대략 한 바퀴에 +1)
+// - 기준 시간을 넘기거나 제공자 장애(429, 5xx, 타임아웃)면: 한도 x0.9
+// - 요청 자체가 잘못된 4xx: 자리만 돌려주고 한도는 그대로
+// 외부 API 호출 자체가 수 초 단위라 synchronized로 충분함
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // 자리가 있으면 차지하고 true
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    // 정상 응답
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit) {
+            // 한가할 때 한도만 계속 늘어나지 않도록 사용 중일 때만 증가
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    // 실패/타임아웃
+    public synchronized void onDropped() {
+        inFlight--;
+        decrease();
+    }
+
+    // 제공자 상태와 무관한 실패 (400, 404 등)
+    public synchronized void onRejectedRequest() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+    }
+}
@@ -0,0 +1,100 @@
+package dodo.springboot.prismbackend.global.resilience;
+
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 외부 AI 제공자 하나에 대한 보호 장치 (서킷 브레이커 + 적응형 동시 처리 한도)
+// 제공자가 느려져도 호출하는 스레드가 block()에서 쌓이지 않고 바로 실패하게 함
+// 메트릭: prism.provider.limit / prism.provider.inflight / prism.provider.rejected{reason}
+//        + resilience4j.circuitbreaker.state
+public class ProviderGuard {
+
+    // 한도 초과 시 Retry-After
+    private static final Duration LIMIT_RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final String name;
+    private final AdaptiveLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration openDuration;
+    private final MeterRegistry meterRegistry;
+
+    public ProviderGuard(String name, AdaptiveLimiter limiter, CircuitBreaker circuitBreaker,
+                         Duration openDuration, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.openDuration = openDuration;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("prism.provider.limit", limiter, AdaptiveLimiter::getLimit)
+                .description("제공자별 현재 동시 처리 한도")
+                .tag("provider", name)
+                .register(meterRegistry);
+        Gauge.builder("prism.provider.inflight", limiter, AdaptiveLimiter::getInFlight)
+                .description("제공자별 처리 중인 요청 수")
+                .tag("provider", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> supplier) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            reject("circuit_open");
+            throw new ProviderUnavailableException(name, HttpStatus.SERVICE_UNAVAILABLE, openDuration,
+                    "AI 서버 응답이 불안정합니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            reject("limit");
+            throw new ProviderUnavailableException(name, HttpStatus.TOO_MANY_REQUESTS, LIMIT_RETRY_AFTER,
+                    "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            T result = supplier.get();
+            long elapsed = System.nanoTime() - startedAt;
+            limiter.onSuccess(elapsed);
+            circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            // Error(OutOfMemoryError 등)도 동시 처리 슬롯과 서킷 허가는 돌려주고 그대로 다시 던짐
+            if (isProviderFailure(e)) {
+                limiter.onDropped();
+            } else {
+                limiter.onRejectedRequest();
+            }
+            // 서킷 브레이커도 같은 기준으로 거름 (ResilienceConfig recordException)
+            circuitBreaker.onError(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+    }
+
+    // 제공자 장애로 볼 예외: 429, 5xx, 타임아웃/연결 실패처럼 응답을 받지 못한 경우
+    // 요청 자체가 잘못된 4xx(400, 404 등)와 이 서버의 Error는 한도를 줄이지 않고 서킷 실패로도 집계하지 않음
+    public static boolean isProviderFailure(Throwable e) {
+        if (e instanceof Error) {
+            return false;
+        }
+        return !(e instanceof WebClientResponseException response)
+                || response.getStatusCode().is5xxServerError()
+                || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    // 서킷이 열려 있으면 false (워커가 큐에서 작업을 가져갈지 판단할 때 사용)
+    public boolean isCallPermitted() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("prism.provider.rejected", "provider", name, "reason", reason).increment();
+    }
+}
@@ -0,0 +1,80 @@
+package dodo.springboot.prismbackend.global.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 블룸 필터: false면 확실히 없음, true면 있을 수도 있음 (뒤에 둔 정확한 집합에서 다시 확인)
+// 비트 배열은 AtomicLongArray라 조회/추가를 락 없이 동시에 해도 됨, 삭제는 없음 (새로 만들어서 교체)
+// 키는 호출하는 쪽에서 64비트 해시로 넘김 (조회할 때 객체를 만들지 않음)
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    // expectedInsertions개 넣었을 때 오탐률이 falsePositiveRate 정도가 되도록 크기 결정
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63L));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    public void put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = index(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 문자열 해시 (FNV-1a 64비트 + 비트 섞기)
+    public static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    public static long hash(long value) {
+        return mix(value);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private int index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+}
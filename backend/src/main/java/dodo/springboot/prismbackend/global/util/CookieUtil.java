@@ -15,4 +15,15 @@ public class CookieUtil {
                 .sameSite("Lax")
                 .build();
     }
-}
\ No newline at end of file
+
+    // 로그아웃 시 쿠키 삭제
+    public ResponseCookie deleteRefreshTokenCookie() {
+        return ResponseCookie.from("refreshToken", "")
+                .httpOnly(true)
+                .secure(true)
+                .path("/")
+                .maxAge(0)
+                .sameSite("Lax")
+                .build();
+    }
+}
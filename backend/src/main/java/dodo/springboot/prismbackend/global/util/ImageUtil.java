@@ -1,54 +1,170 @@
 package dodo.springboot.prismbackend.global.util;
 
+import dodo.springboot.prismbackend.global.dto.ImageRenditions;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 
 @Slf4j
 @Component
 public class ImageUtil {
 
-    // 달력 썸네일용으로 500px
-    private static final int TARGET_WIDTH = 500;
+    // 디코딩 허용 최대 픽셀 수 (2048 x 2048, 렌더 1건당 힙 사용량 상한)
+    private static final long MAX_PIXELS = 2048L * 2048L;
 
-    // 원본 이미지(byte[])를 받아서, 너비 500px로 줄인 새 이미지(byte[])를 리턴
-    public byte[] resizeImage(byte[] originalImageBytes) {
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(originalImageBytes);
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+    // 축소 중간 단계 이미지 (워커 스레드별로 재사용)
+    private static final ThreadLocal<BufferedImage> SCRATCH = new ThreadLocal<>();
 
-            // 바이트 배열 -> 이미지 객체로 읽기
-            BufferedImage originalImage = ImageIO.read(bais);
-            if (originalImage == null) {
+    // JPEG writer (워커 스레드별로 재사용, 매번 SPI 조회/생성하지 않음)
+    private static final ThreadLocal<ImageWriter> JPEG_WRITER = ThreadLocal.withInitial(
+            () -> ImageIO.getImageWritersByFormatName("jpg").next());
+
+    private final int thumbnailWidth;
+    private final int detailWidth;
+    private final float jpegQuality;
+    private final boolean progressive;
+
+    public ImageUtil(@Value("${spring.image.thumbnail-width:500}") int thumbnailWidth,
+                     @Value("${spring.image.detail-width:1024}") int detailWidth,
+                     @Value("${spring.image.jpeg-quality:0.75}") float jpegQuality,
+                     @Value("${spring.image.progressive:false}") boolean progressive) {
+        this.thumbnailWidth = thumbnailWidth;
+        this.detailWidth = detailWidth;
+        this.jpegQuality = jpegQuality;
+        this.progressive = progressive;
+    }
+
+    // 이미지 스트림을 읽으면서 디코딩하고, 썸네일/상세 이미지를 한 번에 만들어 리턴
+    // 스트림을 다시 복사하지 않음 (디코딩된 원본 한 장만 힙에 추가로 올라감)
+    public ImageRenditions resizeImage(InputStream originalImageStream) {
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(originalImageStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
                 log.error("이미지 데이터를 읽을 수 없습니다.");
                 return null;
             }
 
-            // 새 크기 계산 (너비 500px 기준, 비율 유지)
-            int originalWidth = originalImage.getWidth();
-            int originalHeight = originalImage.getHeight();
-            int newHeight = (originalHeight * TARGET_WIDTH) / originalWidth;
+            ImageReader reader = readers.next();
+            try {
+                // 앞으로만 읽음 -> 읽은 부분은 캐시에서 바로 버려짐
+                reader.setInput(iis, true, true);
 
-            // 리사이징된 빈 이미지(캔버스) 생성
-            Image resultingImage = originalImage.getScaledInstance(TARGET_WIDTH, newHeight, Image.SCALE_SMOOTH);
-            BufferedImage outputImage = new BufferedImage(TARGET_WIDTH, newHeight, BufferedImage.TYPE_INT_RGB);
+                // 디코딩 전에 크기 확인 (너무 큰 이미지는 거절)
+                int originalWidth = reader.getWidth(0);
+                int originalHeight = reader.getHeight(0);
+                if ((long) originalWidth * originalHeight > MAX_PIXELS) {
+                    log.error("이미지가 너무 큽니다. ({}x{})", originalWidth, originalHeight);
+                    return null;
+                }
 
-            // 캔버스에 그림 그리기
-            Graphics2D graphics2D = outputImage.createGraphics();
-            graphics2D.drawImage(resultingImage, 0, 0, null);
-            graphics2D.dispose();
+                // 스트림 -> 이미지 객체로 읽기
+                BufferedImage originalImage = reader.read(0);
 
-            // 이미지 객체 -> 바이트 배열로 변환 (JPEG 포맷 사용-용량 더 작음)
-            ImageIO.write(outputImage, "jpg", baos);
-            return baos.toByteArray();
+                // 상세 이미지 먼저 만들고, 썸네일은 상세 이미지에서 다시 줄임 (큰 원본을 두 번 훑지 않음)
+                BufferedImage detail = resize(originalImage, detailWidth);
+                BufferedImage thumbnail = resize(detail, thumbnailWidth);
+                return new ImageRenditions(thumbnail, detail);
+            } finally {
+                reader.dispose();
+            }
 
         } catch (IOException e) {
             log.error("이미지 리사이징 실패", e);
             return null;
         }
     }
-}
\ No newline at end of file
+
+    // 이미지 객체 -> JPEG로 바로 출력 스트림에 씀 (품질/프로그레시브는 설정값)
+    public void writeJpeg(BufferedImage image, OutputStream out) {
+        ImageWriter writer = JPEG_WRITER.get();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        if (progressive) {
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        }
+
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+            ios.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("JPEG 인코딩 실패", e);
+        } finally {
+            writer.reset(); // 출력 스트림 참조 해제 (writer는 계속 재사용)
+        }
+    }
+
+    // 너비 targetWidth로 축소 (비율 유지, 원본보다 크게 늘리지는 않음)
+    // 2배 넘게 줄여야 하면 절반씩 bilinear로 줄이고, 마지막 한 번만 bicubic (한 번에 크게 줄이면 계단 현상)
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width <= targetWidth) {
+            // 줄일 필요 없음 (JPEG 인코딩을 위해 RGB로만 맞춤)
+            return source.getType() == BufferedImage.TYPE_INT_RGB ? source : draw(source, width, height, null,
+                    RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        }
+        int targetHeight = Math.max(1, (int) ((long) height * targetWidth / width));
+
+        BufferedImage current = source;
+        while (width / 2 > targetWidth) {
+            width /= 2;
+            height /= 2;
+            current = draw(current, width, height, scratch(current, width, height),
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return draw(current, targetWidth, targetHeight, null, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    // target에 그려서 리턴 (null이면 새로 만듦)
+    private BufferedImage draw(BufferedImage source, int width, int height, BufferedImage target, Object interpolation) {
+        BufferedImage output = (target != null) ? target : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics2D = output.createGraphics();
+        try {
+            if (target != null) {
+                // 재사용 버퍼는 이전 렌더 결과가 남아 있음 -> 새 버퍼처럼 검은색으로 비움
+                // (안 비우면 원본의 투명/반투명 픽셀 자리에 이전 이미지가 비쳐 보임)
+                graphics2D.setColor(Color.BLACK);
+                graphics2D.fillRect(0, 0, width, height);
+            }
+            graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics2D.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+            graphics2D.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics2D.dispose();
+        }
+        return output;
+    }
+
+    // 중간 단계용 버퍼 (같은 크기면 재사용)
+    // 직전 단계 결과를 읽으면서 같은 버퍼에 쓰지 않도록 source와 겹치면 새로 만듦
+    private BufferedImage scratch(BufferedImage source, int width, int height) {
+        BufferedImage cached = SCRATCH.get();
+        if (cached != null && cached != source && cached.getWidth() == width && cached.getHeight() == height) {
+            return cached;
+        }
+        BufferedImage created = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        if (cached == null || (long) width * height >= (long) cached.getWidth() * cached.getHeight()) {
+            SCRATCH.set(created);
+        }
+        return created;
+    }
+}
@@ -1,17 +1,29 @@
 package dodo.springboot.prismbackend.mood.controller;
 
 import dodo.springboot.prismbackend.global.dto.ApiResponse;
+import dodo.springboot.prismbackend.global.ratelimit.RateLimited;
+import dodo.springboot.prismbackend.mood.dto.AnalysisStatusResponseDto;
 import dodo.springboot.prismbackend.mood.dto.CalendarDetailResponseDto;
 import dodo.springboot.prismbackend.mood.dto.CalendarResponseDto;
+import dodo.springboot.prismbackend.mood.dto.DiaryImportResponseDto;
 import dodo.springboot.prismbackend.mood.dto.MoodLogAnalysisResponseDto;
 import dodo.springboot.prismbackend.mood.dto.MoodLogRequestDto;
+import dodo.springboot.prismbackend.mood.service.AnalysisStreamService;
 import dodo.springboot.prismbackend.mood.service.CalendarService;
+import dodo.springboot.prismbackend.mood.service.DiaryImportReader;
+import dodo.springboot.prismbackend.mood.service.DiaryImportService;
+import dodo.springboot.prismbackend.mood.service.DiaryImportWorker;
 import dodo.springboot.prismbackend.mood.service.MoodLogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -21,25 +33,77 @@ public class MoodLogController {
 
     private final MoodLogService moodLogService;
     private final CalendarService calendarService;
+    private final DiaryImportService diaryImportService;
+    private final DiaryImportWorker diaryImportWorker;
+    private final AnalysisStreamService analysisStreamService;
 
-    // 일기 저장 및 분석
+    // 일기 저장 및 분석 요청
+    // 분석은 워커가 처리하므로 202 + 작업 상태만 바로 응답
     @PostMapping
-    public ApiResponse<MoodLogAnalysisResponseDto> createLog(
+    @RateLimited("analysis")
+    public ResponseEntity<ApiResponse<AnalysisStatusResponseDto>> createLog(
             @AuthenticationPrincipal Long userId, // JWT 필터가 id 찾아줌.
             @RequestBody MoodLogRequestDto requestDto
     ) {
-        MoodLogAnalysisResponseDto result = moodLogService.analyzeDiary(userId, requestDto);
-        return ApiResponse.success(result);
+        AnalysisStatusResponseDto result = moodLogService.analyzeDiary(userId, requestDto);
+        return ResponseEntity.accepted().body(ApiResponse.success(result));
+    }
+
+    // 일기 저장 및 분석 결과 스트리밍 (SSE)
+    // 대표 감정/점수/키워드를 Gemini가 생성하는 대로 보내고, 저장까지 끝나면 done (이벤트 순서는 AnalysisStreamService 참고)
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited("analysis")
+    public SseEmitter streamLog(
+            @AuthenticationPrincipal Long userId,
+            @RequestBody MoodLogRequestDto requestDto
+    ) {
+        return analysisStreamService.analyze(userId, requestDto);
     }
 
-    // 이미지 생성
+    // 다른 앱에서 내보낸 일기 가져오기 (.jsonl: {"date": "2024-01-31", "content": "..."} / .csv: date,content)
+    // 일기는 바로 저장하고 분석은 백그라운드에서 묶음 단위로 진행 -> 202 + 가져오기 상태
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RateLimited("import")
+    public ResponseEntity<ApiResponse<DiaryImportResponseDto>> importLogs(
+            @AuthenticationPrincipal Long userId,
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        Long importId;
+        try (InputStream in = file.getInputStream()) {
+            importId = diaryImportWorker.start(userId, in, DiaryImportReader.Format.of(file.getOriginalFilename()));
+        }
+        return ResponseEntity.accepted().body(ApiResponse.success(diaryImportService.getStatus(userId, importId)));
+    }
+
+    // 가져오기 진행 상황 조회 (ANALYZING, DONE, FAILED)
+    @GetMapping("/import/{id}")
+    public ApiResponse<DiaryImportResponseDto> getImportStatus(
+            @AuthenticationPrincipal Long userId,
+            @PathVariable Long id // importId
+    ) {
+        return ApiResponse.success(diaryImportService.getStatus(userId, id));
+    }
+
+    // 분석 상태 조회 (QUEUED, RUNNING, DONE, FAILED)
+    @GetMapping("/{id}/analysis")
+    public ApiResponse<AnalysisStatusResponseDto> getAnalysisStatus(
+            @AuthenticationPrincipal Long userId,
+            @PathVariable Long id // moodLogId
+    ) {
+        AnalysisStatusResponseDto status = moodLogService.getAnalysisStatus(id, userId);
+        return ApiResponse.success(status);
+    }
+
+    // 이미지 생성 요청
+    // 생성은 워커가 처리하므로 202로 바로 응답, 진행 상태는 상세/달력 조회의 renderStatus로 확인
     @PostMapping("/{id}/image")
-    public ApiResponse<Long> generateImage(
+    @RateLimited("image")
+    public ResponseEntity<ApiResponse<Long>> generateImage(
             @AuthenticationPrincipal Long userId, // 본인 확인용
             @PathVariable Long id // moodLogId
     ) {
         Long logId = moodLogService.generateImageForLog(id, userId);
-        return ApiResponse.success(logId);
+        return ResponseEntity.accepted().body(ApiResponse.success(logId));
     }
 
     // 달 조회
@@ -75,12 +139,15 @@ public class MoodLogController {
 
     // 이미지 재생성 (본문 유지, AI만 다시 요청)
     // 키워드 제공까지만 하니까 여기도 이미지 셍성 API("/{id}/image") 재호출 해야 함.
+    // fresh=true면 같은 내용이어도 캐시된 분석 대신 새로 해석
     @PostMapping("/{id}/regenerate")
+    @RateLimited("regenerate")
     public ApiResponse<MoodLogAnalysisResponseDto> regenerateImage(
             @AuthenticationPrincipal Long userId,
-            @PathVariable Long id // moodLogId
+            @PathVariable Long id, // moodLogId
+            @RequestParam(defaultValue = "false") boolean fresh
     ) {
-        MoodLogAnalysisResponseDto result = calendarService.regenerateImage(id, userId);
+        MoodLogAnalysisResponseDto result = calendarService.regenerateImage(id, userId, fresh);
         return ApiResponse.success(result);
     }
 }
\ No newline at end of file
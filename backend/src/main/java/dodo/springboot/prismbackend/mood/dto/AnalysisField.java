@@ -0,0 +1,21 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+import java.util.List;
+
+// 스트리밍 분석 중 완성된 항목 하나 (SSE 이벤트 이름 = name)
+public record AnalysisField(
+        String name,
+        Object value
+) {
+    public static final String REPRESENTATIVE_MOOD = "representativeMood";
+    public static final String MOOD_SCORE = "moodScore";
+    public static final String KEYWORDS = "keywords";
+
+    // 캐시에 있던 결과는 한 번에 전부
+    public static List<AnalysisField> of(AiAnalysisResult result) {
+        return List.of(
+                new AnalysisField(REPRESENTATIVE_MOOD, result.representativeMood()),
+                new AnalysisField(MOOD_SCORE, result.moodScore()),
+                new AnalysisField(KEYWORDS, result.keywords()));
+    }
+}
@@ -0,0 +1,13 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+import dodo.springboot.prismbackend.mood.entity.AiJobStatus;
+
+import java.util.List;
+
+public record AnalysisStatusResponseDto(
+        Long logId,
+        AiJobStatus status,          // QUEUED, RUNNING, DONE, FAILED
+        List<String> keywords,       // DONE일 때만 채워짐
+        String representativeMood    // DONE일 때만 채워짐
+) {
+}
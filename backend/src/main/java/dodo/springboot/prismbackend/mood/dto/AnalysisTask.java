@@ -0,0 +1,11 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+// Gemini 분석에 넘기는 일기 정보 (트랜잭션이 끝난 뒤 외부 호출만 하도록 엔티티 대신 값만)
+// analysisVersion: 읽을 때의 분석 결과 버전 (분석 전이면 null), 저장할 때 그 사이 바뀌었는지 확인
+public record AnalysisTask(
+        Long logId,
+        String content,
+        String character,
+        Long analysisVersion
+) {
+}
@@ -0,0 +1,8 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+// 배치 분석 입력 한 건 (일기 id, 내용, 캐릭터)
+public record BatchAnalysisItem(
+        Long id,
+        String content,
+        String character
+) {}
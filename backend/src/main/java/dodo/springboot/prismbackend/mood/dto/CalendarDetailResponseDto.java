@@ -1,5 +1,7 @@
 package dodo.springboot.prismbackend.mood.dto;
 
+import dodo.springboot.prismbackend.mood.entity.RenderStatus;
+
 import java.time.LocalDate;
 import java.util.List;
 
@@ -8,7 +10,13 @@ public record CalendarDetailResponseDto(
         LocalDate date,
         List<String> keywords,
         String imageUrl,
+        String detailImageUrl, // 상세 보기용 (없으면 imageUrl 사용)
         String content,
-        Integer moodScore
+        Integer moodScore,
+        RenderStatus renderStatus
 ) {
+    // 쿼리에서 바로 만들 때 키워드가 없으면 빈 리스트로
+    public CalendarDetailResponseDto {
+        keywords = (keywords != null) ? keywords : List.of();
+    }
 }
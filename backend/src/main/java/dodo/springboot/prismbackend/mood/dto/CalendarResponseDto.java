@@ -1,10 +1,13 @@
 package dodo.springboot.prismbackend.mood.dto;
 
+import dodo.springboot.prismbackend.mood.entity.RenderStatus;
+
 import java.time.LocalDate;
 
 public record CalendarResponseDto(
         Long id,
         LocalDate date,      // 날짜
         String imageUrl,     // 썸네일
-        Integer moodScore   // 감정 점수
+        Integer moodScore,   // 감정 점수
+        RenderStatus renderStatus // 이미지 생성 상태
 ) {}
@@ -0,0 +1,9 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+import java.util.List;
+
+// 가져온 일기 분석 한 묶음 (afterId: 이 묶음을 읽을 때의 체크포인트)
+public record DiaryImportChunk(
+        Long afterId,
+        List<BatchAnalysisItem> items
+) {}
@@ -0,0 +1,17 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+import dodo.springboot.prismbackend.mood.entity.DiaryImportStatus;
+
+import java.time.LocalDateTime;
+
+public record DiaryImportResponseDto(
+        Long id,
+        DiaryImportStatus status,
+        int importedCount,
+        int skippedCount,
+        int analyzedCount,
+        int failedCount,
+        String lastError,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {}
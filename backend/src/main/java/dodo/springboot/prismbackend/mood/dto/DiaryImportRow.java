@@ -0,0 +1,9 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+import java.time.LocalDate;
+
+// 가져오기 파일의 일기 한 건 (JSON Lines: {"date": "2024-01-31", "content": "..."}, CSV: date,content)
+public record DiaryImportRow(
+        LocalDate date,
+        String content
+) {}
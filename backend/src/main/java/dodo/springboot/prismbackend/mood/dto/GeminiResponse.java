@@ -0,0 +1,52 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+// Gemini generateContent / streamGenerateContent 응답에서 쓰는 부분만 (나머지 필드는 무시)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GeminiResponse(
+        List<Candidate> candidates,
+        UsageMetadata usageMetadata
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Candidate(Content content, String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Content(List<Part> parts) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Part(String text) {
+    }
+
+    // 토큰 사용량 (promptTokenCount는 컨텍스트 캐시에서 읽은 cachedContentTokenCount 포함)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UsageMetadata(
+            Integer promptTokenCount,
+            Integer cachedContentTokenCount,
+            Integer candidatesTokenCount,
+            Integer totalTokenCount
+    ) {
+    }
+
+    // 첫 번째 후보가 생성한 텍스트 (조각이 여러 개면 이어 붙임, 없으면 빈 문자열)
+    public String text() {
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+        Content content = candidates.get(0).content();
+        if (content == null || content.parts() == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Part part : content.parts()) {
+            if (part.text() != null) {
+                text.append(part.text());
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,10 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+// 이미지 생성 워커에 넘기는 작업 정보 (DB 엔티티 없이 외부 호출만 하도록)
+public record RenderTask(
+        Long jobId,
+        Long logId,
+        Long userId,
+        String imagePrompt
+) {
+}
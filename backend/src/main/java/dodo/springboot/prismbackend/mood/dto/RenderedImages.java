@@ -0,0 +1,7 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+// 업로드된 이미지 공개 URL
+public record RenderedImages(
+        String imageUrl,       // 달력 썸네일
+        String detailImageUrl  // 상세 보기용
+) {}
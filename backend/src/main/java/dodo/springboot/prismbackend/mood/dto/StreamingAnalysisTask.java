@@ -0,0 +1,11 @@
+package dodo.springboot.prismbackend.mood.dto;
+
+// 요청 스레드 쪽에서 바로 분석하는 작업 (POST /api/logs/stream)
+// 작업은 RUNNING으로 등록돼 있어서 워커가 가져가지 않음
+public record StreamingAnalysisTask(
+        Long jobId,
+        Long logId,
+        String content,
+        String character
+) {
+}
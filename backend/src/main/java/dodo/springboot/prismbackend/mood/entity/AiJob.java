@@ -0,0 +1,94 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+import dodo.springboot.prismbackend.global.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// AI 작업 큐 (Postgres 테이블을 큐로 사용, 여러 서버가 SKIP LOCKED로 나눠 가져감)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "ai_jobs")
+public class AiJob extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mood_log_id", nullable = false)
+    // mood_logs가 파티션 테이블이라 FK 없음 (일기 삭제 시 CalendarService가 작업도 같이 삭제)
+    private MoodLog moodLog;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts; // 시도 횟수
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt; // 이 시각 이후에 워커가 가져감 (재시도 대기용)
+
+    private LocalDateTime lockedAt; // RUNNING으로 바뀐 시각 (서버가 죽어서 멈춘 작업 회수용)
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @Builder
+    public AiJob(MoodLog moodLog, AiJobType type) {
+        this.moodLog = moodLog;
+        this.type = type;
+        this.status = AiJobStatus.QUEUED;
+        this.attempts = 0;
+        this.availableAt = LocalDateTime.now();
+    }
+
+    // 워커가 작업을 가져갈 때
+    public void start() {
+        this.status = AiJobStatus.RUNNING;
+        this.attempts++;
+        this.lockedAt = LocalDateTime.now();
+    }
+
+    // 작업 완료
+    public void complete() {
+        this.status = AiJobStatus.DONE;
+        this.lockedAt = null;
+        this.lastError = null;
+    }
+
+    // 실패 시 횟수가 남았으면 다시 대기열로, 아니면 실패 처리
+    public void retryOrFail(String error, int maxAttempts, Duration backoff) {
+        this.lastError = error;
+        this.lockedAt = null;
+        if (this.attempts < maxAttempts) {
+            this.status = AiJobStatus.QUEUED;
+            this.availableAt = LocalDateTime.now().plus(backoff.multipliedBy(this.attempts));
+        } else {
+            this.status = AiJobStatus.FAILED;
+        }
+    }
+
+    // 워커가 못 받은 작업 되돌리기 (시도 횟수에서 제외)
+    public void release() {
+        this.status = AiJobStatus.QUEUED;
+        this.attempts = Math.max(0, this.attempts - 1);
+        this.lockedAt = null;
+    }
+
+    // 제공자가 막혀서 못 한 작업을 잠시 뒤로 미룸 (시도 횟수에서 제외)
+    public void defer(Duration delay) {
+        release();
+        this.availableAt = LocalDateTime.now().plus(delay);
+    }
+}
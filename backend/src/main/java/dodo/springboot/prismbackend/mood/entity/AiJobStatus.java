@@ -0,0 +1,8 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+public enum AiJobStatus {
+    QUEUED,  // 대기 중
+    RUNNING, // 워커가 처리 중
+    DONE,    // 완료
+    FAILED   // 재시도 횟수 초과로 실패
+}
@@ -0,0 +1,6 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+public enum AiJobType {
+    ANALYSIS, // Gemini 일기 분석
+    IMAGE     // Cloudflare 이미지 생성 + 업로드
+}
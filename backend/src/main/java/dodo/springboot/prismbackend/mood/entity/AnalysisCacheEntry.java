@@ -0,0 +1,57 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+import dodo.springboot.prismbackend.global.entity.BaseTimeEntity;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Gemini 분석 결과 캐시 (서버 재시작 후에도 유지되는 2차 캐시)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "analysis_cache")
+public class AnalysisCacheEntry extends BaseTimeEntity {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash; // (일기 내용, 캐릭터, 프롬프트 버전)의 SHA-256
+
+    @Column(nullable = false)
+    private String promptVersion;
+
+    private String representativeMood;
+    private Integer moodScore;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "text[]")
+    private List<String> keywords;
+
+    @Column(columnDefinition = "TEXT")
+    private String imagePrompt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public AnalysisCacheEntry(String contentHash, String promptVersion, AiAnalysisResult result, LocalDateTime expiresAt) {
+        this.contentHash = contentHash;
+        this.promptVersion = promptVersion;
+        this.representativeMood = result.representativeMood();
+        this.moodScore = result.moodScore();
+        this.keywords = result.keywords();
+        this.imagePrompt = result.imagePrompt();
+        this.expiresAt = expiresAt;
+    }
+
+    public AiAnalysisResult toResult() {
+        return new AiAnalysisResult(representativeMood, moodScore, keywords, imagePrompt);
+    }
+}
@@ -0,0 +1,84 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+import dodo.springboot.prismbackend.global.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 일기 가져오기 작업 진행 상황
+// 일기는 요청 안에서 한 번에 저장하고, 분석은 워커가 lastMoodLogId 다음부터 묶음 단위로 진행
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "diary_imports")
+public class DiaryImport extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DiaryImportStatus status;
+
+    @Column(nullable = false)
+    private int importedCount; // 저장된 일기 수
+
+    @Column(nullable = false)
+    private int skippedCount; // 날짜/내용이 없거나 형식이 잘못된 줄
+
+    @Column(nullable = false)
+    private Long lastMoodLogId; // 분석 체크포인트
+
+    @Column(nullable = false)
+    private int analyzedCount;
+
+    @Column(nullable = false)
+    private int failedCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    private LocalDateTime finishedAt;
+
+    // 여러 서버가 같은 작업을 이어받았을 때 체크포인트 중복 갱신 방지
+    @Version
+    private Long version;
+
+    @Builder
+    public DiaryImport(Long userId) {
+        this.userId = userId;
+        this.status = DiaryImportStatus.ANALYZING;
+        this.lastMoodLogId = 0L;
+    }
+
+    // 파일을 다 읽고 저장한 뒤
+    public void imported(int importedCount, int skippedCount) {
+        this.importedCount = importedCount;
+        this.skippedCount = skippedCount;
+    }
+
+    // 한 묶음 분석 후 체크포인트 이동
+    public void advance(Long lastMoodLogId, int analyzed, int failed) {
+        this.lastMoodLogId = lastMoodLogId;
+        this.analyzedCount += analyzed;
+        this.failedCount += failed;
+    }
+
+    public void complete() {
+        this.status = DiaryImportStatus.DONE;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void fail(String error) {
+        this.status = DiaryImportStatus.FAILED;
+        this.lastError = error;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+public enum DiaryImportStatus {
+    ANALYZING, // 일기 저장 완료, 분석 진행 중 (서버 재시작 시 이어서 진행)
+    DONE,      // 분석까지 완료
+    FAILED     // 실패로 중단
+}
@@ -0,0 +1,24 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 날짜별 키워드 등장 횟수 (관리자 키워드 통계용 집계 테이블)
+// 분석 결과가 저장/변경/삭제될 때 같은 트랜잭션에서 MoodStatsService가 upsert로 갱신
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "keyword_daily_stats")
+public class KeywordDailyStat {
+
+    @EmbeddedId
+    private KeywordDailyStatId id;
+
+    @Column(nullable = false)
+    private long count;
+}
@@ -0,0 +1,25 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// keyword_daily_stats 복합 키 (날짜, 키워드)
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class KeywordDailyStatId implements Serializable {
+
+    @Column(nullable = false)
+    private LocalDate logDate;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String keyword;
+}
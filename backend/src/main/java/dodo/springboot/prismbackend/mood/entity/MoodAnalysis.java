@@ -1,11 +1,13 @@
 package dodo.springboot.prismbackend.mood.entity;
 
 import dodo.springboot.prismbackend.global.entity.BaseTimeEntity;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import jakarta.persistence.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Setter
@@ -15,13 +17,20 @@ import java.util.List;
 @Table(name = "mood_analysis")
 public class MoodAnalysis extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 시퀀스에서 50개씩 받아 씀 (가져오기/백필 저장을 JDBC 배치로 묶기 위해)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mood_analysis_id_seq")
+    @SequenceGenerator(name = "mood_analysis_id_seq", sequenceName = "mood_analysis_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mood_log_id", nullable = false, unique = true)
     private MoodLog moodLog;
 
+    // 일기 날짜 (mood_logs와 같은 월 파티션에 저장하기 위한 파티션 키, 일기와 항상 같음)
+    @Column(nullable = false)
+    private LocalDate logDate;
+
     private String representativeMood;
     private Integer moodScore;
 
@@ -33,15 +42,42 @@ public class MoodAnalysis extends BaseTimeEntity {
     private String imagePrompt; // 이미지 묘사 표현 지시문 (영어로)
 
     @Column(columnDefinition = "TEXT")
-    private String imageUrl;    // 생성된 이미지 주소
+    private String imageUrl;    // 생성된 이미지 주소 (달력 썸네일)
+
+    @Column(columnDefinition = "TEXT")
+    private String detailImageUrl; // 상세 보기용 큰 이미지 주소
+
+    @Enumerated(EnumType.STRING)
+    private RenderStatus renderStatus; // 이미지 생성 상태 (요청 전이면 null)
+
+    // 외부 호출(Gemini 등)은 트랜잭션 밖에서 하므로, 읽은 뒤 저장하기 전에 다른 쪽이 바꿨는지 확인
+    @Version
+    private Long version;
 
     @Builder
     public MoodAnalysis(MoodLog moodLog, String representativeMood, Integer moodScore, List<String> keywords, String imagePrompt, String imageUrl) {
         this.moodLog = moodLog;
+        this.logDate = moodLog.getLogDate();
         this.representativeMood = representativeMood;
         this.moodScore = moodScore;
         this.keywords = keywords;
         this.imagePrompt = imagePrompt;
         this.imageUrl = imageUrl;
     }
+
+    // 재분석 결과로 덮어쓰기 (이미지는 그대로 유지)
+    public void updateResult(AiAnalysisResult result) {
+        this.representativeMood = result.representativeMood();
+        this.moodScore = result.moodScore();
+        this.keywords = result.keywords();
+        this.imagePrompt = result.imagePrompt();
+    }
+
+    // 다시 분석한 결과로 교체 (이전 프롬프트로 만든 이미지는 버림)
+    public void replaceResult(AiAnalysisResult result) {
+        updateResult(result);
+        this.imageUrl = null;
+        this.detailImageUrl = null;
+        this.renderStatus = null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 날짜별 감정 점수 합계/개수 (관리자 감정 추이 통계용 집계 테이블)
+// 평균은 조회할 때 합계 / 개수로 계산 (점수가 없는 분석은 개수에 넣지 않음)
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "mood_daily_stats")
+public class MoodDailyStat {
+
+    @Id
+    private LocalDate logDate;
+
+    @Column(nullable = false)
+    private long scoreSum;
+
+    @Column(nullable = false)
+    private long scoreCount;
+}
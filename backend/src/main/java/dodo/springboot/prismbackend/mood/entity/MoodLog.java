@@ -14,7 +14,10 @@ import java.time.LocalDate;
 @Table(name = "mood_logs")
 public class MoodLog extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 시퀀스에서 50개씩 받아 씀 (IDENTITY면 insert마다 바로 실행돼서 JDBC 배치가 안 됨)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mood_logs_id_seq")
+    @SequenceGenerator(name = "mood_logs_id_seq", sequenceName = "mood_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,14 +30,17 @@ public class MoodLog extends BaseTimeEntity {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
+    private Long importId; // 가져오기로 들어온 일기면 diary_imports.id
+
     @OneToOne(mappedBy = "moodLog", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private MoodAnalysis moodAnalysis;
 
     @Builder
-    public MoodLog(User user, LocalDate logDate, String content, MoodAnalysis moodAnalysis) {
+    public MoodLog(User user, LocalDate logDate, String content, MoodAnalysis moodAnalysis, Long importId) {
         this.user = user;
         this.logDate = logDate;
         this.content = content;
         this.moodAnalysis = moodAnalysis;
+        this.importId = importId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package dodo.springboot.prismbackend.mood.entity;
+
+// 이미지 생성 진행 상태 (요청 전이면 null)
+public enum RenderStatus {
+    PENDING,   // 대기열에 등록됨
+    RENDERING, // 워커가 생성 중
+    READY,     // 업로드 완료
+    FAILED     // 재시도 횟수 초과로 실패
+}
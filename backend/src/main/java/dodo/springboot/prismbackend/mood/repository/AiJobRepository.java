@@ -0,0 +1,75 @@
+package dodo.springboot.prismbackend.mood.repository;
+
+import dodo.springboot.prismbackend.mood.entity.AiJob;
+import dodo.springboot.prismbackend.mood.entity.AiJobStatus;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+
+    // 대기 중인 작업 가져오기
+    // 다른 서버가 잠근 행은 건너뜀(SKIP LOCKED) -> 여러 서버가 같은 큐를 나눠서 처리
+    @Query(value = """
+        SELECT * FROM ai_jobs
+        WHERE type = :type
+          AND status = 'QUEUED'
+          AND available_at <= now()
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<AiJob> findClaimable(@Param("type") String type, @Param("limit") int limit);
+
+    // 작업 + 일기 + 작성자 + 분석 같이 조회 (워커가 처리할 때 필요한 것 전부, 쿼리 1번)
+    @Query("""
+        SELECT j FROM AiJob j
+        JOIN FETCH j.moodLog m
+        JOIN FETCH m.user
+        LEFT JOIN FETCH m.moodAnalysis
+        WHERE j.id = :id
+    """)
+    Optional<AiJob> findWithMoodLogById(@Param("id") Long id);
+
+    // 일기의 가장 최근 작업 조회 (상태 조회용)
+    Optional<AiJob> findFirstByMoodLog_IdAndTypeOrderByIdDesc(Long moodLogId, AiJobType type);
+
+    // 일기 삭제 시 작업도 같이 삭제
+    @Modifying
+    @Query("DELETE FROM AiJob j WHERE j.moodLog.id = :moodLogId")
+    int deleteAllByMoodLogId(@Param("moodLogId") Long moodLogId);
+
+    // 서버가 죽어서 RUNNING에 멈춘 작업 중 시도 횟수가 남은 것만 다시 대기열로
+    @Modifying
+    @Query("""
+        UPDATE AiJob j SET j.status = :queued, j.lockedAt = null
+        WHERE j.status = :running AND j.lockedAt < :threshold AND j.attempts < :maxAttempts
+    """)
+    int requeueStale(@Param("queued") AiJobStatus queued,
+                     @Param("running") AiJobStatus running,
+                     @Param("threshold") LocalDateTime threshold,
+                     @Param("maxAttempts") int maxAttempts);
+
+    // 시도 횟수를 다 쓰고 RUNNING에 멈춘 작업 (다시 넣지 않고 실패 처리할 대상)
+    @Query("""
+        SELECT j.id FROM AiJob j
+        WHERE j.type = :type AND j.status = :running AND j.lockedAt < :threshold AND j.attempts >= :maxAttempts
+        ORDER BY j.id
+    """)
+    List<Long> findStaleExhaustedIds(@Param("type") AiJobType type,
+                                     @Param("running") AiJobStatus running,
+                                     @Param("threshold") LocalDateTime threshold,
+                                     @Param("maxAttempts") int maxAttempts);
+
+    // 체험용 계정 일괄 삭제 시
+    @Modifying
+    @Query("DELETE FROM AiJob j WHERE j.moodLog.id IN (SELECT m.id FROM MoodLog m WHERE m.user.id IN :userIds)")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,23 @@
+package dodo.springboot.prismbackend.mood.repository;
+
+import dodo.springboot.prismbackend.mood.entity.AnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface AnalysisCacheRepository extends JpaRepository<AnalysisCacheEntry, String> {
+
+    // 만료되지 않은 캐시 조회
+    Optional<AnalysisCacheEntry> findByContentHashAndExpiresAtAfter(String contentHash, LocalDateTime now);
+
+    // 만료된 캐시 일괄 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AnalysisCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
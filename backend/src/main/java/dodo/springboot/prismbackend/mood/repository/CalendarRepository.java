@@ -1,10 +1,12 @@
 package dodo.springboot.prismbackend.mood.repository;
 
+import dodo.springboot.prismbackend.mood.dto.CalendarDetailResponseDto;
 import dodo.springboot.prismbackend.mood.dto.CalendarResponseDto;
 import dodo.springboot.prismbackend.mood.entity.MoodLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,11 +15,14 @@ import java.util.Optional;
 public interface CalendarRepository extends JpaRepository<MoodLog, Long> {
     // 캘린더 목록 조회
     @Query("SELECT new dodo.springboot.prismbackend.mood.dto.CalendarResponseDto(" +
-            "  m.id, m.logDate, a.imageUrl, a.moodScore" + ") " +
+            "  m.id, m.logDate, a.imageUrl, a.moodScore, a.renderStatus" + ") " +
             "FROM MoodLog m " +
-            "LEFT JOIN m.moodAnalysis a " +
+            // 분석 쪽도 날짜 조건을 줘야 mood_analysis 파티션이 걸러짐
+            "LEFT JOIN m.moodAnalysis a ON a.logDate BETWEEN :startDate AND :endDate " +
             "WHERE m.logDate BETWEEN :startDate AND :endDate " +
             "AND m.user.id = :userId")
+    // 달력 캐시를 놓쳤을 때만 호출됨 (CalendarService.getCalendarList는 트랜잭션 없이 캐시부터 봄)
+    @Transactional(readOnly = true)
     List<CalendarResponseDto> findAllByDateRangeAndUser_Id(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate,
@@ -25,4 +30,25 @@ public interface CalendarRepository extends JpaRepository<MoodLog, Long> {
     );
 
     Optional<MoodLog> findByIdAndUser_Id(Long id, Long userId);
+
+    boolean existsByIdAndUser_Id(Long id, Long userId);
+
+    // 상세 조회 (분석이 있는 일기만, 쿼리 1번)
+    @Query("SELECT new dodo.springboot.prismbackend.mood.dto.CalendarDetailResponseDto(" +
+            "  m.id, m.logDate, a.keywords, a.imageUrl, a.detailImageUrl, m.content, a.moodScore, a.renderStatus" + ") " +
+            "FROM MoodLog m " +
+            "JOIN m.moodAnalysis a " +
+            "WHERE m.id = :id AND m.user.id = :userId " +
+            "AND a.imagePrompt IS NOT NULL")
+    Optional<CalendarDetailResponseDto> findDetailByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // 일기 + 분석 같이 조회
+    // 분석은 mappedBy 쪽 OneToOne이라 LAZY여도 따로 한 번 더 조회되므로 fetch join으로 한 번에 가져옴
+    @Query("SELECT m FROM MoodLog m LEFT JOIN FETCH m.moodAnalysis WHERE m.id = :id AND m.user.id = :userId")
+    Optional<MoodLog> findWithAnalysisByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // 일기 + 작성자 + 분석 같이 조회 (재분석 시 캐릭터 설정 필요)
+    @Query("SELECT m FROM MoodLog m JOIN FETCH m.user LEFT JOIN FETCH m.moodAnalysis " +
+            "WHERE m.id = :id AND m.user.id = :userId")
+    Optional<MoodLog> findWithUserAndAnalysisByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -0,0 +1,24 @@
+package dodo.springboot.prismbackend.mood.repository;
+
+import dodo.springboot.prismbackend.mood.entity.DiaryImport;
+import dodo.springboot.prismbackend.mood.entity.DiaryImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DiaryImportRepository extends JpaRepository<DiaryImport, Long> {
+
+    List<DiaryImport> findAllByStatus(DiaryImportStatus status);
+
+    Optional<DiaryImport> findByIdAndUserId(Long id, Long userId);
+
+    // 체험용 계정 일괄 삭제 시
+    @Modifying
+    @Query("DELETE FROM DiaryImport d WHERE d.userId IN :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
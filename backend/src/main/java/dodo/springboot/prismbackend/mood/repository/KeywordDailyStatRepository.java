@@ -0,0 +1,73 @@
+package dodo.springboot.prismbackend.mood.repository;
+
+import dodo.springboot.prismbackend.mood.dto.KeywordStatisticsDto;
+import dodo.springboot.prismbackend.mood.entity.KeywordDailyStat;
+import dodo.springboot.prismbackend.mood.entity.KeywordDailyStatId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface KeywordDailyStatRepository extends JpaRepository<KeywordDailyStat, KeywordDailyStatId> {
+
+    // 키워드 횟수 증감 (행이 없으면 새로 만듦)
+    @Modifying
+    @Query(value = """
+        INSERT INTO keyword_daily_stats (log_date, keyword, count)
+        VALUES (:logDate, :keyword, :delta)
+        ON CONFLICT (log_date, keyword) DO UPDATE SET count = keyword_daily_stats.count + EXCLUDED.count
+    """, nativeQuery = true)
+    void add(@Param("logDate") LocalDate logDate, @Param("keyword") String keyword, @Param("delta") long delta);
+
+    // 해당 기간의 Top3 키워드 조회 쿼리(공동 등수 포함)
+    // 일기 수가 아니라 (일수 x 키워드 수)만큼만 읽음
+    @Query(value = """
+    SELECT
+        sub.count AS count,
+        -- 같은 count를 가진 키워드들을 쉼표(,)로 합침.
+        STRING_AGG(sub.keyword, ', ' ORDER BY sub.keyword) AS keywords
+    FROM (
+        SELECT
+            s.keyword AS keyword,
+            SUM(s.count) AS count,
+            -- 합계 기준으로 공동 순위를 매김
+            DENSE_RANK() OVER (ORDER BY SUM(s.count) DESC) as ranking
+        FROM keyword_daily_stats s
+        WHERE s.log_date BETWEEN :startDate AND :endDate
+        GROUP BY s.keyword
+        HAVING SUM(s.count) > 0
+    ) sub
+    WHERE sub.ranking <= 3
+    -- 등수별로 그룹화
+    GROUP BY sub.count, sub.ranking
+    ORDER BY sub.ranking ASC
+""", nativeQuery = true)
+    List<KeywordStatisticsDto> findTopKeywordsByPeriod(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // 재집계 중에는 증감 upsert가 끼어들지 못하게 잠금 (읽기는 가능)
+    @Modifying
+    @Query(value = "LOCK TABLE keyword_daily_stats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM keyword_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // 분석 결과 전체에서 다시 집계
+    @Modifying
+    @Query(value = """
+        INSERT INTO keyword_daily_stats (log_date, keyword, count)
+        SELECT ml.log_date, T.keyword, COUNT(*)
+        FROM mood_analysis ma
+        JOIN mood_logs ml ON ma.mood_log_id = ml.id AND ma.log_date = ml.log_date
+        CROSS JOIN LATERAL unnest(ma.keywords) AS T(keyword)
+        GROUP BY ml.log_date, T.keyword
+    """, nativeQuery = true)
+    int rebuild();
+}
@@ -0,0 +1,62 @@
+package dodo.springboot.prismbackend.mood.repository;
+
+import dodo.springboot.prismbackend.mood.dto.MoodStatisticsDto;
+import dodo.springboot.prismbackend.mood.entity.MoodDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MoodDailyStatRepository extends JpaRepository<MoodDailyStat, LocalDate> {
+
+    // 점수 합계/개수 증감 (행이 없으면 새로 만듦)
+    @Modifying
+    @Query(value = """
+        INSERT INTO mood_daily_stats (log_date, score_sum, score_count)
+        VALUES (:logDate, :scoreDelta, :countDelta)
+        ON CONFLICT (log_date) DO UPDATE SET
+            score_sum = mood_daily_stats.score_sum + EXCLUDED.score_sum,
+            score_count = mood_daily_stats.score_count + EXCLUDED.score_count
+    """, nativeQuery = true)
+    void add(@Param("logDate") LocalDate logDate, @Param("scoreDelta") long scoreDelta, @Param("countDelta") long countDelta);
+
+    // 감정 추이 통계 조회 쿼리 (월별 평균 = 합계 / 개수)
+    @Query(value = """
+        SELECT
+            TO_CHAR(s.log_date, 'YYYY-MM') AS period,
+            ROUND(CAST(SUM(s.score_sum) AS numeric) / SUM(s.score_count), 1) AS averageScore
+        FROM mood_daily_stats s
+        WHERE s.log_date BETWEEN :startDate AND :endDate
+        GROUP BY period
+        HAVING SUM(s.score_count) > 0
+        ORDER BY period ASC
+    """, nativeQuery = true)
+    List<MoodStatisticsDto> findMoodTrendByPeriod(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    // 재집계 중에는 증감 upsert가 끼어들지 못하게 잠금 (읽기는 가능)
+    @Modifying
+    @Query(value = "LOCK TABLE mood_daily_stats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM mood_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    // 분석 결과 전체에서 다시 집계
+    @Modifying
+    @Query(value = """
+        INSERT INTO mood_daily_stats (log_date, score_sum, score_count)
+        SELECT ml.log_date, SUM(ma.mood_score), COUNT(ma.mood_score)
+        FROM mood_analysis ma
+        JOIN mood_logs ml ON ma.mood_log_id = ml.id AND ma.log_date = ml.log_date
+        WHERE ma.mood_score IS NOT NULL
+        GROUP BY ml.log_date
+    """, nativeQuery = true)
+    int rebuild();
+}
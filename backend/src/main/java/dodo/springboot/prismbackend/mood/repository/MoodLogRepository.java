@@ -1,8 +1,46 @@
 package dodo.springboot.prismbackend.mood.repository;
 
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
 import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface MoodLogRepository extends JpaRepository<MoodLog, Long> {
 
+    // 백필용: afterId 다음 일기부터 id 순으로 (userId가 null이면 전체 유저)
+    @Query("""
+    select new dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem(m.id, m.content, u.characterDescription)
+    from MoodLog m join m.user u
+    where m.id > :afterId and (:userId is null or u.id = :userId)
+    order by m.id
+    """)
+    List<BatchAnalysisItem> findBatchAnalysisItems(@Param("afterId") Long afterId,
+                                                   @Param("userId") Long userId,
+                                                   Pageable pageable);
+
+    // 가져오기 분석용: 해당 가져오기의 afterId 다음 일기부터 id 순으로
+    @Query("""
+    select new dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem(m.id, m.content, u.characterDescription)
+    from MoodLog m join m.user u
+    where m.importId = :importId and m.id > :afterId
+    order by m.id
+    """)
+    List<BatchAnalysisItem> findImportAnalysisItems(@Param("importId") Long importId,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    // 일기 + 분석 같이 조회 (분석을 일기마다 따로 조회하지 않도록 fetch join)
+    @Query("select m from MoodLog m left join fetch m.moodAnalysis where m.id in :ids")
+    List<MoodLog> findAllWithAnalysisByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 체험용 계정 일괄 삭제 시
+    @Modifying
+    @Query("DELETE FROM MoodLog m WHERE m.user.id IN :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,97 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.mood.entity.AiJob;
+import dodo.springboot.prismbackend.mood.entity.AiJobStatus;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AiJobService {
+
+    private final AiJobRepository aiJobRepository;
+
+    @Value("${spring.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${spring.jobs.retry-backoff:5s}")
+    private Duration retryBackoff;
+
+    // 작업 등록 (호출한 쪽 트랜잭션에 같이 묶임)
+    public AiJob enqueue(MoodLog moodLog, AiJobType type) {
+        return aiJobRepository.save(AiJob.builder()
+                .moodLog(moodLog)
+                .type(type)
+                .build());
+    }
+
+    // 대기 중인 작업을 최대 limit개 가져와서 RUNNING으로 변경
+    // 트랜잭션이 짧게 끝나야 행 잠금도 바로 풀림
+    public List<Long> claim(AiJobType type, int limit) {
+        List<AiJob> jobs = aiJobRepository.findClaimable(type.name(), limit);
+        jobs.forEach(AiJob::start);
+        return jobs.stream().map(AiJob::getId).toList();
+    }
+
+    // 작업 실패 기록 (재시도 또는 실패 처리), 바뀐 상태 반환
+    public AiJobStatus fail(Long jobId, String error) {
+        return aiJobRepository.findById(jobId)
+                .map(job -> {
+                    job.retryOrFail(error, maxAttempts, retryBackoff);
+                    log.warn("AI 작업 실패 (id: {}, 시도: {}, 상태: {}): {}", jobId, job.getAttempts(), job.getStatus(), error);
+                    return job.getStatus();
+                })
+                .orElse(AiJobStatus.FAILED);
+    }
+
+    // 워커에 넘기지 못한 작업 되돌리기
+    public void release(Long jobId) {
+        aiJobRepository.findById(jobId).ifPresent(AiJob::release);
+    }
+
+    // 제공자 보호 장치에 막힌 작업 미루기 (Retry-After 만큼)
+    public void defer(Long jobId, Duration delay) {
+        aiJobRepository.findById(jobId).ifPresent(job -> job.defer(delay));
+    }
+
+    // 오래 RUNNING에 멈춘 작업 회수 (시도 횟수가 남은 작업만)
+    public int requeueStale(Duration timeout) {
+        return aiJobRepository.requeueStale(AiJobStatus.QUEUED, AiJobStatus.RUNNING,
+                LocalDateTime.now().minus(timeout), maxAttempts);
+    }
+
+    // 시도 횟수를 다 쓰고 RUNNING에 멈춘 작업 id (가져갈 때마다 서버를 죽이는 작업이 계속 다시 돌지 않도록)
+    // readOnly가 아니라서 primary에서 읽음 (방금 회수한 작업이 복제 지연으로 다시 보이지 않도록)
+    public List<Long> findStaleExhausted(AiJobType type, Duration timeout) {
+        return aiJobRepository.findStaleExhaustedIds(type, AiJobStatus.RUNNING,
+                LocalDateTime.now().minus(timeout), maxAttempts);
+    }
+
+    // 멈춘 작업 실패 처리, 실패 처리했으면 true
+    // 조회한 뒤 그 사이 끝났거나 회수된 작업은 건너뜀
+    public boolean failStale(Long jobId, Duration timeout, String error) {
+        LocalDateTime threshold = LocalDateTime.now().minus(timeout);
+        return aiJobRepository.findById(jobId)
+                .filter(job -> job.getStatus() == AiJobStatus.RUNNING
+                        && job.getLockedAt() != null && job.getLockedAt().isBefore(threshold))
+                .map(job -> {
+                    job.retryOrFail(error, maxAttempts, retryBackoff);
+                    log.warn("멈춘 AI 작업 실패 처리 (id: {}, 시도: {}, 상태: {}): {}",
+                            jobId, job.getAttempts(), job.getStatus(), error);
+                    return job.getStatus() == AiJobStatus.FAILED;
+                })
+                .orElse(false);
+    }
+}
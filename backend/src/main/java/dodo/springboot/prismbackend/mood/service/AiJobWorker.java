@@ -0,0 +1,131 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
+import dodo.springboot.prismbackend.mood.dto.RenderTask;
+import dodo.springboot.prismbackend.mood.dto.RenderedImages;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// ai_jobs 테이블을 주기적으로 확인해서 워커 풀에 작업을 넘김
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobWorker {
+
+    // RUNNING 상태로 이 시간 넘게 멈춰 있으면 서버가 죽은 것으로 보고 회수
+    private static final Duration STALE_TIMEOUT = Duration.ofMinutes(5);
+
+    // 시도 횟수를 다 쓰고 멈춘 작업에 남기는 오류
+    private static final String STALE_ERROR = "처리 중 서버가 멈춰서 시도 횟수를 모두 썼습니다.";
+
+    // CPU 풀에 못 넣은 이미지 작업을 다시 시도하기까지
+    private static final Duration CPU_RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final AiJobService aiJobService;
+    private final MoodLogService moodLogService;
+    private final ImageRenderService imageRenderService;
+    private final ThreadPoolTaskExecutor analysisJobExecutor;
+    private final ThreadPoolTaskExecutor imageJobExecutor;
+    private final ThreadPoolTaskExecutor imageCpuExecutor;
+    private final ProviderGuard geminiGuard;
+    private final ProviderGuard cloudflareGuard;
+
+    // 분석 작업 가져오기
+    @Scheduled(fixedDelayString = "${spring.jobs.analysis.poll-interval-ms:1000}")
+    public void pollAnalysisJobs() {
+        dispatch(AiJobType.ANALYSIS, analysisJobExecutor, geminiGuard::isCallPermitted, this::runAnalysis);
+    }
+
+    // 이미지 작업 가져오기
+    // CPU 풀 대기열이 꽉 차 있으면 새로 생성하지 않음 (생성해 놓고 처리 못 하면 비용만 듦)
+    @Scheduled(fixedDelayString = "${spring.jobs.image.poll-interval-ms:1000}")
+    public void pollImageJobs() {
+        dispatch(AiJobType.IMAGE, imageJobExecutor,
+                () -> cloudflareGuard.isCallPermitted() && hasCpuCapacity(), this::runImage);
+    }
+
+    // 멈춘 작업 회수 (시도 횟수를 다 쓴 작업은 다시 넣지 않고 실패 처리)
+    @Scheduled(fixedDelay = 60_000)
+    public void recoverStaleJobs() {
+        int count = aiJobService.requeueStale(STALE_TIMEOUT);
+        if (count > 0) {
+            log.warn("멈춘 AI 작업 {}건을 다시 대기열에 넣었습니다.", count);
+        }
+        for (Long jobId : aiJobService.findStaleExhausted(AiJobType.ANALYSIS, STALE_TIMEOUT)) {
+            aiJobService.failStale(jobId, STALE_TIMEOUT, STALE_ERROR);
+        }
+        for (Long jobId : aiJobService.findStaleExhausted(AiJobType.IMAGE, STALE_TIMEOUT)) {
+            moodLogService.failStaleRender(jobId, STALE_TIMEOUT, STALE_ERROR);
+        }
+    }
+
+    // 빈 워커 수만큼만 가져옴 (나머지는 다른 서버가 가져가도록 큐에 남겨둠)
+    // canClaim이 false면 (제공자 서킷 열림, CPU 풀 포화 등) 가져오지 않음
+    private void dispatch(AiJobType type, ThreadPoolTaskExecutor executor, BooleanSupplier canClaim, Consumer<Long> handler) {
+        if (!canClaim.getAsBoolean()) {
+            return;
+        }
+        int free = executor.getMaxPoolSize() - executor.getActiveCount();
+        if (free <= 0) {
+            return;
+        }
+
+        List<Long> jobIds = aiJobService.claim(type, free);
+        for (Long jobId : jobIds) {
+            try {
+                executor.execute(() -> handler.accept(jobId));
+            } catch (TaskRejectedException e) {
+                aiJobService.release(jobId);
+            }
+        }
+    }
+
+    private boolean hasCpuCapacity() {
+        return imageCpuExecutor.getThreadPoolExecutor().getQueue().remainingCapacity() > 0;
+    }
+
+    private void runAnalysis(Long jobId) {
+        try {
+            moodLogService.processAnalysisJob(jobId);
+        } catch (ProviderUnavailableException e) {
+            aiJobService.defer(jobId, e.getRetryAfter());
+        } catch (Exception e) {
+            aiJobService.fail(jobId, e.getMessage());
+        }
+    }
+
+    // RENDERING 표시 -> 생성/업로드 (트랜잭션 밖) -> 결과 저장
+    // 결과를 저장하지 못하면 (생성 도중 재분석, 커밋 실패) 올린 이미지는 지움
+    private void runImage(Long jobId) {
+        try {
+            RenderTask task = moodLogService.startRender(jobId);
+            RenderedImages images = imageRenderService.render(task);
+            boolean saved = false;
+            try {
+                saved = moodLogService.completeRender(jobId, images);
+            } finally {
+                if (!saved) {
+                    imageRenderService.discard(images);
+                }
+            }
+        } catch (ProviderUnavailableException e) {
+            moodLogService.deferRender(jobId, e.getRetryAfter());
+        } catch (TaskRejectedException e) {
+            // CPU 풀 대기열이 꽉 참 (디코딩 또는 인코딩), 시도 횟수에 넣지 않고 다시 대기열로
+            moodLogService.deferRender(jobId, CPU_RETRY_DELAY);
+        } catch (Exception e) {
+            moodLogService.failRender(jobId, e.getMessage());
+        }
+    }
+}
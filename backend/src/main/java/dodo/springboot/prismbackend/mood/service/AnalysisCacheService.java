@@ -0,0 +1,199 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.AnalysisField;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import dodo.springboot.prismbackend.mood.entity.AnalysisCacheEntry;
+import dodo.springboot.prismbackend.mood.repository.AnalysisCacheRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// GeminiService.analyzeMood 앞단 캐시
+// 1차: 서버 메모리 (LRU + TTL), 2차: Postgres analysis_cache 테이블 (재시작 후에도 유지)
+@Slf4j
+@Service
+public class AnalysisCacheService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final GeminiService geminiService;
+    private final AnalysisCacheRepository analysisCacheRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate writeTransaction;
+    private final Cache<String, AiAnalysisResult> localCache;
+    private final Duration dbTtl;
+
+    public AnalysisCacheService(GeminiService geminiService,
+                                AnalysisCacheRepository analysisCacheRepository,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${spring.analysis-cache.max-size:10000}") long maxSize,
+                                @Value("${spring.analysis-cache.ttl:1d}") Duration ttl,
+                                @Value("${spring.analysis-cache.db-ttl:30d}") Duration dbTtl) {
+        this.geminiService = geminiService;
+        this.analysisCacheRepository = analysisCacheRepository;
+        this.meterRegistry = meterRegistry;
+        this.dbTtl = dbTtl;
+        // 캐시 저장 실패가 호출한 쪽 트랜잭션을 롤백시키지 않도록 별도 트랜잭션
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "analysis");
+    }
+
+    // 캐시 확인 후 없으면 Gemini 호출
+    // bypassCache: 사용자가 새 해석을 요청한 경우 (결과는 캐시에 덮어씀)
+    public AiAnalysisResult analyze(String diaryContent, String userCharacter, boolean bypassCache) {
+        String key = cacheKey(diaryContent, userCharacter);
+
+        if (bypassCache) {
+            count("bypass", "none");
+        } else {
+            Optional<AiAnalysisResult> cached = get(key);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        AiAnalysisResult result = geminiService.analyzeMood(diaryContent, userCharacter);
+        put(key, result);
+        return result;
+    }
+
+    // 스트리밍 분석 (POST /api/logs/stream): 캐시에 있으면 항목을 한 번에 넘기고, 없으면 Gemini 스트리밍 응답을 받는 대로
+    public AiAnalysisResult analyzeStreaming(String diaryContent, String userCharacter, Consumer<AnalysisField> onField) {
+        String key = cacheKey(diaryContent, userCharacter);
+
+        Optional<AiAnalysisResult> cached = get(key);
+        if (cached.isPresent()) {
+            AnalysisField.of(cached.get()).forEach(onField);
+            return cached.get();
+        }
+
+        AiAnalysisResult result = geminiService.analyzeMoodStream(diaryContent, userCharacter, onField);
+        put(key, result);
+        return result;
+    }
+
+    // 여러 건 분석 (재분석/백필용): 캐시에 없는 것만 모아서 Gemini 배치 요청 1번
+    public Map<Long, AiAnalysisResult> analyzeBatch(List<BatchAnalysisItem> items) {
+        Map<Long, AiAnalysisResult> results = new LinkedHashMap<>();
+        Map<Long, String> keys = new HashMap<>();
+        List<BatchAnalysisItem> misses = new ArrayList<>();
+        for (BatchAnalysisItem item : items) {
+            String key = cacheKey(item.content(), item.character());
+            keys.put(item.id(), key);
+            get(key).ifPresentOrElse(result -> results.put(item.id(), result), () -> misses.add(item));
+        }
+
+        geminiService.analyzeMoodBatch(misses).forEach((id, result) -> {
+            results.put(id, result);
+            put(keys.get(id), result);
+        });
+        return results;
+    }
+
+    // 만료된 DB 캐시 정리 (매일 새벽 4시)
+    @Scheduled(cron = "0 0 4 * * *")
+    public void deleteExpired() {
+        int count = analysisCacheRepository.deleteExpired(LocalDateTime.now());
+        log.info("만료된 분석 캐시 {}건 삭제", count);
+    }
+
+    private Optional<AiAnalysisResult> get(String key) {
+        // 1차 캐시
+        AiAnalysisResult local = localCache.getIfPresent(key);
+        if (local != null) {
+            count("hit", "local");
+            return Optional.of(local);
+        }
+
+        // 2차 캐시 (찾으면 1차에도 채움)
+        Optional<AiAnalysisResult> stored = analysisCacheRepository
+                .findByContentHashAndExpiresAtAfter(key, LocalDateTime.now())
+                .map(AnalysisCacheEntry::toResult);
+        stored.ifPresentOrElse(
+                result -> {
+                    localCache.put(key, result);
+                    count("hit", "db");
+                },
+                () -> count("miss", "none"));
+        return stored;
+    }
+
+    private void put(String key, AiAnalysisResult result) {
+        // 에러로 받은 기본값(키워드 없음)은 캐시하지 않음
+        if (result.keywords() == null || result.keywords().isEmpty()) {
+            return;
+        }
+
+        localCache.put(key, result);
+        try {
+            writeTransaction.executeWithoutResult(status -> analysisCacheRepository.save(AnalysisCacheEntry.builder()
+                    .contentHash(key)
+                    .promptVersion(GeminiService.PROMPT_VERSION)
+                    .result(result)
+                    .expiresAt(LocalDateTime.now().plus(dbTtl))
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 워커가 같은 키를 먼저 저장한 경우
+            log.debug("분석 캐시 중복 저장 무시: {}", key);
+        }
+    }
+
+    // 공백/유니코드 정규화 후 (내용, 캐릭터, 프롬프트 버전)을 SHA-256으로
+    private String cacheKey(String diaryContent, String userCharacter) {
+        String content = normalize(diaryContent);
+        String character = normalize(userCharacter).toLowerCase(Locale.ROOT);
+        String source = content + '\u0000' + character + '\u0000' + GeminiService.PROMPT_VERSION;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc).replaceAll(" ").trim();
+    }
+
+    private void count(String result, String tier) {
+        meterRegistry.counter("prism.analysis.cache.requests", "result", result, "tier", tier).increment();
+    }
+}
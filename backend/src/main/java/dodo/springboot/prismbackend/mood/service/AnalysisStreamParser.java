@@ -0,0 +1,157 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.AnalysisField;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Gemini 스트리밍 응답 텍스트를 조각 단위로 받아서 분석 결과 JSON을 점진적으로 파싱
+// 대표 감정/점수/키워드는 값이 끝나는 즉시 listener로 넘기고, 전체 결과는 result()로
+// 앞뒤 코드블록(```json)은 무시 (최상위 객체가 닫히면 그 뒤는 읽지 않음)
+// 파싱 실패는 바로 던지지 않고 기록만 함 (스트림을 받는 중에 던지면 제공자 장애로 집계되므로 result()에서)
+class AnalysisStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Consumer<AnalysisField> listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private String field; // 최상위 객체에서 지금 읽고 있는 필드
+
+    private String representativeMood;
+    private Integer moodScore;
+    private List<String> keywords;
+    private List<String> pendingKeywords;
+    private String imagePrompt;
+    private Exception error;
+
+    AnalysisStreamParser(Consumer<AnalysisField> listener) {
+        this.listener = listener;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON 파서 생성 실패", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    // 응답 텍스트 조각 추가
+    void feed(String chunk) {
+        if (finished || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            // 최상위 객체 시작 전 (코드블록 표시 등)은 버림
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            chunk = chunk.substring(start);
+            started = true;
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            drain();
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    // 파싱 실패 기록 (이후 조각은 무시)
+    void fail(Exception e) {
+        if (error == null) {
+            error = e;
+        }
+        finished = true;
+    }
+
+    boolean isFinished() {
+        return finished;
+    }
+
+    // 스트림이 끝난 뒤 전체 결과 (항목이 빠졌으면 예외)
+    AiAnalysisResult result() {
+        if (error != null) {
+            throw new IllegalStateException("Gemini 스트리밍 응답 파싱 실패", error);
+        }
+        if (!finished || representativeMood == null || moodScore == null || keywords == null || imagePrompt == null) {
+            throw new IllegalStateException("Gemini 스트리밍 응답이 완전하지 않습니다.");
+        }
+        return new AiAnalysisResult(representativeMood, moodScore, keywords, imagePrompt);
+    }
+
+    // 지금까지 받은 만큼 토큰 읽기 (다음 조각이 필요하면 NOT_AVAILABLE)
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT -> depth++;
+                case START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && "keywords".equals(field)) {
+                        pendingKeywords = new ArrayList<>();
+                    }
+                }
+                case END_ARRAY -> {
+                    if (depth == 2 && pendingKeywords != null) {
+                        keywords = List.copyOf(pendingKeywords);
+                        pendingKeywords = null;
+                        listener.accept(new AnalysisField(AnalysisField.KEYWORDS, keywords));
+                    }
+                    depth--;
+                }
+                case END_OBJECT -> {
+                    depth--;
+                    finished = depth == 0;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) {
+                        field = parser.currentName();
+                    }
+                }
+                default -> readValue(token);
+            }
+        }
+    }
+
+    private void readValue(JsonToken token) throws IOException {
+        if (depth == 2 && pendingKeywords != null) {
+            if (token == JsonToken.VALUE_STRING) {
+                pendingKeywords.add(parser.getText());
+            }
+            return;
+        }
+        if (depth != 1 || field == null) {
+            return;
+        }
+
+        switch (field) {
+            case "representative_mood" -> {
+                representativeMood = parser.getText();
+                listener.accept(new AnalysisField(AnalysisField.REPRESENTATIVE_MOOD, representativeMood));
+            }
+            case "mood_score" -> {
+                moodScore = token.isNumeric() ? parser.getIntValue() : Integer.valueOf(parser.getText().trim());
+                listener.accept(new AnalysisField(AnalysisField.MOOD_SCORE, moodScore));
+            }
+            case "image_prompt" -> imagePrompt = parser.getText();
+            default -> {
+                // 모르는 필드는 무시
+            }
+        }
+    }
+}
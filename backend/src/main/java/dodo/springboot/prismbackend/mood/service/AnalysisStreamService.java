@@ -0,0 +1,105 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.AnalysisStatusResponseDto;
+import dodo.springboot.prismbackend.mood.dto.MoodLogRequestDto;
+import dodo.springboot.prismbackend.mood.dto.StreamingAnalysisTask;
+import dodo.springboot.prismbackend.mood.entity.AiJobStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 일기 분석 결과를 SSE로 스트리밍 (POST /api/logs/stream)
+// 이벤트 순서: saved(logId) -> representativeMood / moodScore / keywords (완성되는 대로) -> done(분석 상태)
+// 스트리밍 워커가 모두 사용 중이거나 분석에 실패해서 작업 큐로 넘어가면 queued, 더 이상 재시도하지 않으면 failed
+// 클라이언트가 연결을 끊어도 분석은 끝까지 진행해서 저장함
+// 메트릭: prism.analysis.stream{phase=first_field|complete} (요청부터 첫 항목 전송/저장 완료까지)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisStreamService {
+
+    private final MoodLogService moodLogService;
+    private final AnalysisCacheService analysisCacheService;
+    private final AiJobService aiJobService;
+    private final ThreadPoolTaskExecutor analysisStreamExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.jobs.stream.timeout:2m}")
+    private Duration timeout;
+
+    public SseEmitter analyze(Long userId, MoodLogRequestDto requestDto) {
+        long startedAt = System.nanoTime();
+        StreamingAnalysisTask task = moodLogService.startStreamingAnalysis(userId, requestDto);
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        send(emitter, "saved", task.logId());
+        try {
+            analysisStreamExecutor.execute(() -> stream(task, emitter, startedAt));
+        } catch (TaskRejectedException e) {
+            // 작업 큐로 되돌림 (클라이언트는 상태 조회로 전환)
+            aiJobService.release(task.jobId());
+            finish(emitter, "queued", new AnalysisStatusResponseDto(task.logId(), AiJobStatus.QUEUED, null, null));
+        }
+        return emitter;
+    }
+
+    private void stream(StreamingAnalysisTask task, SseEmitter emitter, long startedAt) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        try {
+            AiAnalysisResult result = analysisCacheService.analyzeStreaming(task.content(), task.character(), field -> {
+                if (first.compareAndSet(true, false)) {
+                    record("first_field", startedAt);
+                }
+                send(emitter, field.name(), field.value());
+            });
+            AnalysisStatusResponseDto status = moodLogService.completeAnalysis(task.jobId(), result);
+            record("complete", startedAt);
+            finish(emitter, "done", status);
+        } catch (ProviderUnavailableException e) {
+            // 제공자가 막혀 있음 -> 작업 큐에서 나중에 다시
+            aiJobService.defer(task.jobId(), e.getRetryAfter());
+            finish(emitter, "queued", new AnalysisStatusResponseDto(task.logId(), AiJobStatus.QUEUED, null, null));
+        } catch (Exception e) {
+            log.warn("스트리밍 분석 실패 (logId: {}): {}", task.logId(), e.getMessage());
+            AiJobStatus status = aiJobService.fail(task.jobId(), e.getMessage());
+            finish(emitter, status == AiJobStatus.FAILED ? "failed" : "queued",
+                    new AnalysisStatusResponseDto(task.logId(), status, null, null));
+        }
+    }
+
+    private void finish(SseEmitter emitter, String name, Object data) {
+        send(emitter, name, data);
+        emitter.complete();
+    }
+
+    // 클라이언트가 끊었거나 시간 초과로 닫힌 경우는 무시 (분석/저장은 계속)
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패 ({}): {}", name, e.getMessage());
+        }
+    }
+
+    private void record(String phase, long startedAt) {
+        Timer.builder("prism.analysis.stream")
+                .description("스트리밍 분석 요청부터 첫 항목 전송/저장 완료까지")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,72 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import dodo.springboot.prismbackend.mood.dto.CalendarResponseDto;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Supplier;
+
+// 월별 달력 목록 캐시 (유저 + 연월 단위)
+// 일기/분석/이미지 상태가 바뀌면 그 달 항목만 지움 (커밋 후)
+@Service
+public class CalendarCacheService {
+
+    private final Cache<CalendarKey, List<CalendarResponseDto>> cache;
+    private final ReplicaStickiness replicaStickiness;
+
+    public CalendarCacheService(MeterRegistry meterRegistry,
+                                ReplicaStickiness replicaStickiness,
+                                @Value("${spring.calendar-cache.max-size:10000}") long maxSize,
+                                @Value("${spring.calendar-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl) // 혹시 놓친 변경이 있어도 이 시간 뒤에는 다시 조회
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "calendar");
+        this.replicaStickiness = replicaStickiness;
+    }
+
+    // 캐시에 없으면 loader로 조회해서 채움
+    // loader가 도는 동안 같은 키의 evict는 조회가 끝날 때까지 기다렸다가 지움
+    // -> 커밋 전 데이터를 읽은 조회 결과가 지워진 뒤에 남는 일이 없음
+    public List<CalendarResponseDto> get(Long userId, YearMonth month, Supplier<List<CalendarResponseDto>> loader) {
+        return cache.get(new CalendarKey(userId, month), key -> List.copyOf(loader.get()));
+    }
+
+    public void evict(MoodLog moodLog) {
+        evict(moodLog.getUser().getId(), moodLog.getLogDate());
+    }
+
+    // 트랜잭션 안이면 커밋 후에 지움 (커밋 전에 지우면 그 사이 조회가 옛 데이터를 다시 채움)
+    // 다시 채우는 조회가 아직 반영 안 된 복제본을 읽지 않도록 그 사용자는 잠시 primary에서 읽음 (워커가 쓴 경우 포함)
+    public void evict(Long userId, LocalDate logDate) {
+        CalendarKey key = new CalendarKey(userId, YearMonth.from(logDate));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    replicaStickiness.markWrite(userId);
+                    cache.invalidate(key);
+                }
+            });
+        } else {
+            replicaStickiness.markWrite(userId);
+            cache.invalidate(key);
+        }
+    }
+
+    private record CalendarKey(Long userId, YearMonth month) {}
+}
@@ -1,22 +1,30 @@
 package dodo.springboot.prismbackend.mood.service;
 
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.AnalysisTask;
 import dodo.springboot.prismbackend.mood.dto.CalendarDetailResponseDto;
 import dodo.springboot.prismbackend.mood.dto.CalendarResponseDto;
 import dodo.springboot.prismbackend.mood.dto.MoodLogAnalysisResponseDto;
 import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
 import dodo.springboot.prismbackend.mood.entity.MoodLog;
-import dodo.springboot.prismbackend.user.entity.User;
-import dodo.springboot.prismbackend.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
 import dodo.springboot.prismbackend.mood.repository.CalendarRepository;
 import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
 import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Slf4j
@@ -28,93 +36,128 @@ public class CalendarService {
     private final MoodLogService moodLogService;
     private final MoodAnalysisRepository moodAnalysisRepository;
     private final MoodLogRepository moodLogRepository;
-    private final UserRepository userRepository;
+    private final AiJobRepository aiJobRepository;
+    private final CalendarCacheService calendarCacheService;
+    private final MoodStatsService moodStatsService;
+    private final AnalysisCacheService analysisCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     // 목록 조회
+    // 캐시 적중 시에는 트랜잭션/커넥션 없이 리턴 (놓쳤을 때만 조회 쿼리가 자기 readOnly 트랜잭션으로 복제본에서 읽음)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<CalendarResponseDto> getCalendarList(int year, int month, Long userId) {
         // 그 달의 시작/끝 날짜 계산
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        return calendarRepository.findAllByDateRangeAndUser_Id(startDate, endDate, userId);
+        // 같은 달은 캐시에서 (일기가 바뀌면 그 달만 지워짐)
+        return calendarCacheService.get(userId, YearMonth.of(year, month),
+                () -> calendarRepository.findAllByDateRangeAndUser_Id(startDate, endDate, userId));
     }
 
     // 상세 조회
     public CalendarDetailResponseDto getMoodLogDetail(Long id, Long userId) {
-        // 본인 일기인지 확인
-        MoodLog moodLog = calendarRepository.findByIdAndUser_Id(id, userId)
-                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
-        MoodAnalysis analysis = moodLog.getMoodAnalysis();
-        if (analysis == null || analysis.getImagePrompt() == null) {
-            throw new IllegalStateException("분석 데이터가 존재하지 않습니다.");
-        }
-
-        List<String> mainKeyword = (analysis != null && analysis.getKeywords() != null && !analysis.getKeywords().isEmpty())
-                ? analysis.getKeywords()
-                : List.of();
-
-        String imageUrl = (analysis != null) ? analysis.getImageUrl() : null;
-
-        return new CalendarDetailResponseDto(
-                moodLog.getId(),
-                moodLog.getLogDate(),
-                mainKeyword,
-                imageUrl,
-                moodLog.getContent(),
-                analysis.getMoodScore()
-        );
+        // 본인 일기 + 분석 결과를 DTO로 바로 조회 (쿼리 1번)
+        return calendarRepository.findDetailByIdAndUserId(id, userId)
+                .orElseThrow(() -> {
+                    // 없을 때만 어떤 경우인지 확인
+                    if (!calendarRepository.existsByIdAndUser_Id(id, userId)) {
+                        return new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다.");
+                    }
+                    return new IllegalStateException("분석 데이터가 존재하지 않습니다.");
+                });
     }
 
     // 일기 삭제 (이미지 + 데이터)
-    @Transactional // 쓰기 작업이므로 트랜잭션 필요
+    // DB 삭제 (짧은 트랜잭션) -> 커밋 후 스토리지 이미지 삭제 (Supabase 호출 동안 커넥션을 잡고 있지 않음)
+    @Transactional(propagation = Propagation.NEVER)
     public boolean deleteLog(Long id, Long userId) {
-        // 본인 일기인지 확인
-        MoodLog moodLog = calendarRepository.findByIdAndUser_Id(id, userId)
-                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
-        MoodAnalysis analysis = moodLog.getMoodAnalysis();
-
-        // 스토리지에서 이미지 파일 삭제
-        if (analysis.getImageUrl() != null) {
-            storageService.deleteStorageImage(analysis.getImageUrl());
-        }
-
-        // DB에서 데이터 삭제
-        moodAnalysisRepository.delete(analysis);
-        moodLogRepository.delete(moodLog);
+        List<String> imageUrls = transactionTemplate.execute(status -> {
+            // 본인 일기인지 확인 (분석 결과까지 한 번에)
+            MoodLog moodLog = calendarRepository.findWithAnalysisByIdAndUserId(id, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
+            MoodAnalysis analysis = moodLog.getMoodAnalysis();
+
+            // DB에서 데이터 삭제 (통계 집계에서도 빼기)
+            // (작업 일괄 삭제는 먼저 flush를 하므로 엔티티 삭제보다 앞에 둠)
+            // 분석 대기(QUEUED)/실패(FAILED) 일기는 분석 결과가 없음
+            if (analysis != null) {
+                moodStatsService.remove(analysis);
+            }
+            aiJobRepository.deleteAllByMoodLogId(moodLog.getId());
+            if (analysis != null) {
+                moodAnalysisRepository.delete(analysis);
+            }
+            moodLogRepository.delete(moodLog);
+            calendarCacheService.evict(moodLog);
+            return analysis != null ? imageUrls(analysis) : List.<String>of();
+        });
+
+        // 스토리지에서 이미지 파일 삭제 (롤백되면 지우지 않음)
+        imageUrls.forEach(storageService::deleteStorageImage);
 
         log.info("일기 삭제 완료");
         return true;
     }
 
-    // 이미지 재생성 (기존 이미지 삭제 -> AI 재생성 -> DB 업데이트)
-    @Transactional
-    public MoodLogAnalysisResponseDto regenerateImage(Long id, Long userId) {
-        // 본인 일기인지 확인
-        MoodLog moodLog = calendarRepository.findByIdAndUser_Id(id, userId)
-                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
-        MoodAnalysis oldAnalysis = moodLog.getMoodAnalysis();
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
-
+    // 다시 분석 (AI 재분석 -> DB 업데이트 -> 기존 이미지 삭제)
+    // 일기 읽기 -> Gemini 호출 (트랜잭션 밖) -> 결과 저장 (짧은 트랜잭션) -> 커밋 후 스토리지 이미지 삭제
+    // 읽은 뒤 저장하기 전에 분석 결과가 바뀌었으면 (다른 재분석, 이미지 생성 완료 등) 덮어쓰지 않고 실패
+    // fresh: 사용자가 새 해석을 원하면 분석 캐시를 건너뜀
+    @Transactional(propagation = Propagation.NEVER)
+    public MoodLogAnalysisResponseDto regenerateImage(Long id, Long userId, boolean fresh) {
+        // 본인 일기인지 확인 (작성자 캐릭터 설정 + 기존 분석까지 한 번에)
+        // 트랜잭션 밖에서 바로 조회하면 공유 EntityManager가 이 메서드가 끝날 때까지 스레드에 묶여 있으므로 짧은 트랜잭션으로 읽음
+        AnalysisTask task = transactionTemplate.execute(status ->
+                calendarRepository.findWithUserAndAnalysisByIdAndUserId(id, userId)
+                        .map(moodLogService::toAnalysisTask)
+                        .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다.")));
+
+        // 새로운 Gemini 분석(프롬프트)
+        AiAnalysisResult aiResult = analysisCacheService.analyze(task.content(), task.character(), fresh);
+
+        List<String> oldImageUrls = transactionTemplate.execute(status -> {
+            MoodLog moodLog = calendarRepository.findWithAnalysisByIdAndUserId(id, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
+            MoodAnalysis analysis = moodLog.getMoodAnalysis();
+            if (!Objects.equals(task.analysisVersion(), analysis != null ? analysis.getVersion() : null)) {
+                throw new ObjectOptimisticLockingFailureException(MoodAnalysis.class, analysis != null ? analysis.getId() : id);
+            }
+
+            if (analysis == null) {
+                moodLogService.saveAnalysis(moodLog, aiResult);
+                return List.of();
+            }
+
+            // 분석/파싱 실패로 기본값이 저장된 일기를 사용자가 다시 요청한 경우 (실패 1건마다 Gemini 호출이 한 번 더 듦)
+            if (analysis.getKeywords() == null || analysis.getKeywords().isEmpty()) {
+                meterRegistry.counter("prism.gemini.retry", "reason", "user_regenerate").increment();
+            }
+
+            // 기존 분석을 새 결과로 교체 (통계 집계는 빼고 다시 더함)
+            List<String> replaced = imageUrls(analysis);
+            moodStatsService.remove(analysis);
+            analysis.replaceResult(aiResult);
+            moodStatsService.add(analysis);
+            calendarCacheService.evict(moodLog);
+            return replaced;
+        });
+
+        // 스토리지에서 기존 이미지 파일 삭제
+        oldImageUrls.forEach(storageService::deleteStorageImage);
 
-        if (moodLog.getMoodAnalysis() != null) {
-            // 스토리지에서 이미지 파일 삭제
-            storageService.deleteStorageImage(oldAnalysis.getImageUrl());
+        // 키워드 리턴
+        return new MoodLogAnalysisResponseDto(task.logId(), aiResult.keywords(), aiResult.representativeMood());
+    }
 
-            // DB에서 analysis 삭제
-            moodLog.setMoodAnalysis(null);
-            calendarRepository.flush();
+    private List<String> imageUrls(MoodAnalysis analysis) {
+        List<String> urls = new ArrayList<>();
+        if (analysis.getImageUrl() != null) {
+            urls.add(analysis.getImageUrl());
         }
-
-        // 새로운 Gemini 분석(프롬프트) 및 결과 저장
-        moodLogService.processAiAnalysis(user, moodLog);
-
-        MoodAnalysis newAnalysis = moodLog.getMoodAnalysis();
-
-        // 키워드 리턴
-        return new MoodLogAnalysisResponseDto(
-                moodLog.getId(),
-                newAnalysis.getKeywords(),
-                newAnalysis.getRepresentativeMood()
-        );
+        if (analysis.getDetailImageUrl() != null) {
+            urls.add(analysis.getDetailImageUrl());
+        }
+        return urls;
     }
 }
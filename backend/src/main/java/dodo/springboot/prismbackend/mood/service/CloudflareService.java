@@ -1,13 +1,20 @@
 package dodo.springboot.prismbackend.mood.service;
 
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.InputStream;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -19,35 +26,39 @@ public class CloudflareService {
     @Value("${spring.cloudflare.api-token}")
     private String apiToken;
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient cloudflareWebClient;
+    private final ProviderGuard cloudflareGuard;
 
     // Cloudflare에서 제공하는 Stable Diffusion XL 모델
     // (더 빠른 속도를 원하시면 "@cf/bytedance/stable-diffusion-xl-lightning" 모델로 바꿔도 됩니다)
     private static final String MODEL_ID = "@cf/stabilityai/stable-diffusion-xl-base-1.0";
 
-    public byte[] generateImage(String prompt) {
+    // 응답 본문을 한 번에 미리 받아두는 DataBuffer 개수 (읽는 속도에 맞춰 조금씩 받음)
+    private static final int STREAM_DEMAND = 4;
+
+    // 생성된 이미지(PNG)를 스트림으로 리턴
+    // 응답 헤더가 오면(=생성 완료) 바로 리턴하고, 본문은 읽는 만큼 받아옴
+    // 본문을 얼마나 받을지는 호출한 쪽이 정함 (ImageRenderService는 spring.image.max-original-size까지만 byte[]로 받음)
+    // 호출한 쪽에서 반드시 close 해야 연결이 풀림
+    public InputStream generateImage(String prompt) {
         String url = "https://api.cloudflare.com/client/v4/accounts/" + accountId + "/ai/run/" + MODEL_ID;
 
         try {
-            // 버퍼 사이즈 제한 16MB로 늘림(사진 받기 위해서)
-            WebClient webClient = webClientBuilder
-                    .exchangeStrategies(ExchangeStrategies.builder()
-                            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024)) // 16MB
-                            .build())
-                    .build();
             // Cloudflare는 입력으로 JSON {"prompt": "..."} 을 받습니다.
-            String requestBody = "{\"prompt\": \"" + prompt + "\"}";
-
-            return webClientBuilder.build()
-                    .post()
+            // 동시 처리 한도는 응답 헤더가 올 때까지(=생성 시간)만 잡고 있음
+            return cloudflareGuard.call(() -> cloudflareWebClient.post()
                     .uri(url)
                     .header("Authorization", "Bearer " + apiToken)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
+                    .bodyValue(Map.of("prompt", prompt))
                     .retrieve()
-                    .bodyToMono(byte[].class) // 이미지를 바이너리(byte[])로 바로 줍니다.
-                    .block();
+                    .toEntityFlux(DataBuffer.class) // 이미지를 바이너리로 바로 줍니다.
+                    .map(ResponseEntity::getBody)
+                    .map(body -> DataBufferUtils.subscriberInputStream(body, STREAM_DEMAND))
+                    .block());
 
+        } catch (ProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Cloudflare AI 이미지 생성 실패", e);
             return null;
@@ -0,0 +1,192 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dodo.springboot.prismbackend.mood.dto.DiaryImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// 가져오기 파일을 한 건씩 읽어서 넘김 (파일 전체를 메모리에 올리지 않음)
+// 날짜/내용이 없거나 형식이 잘못된 건은 건너뛰고 개수만 셈
+@Component
+@RequiredArgsConstructor
+public class DiaryImportReader {
+
+    // 한 건 최대 길이 (닫히지 않은 따옴표 등으로 파일 끝까지 한 건으로 읽는 것 방지)
+    private static final int MAX_RECORD_LENGTH = 20_000;
+
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        JSON_LINES, // 한 줄에 {"date": "2024-01-31", "content": "..."} 하나
+        CSV;        // date,content (첫 줄이 헤더면 건너뜀, 따옴표 안의 쉼표/줄바꿈 허용)
+
+        // 파일 이름으로 형식 판단
+        public static Format of(String filename) {
+            String name = (filename == null) ? "" : filename.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+                return JSON_LINES;
+            }
+            throw new IllegalArgumentException("지원하지 않는 파일 형식입니다. (.jsonl, .csv)");
+        }
+    }
+
+    // 읽은 일기를 consumer에 넘기고, 건너뛴 건수 리턴
+    public int read(InputStream in, Format format, Consumer<DiaryImportRow> consumer) {
+        try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            skipBom(reader);
+            return (format == Format.CSV) ? readCsv(reader, consumer) : readJsonLines(reader, consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("가져오기 파일을 읽을 수 없습니다.", e);
+        }
+    }
+
+    // 엑셀 등에서 저장한 UTF-8 BOM 제거
+    private void skipBom(Reader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private int readJsonLines(Reader reader, Consumer<DiaryImportRow> consumer) throws IOException {
+        int skipped = 0;
+        StringBuilder line = new StringBuilder();
+        while (readLine(reader, line)) {
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(line.toString());
+                DiaryImportRow row = toRow(node.path("date").asText(null), node.path("content").asText(null));
+                if (row == null) {
+                    skipped++;
+                } else {
+                    consumer.accept(row);
+                }
+            } catch (JsonProcessingException e) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    private int readCsv(Reader reader, Consumer<DiaryImportRow> consumer) throws IOException {
+        int skipped = 0;
+        boolean first = true;
+        List<String> fields = new ArrayList<>();
+        while (readCsvRecord(reader, fields)) {
+            if (first) {
+                first = false;
+                if (!fields.isEmpty() && fields.get(0).trim().equalsIgnoreCase("date")) {
+                    continue; // 헤더
+                }
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue; // 빈 줄
+            }
+            DiaryImportRow row = (fields.size() < 2) ? null : toRow(fields.get(0), fields.get(1));
+            if (row == null) {
+                skipped++;
+            } else {
+                consumer.accept(row);
+            }
+        }
+        return skipped;
+    }
+
+    // 날짜(yyyy-MM-dd)와 내용이 모두 있어야 저장
+    private DiaryImportRow toRow(String date, String content) {
+        if (date == null || content == null || content.isBlank()) {
+            return null;
+        }
+        try {
+            return new DiaryImportRow(LocalDate.parse(date.trim()), content.strip());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // 줄바꿈 전까지 읽음 (파일 끝이면 false)
+    private boolean readLine(Reader reader, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return true;
+            }
+            if (c != '\r') {
+                append(line, (char) c);
+            }
+        }
+        return !line.isEmpty();
+    }
+
+    // CSV 한 건 읽기 (RFC 4180: 따옴표로 감싼 필드 안의 쉼표/줄바꿈, "" 이스케이프)
+    private boolean readCsvRecord(Reader reader, List<String> fields) throws IOException {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("한 건의 길이가 너무 깁니다. (최대 " + MAX_RECORD_LENGTH + "자)");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!any) {
+            return false;
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    private void append(StringBuilder line, char c) {
+        if (line.length() >= MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("한 줄의 길이가 너무 깁니다. (최대 " + MAX_RECORD_LENGTH + "자)");
+        }
+        line.append(c);
+    }
+}
@@ -0,0 +1,211 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import dodo.springboot.prismbackend.mood.dto.DiaryImportChunk;
+import dodo.springboot.prismbackend.mood.dto.DiaryImportResponseDto;
+import dodo.springboot.prismbackend.mood.entity.DiaryImport;
+import dodo.springboot.prismbackend.mood.entity.DiaryImportStatus;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.repository.DiaryImportRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
+import dodo.springboot.prismbackend.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 일기 가져오기 저장/분석 상태 관리
+// Gemini 호출은 DiaryImportWorker가 트랜잭션 밖에서 하고, 여기서는 읽기/결과 저장만 함
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class DiaryImportService {
+
+    private final DiaryImportRepository diaryImportRepository;
+    private final MoodLogRepository moodLogRepository;
+    private final MoodAnalysisRepository moodAnalysisRepository;
+    private final UserRepository userRepository;
+    private final DiaryImportReader diaryImportReader;
+    private final CalendarCacheService calendarCacheService;
+    private final MoodStatsService moodStatsService;
+    private final EntityManager entityManager;
+
+    @Value("${spring.import.max-rows:20000}")
+    private int maxRows;
+
+    @Value("${spring.import.flush-size:500}")
+    private int flushSize;
+
+    @Value("${spring.import.batch-size:20}")
+    private int batchSize;
+
+    // 파일을 읽으면서 일기 저장 (한 트랜잭션: 중간에 실패하면 아무것도 저장되지 않음)
+    // flushSize건마다 JDBC 배치로 insert 후 영속성 컨텍스트를 비워서 메모리 사용량 유지
+    public Long importFile(Long userId, InputStream in, DiaryImportReader.Format format) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("유저 없음");
+        }
+        Long importId = diaryImportRepository.save(DiaryImport.builder().userId(userId).build()).getId();
+
+        AtomicInteger imported = new AtomicInteger();
+        Set<YearMonth> months = new HashSet<>();
+        int skipped = diaryImportReader.read(in, format, row -> {
+            if (imported.get() >= maxRows) {
+                throw new IllegalArgumentException("한 번에 가져올 수 있는 일기는 최대 " + maxRows + "개입니다.");
+            }
+            entityManager.persist(MoodLog.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .logDate(row.date())
+                    .content(row.content())
+                    .importId(importId)
+                    .build());
+            months.add(YearMonth.from(row.date()));
+            if (imported.incrementAndGet() % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+        entityManager.flush();
+        entityManager.clear();
+
+        DiaryImport diaryImport = getImport(importId);
+        diaryImport.imported(imported.get(), skipped);
+        if (imported.get() == 0) {
+            diaryImport.complete();
+        }
+        months.forEach(month -> calendarCacheService.evict(userId, month.atDay(1)));
+
+        log.info("일기 가져오기 {} 저장 완료 (유저: {}, 저장: {}, 건너뜀: {})", importId, userId, imported.get(), skipped);
+        return importId;
+    }
+
+    @Transactional(readOnly = true)
+    public DiaryImportResponseDto getStatus(Long userId, Long importId) {
+        DiaryImport diaryImport = diaryImportRepository.findByIdAndUserId(importId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("가져오기 작업을 찾을 수 없거나 접근 권한이 없습니다."));
+        return new DiaryImportResponseDto(
+                diaryImport.getId(),
+                diaryImport.getStatus(),
+                diaryImport.getImportedCount(),
+                diaryImport.getSkippedCount(),
+                diaryImport.getAnalyzedCount(),
+                diaryImport.getFailedCount(),
+                diaryImport.getLastError(),
+                diaryImport.getCreatedAt(),
+                diaryImport.getFinishedAt()
+        );
+    }
+
+    // 서버 시작 시 이어서 분석할 작업들
+    @Transactional(readOnly = true)
+    public List<Long> findAnalyzingIds() {
+        return diaryImportRepository.findAllByStatus(DiaryImportStatus.ANALYZING).stream()
+                .map(DiaryImport::getId)
+                .toList();
+    }
+
+    // 체크포인트 다음 묶음 읽기 (진행 중이 아니면 null)
+    // readOnly가 아니라서 복제본이 아닌 primary에서 읽음: 워커 스레드에는 사용자가 없어 sticky가 적용되지 않는데,
+    // 바로 앞에서 커밋한 체크포인트(또는 방금 등록된 작업)를 복제 지연 때문에 못 보면 진행 중인 작업이 멈춤
+    public DiaryImportChunk nextChunk(Long importId) {
+        DiaryImport diaryImport = getImport(importId);
+        if (diaryImport.getStatus() != DiaryImportStatus.ANALYZING) {
+            return null;
+        }
+
+        List<BatchAnalysisItem> items = moodLogRepository.findImportAnalysisItems(
+                        importId, diaryImport.getLastMoodLogId(), PageRequest.of(0, batchSize))
+                .stream()
+                .map(item -> (item.character() == null || item.character().isEmpty())
+                        ? new BatchAnalysisItem(item.id(), item.content(), "dog") : item)
+                .toList();
+        return new DiaryImportChunk(diaryImport.getLastMoodLogId(), items);
+    }
+
+    // 묶음 결과 저장 + 체크포인트 이동 (한 트랜잭션)
+    // 다른 서버가 체크포인트를 먼저 옮겼으면 저장하지 않고 false (동시에 저장하면 @Version 충돌로 롤백)
+    public boolean applyChunk(Long importId, DiaryImportChunk chunk, Map<Long, AiAnalysisResult> results) {
+        DiaryImport diaryImport = getImport(importId);
+        if (diaryImport.getStatus() != DiaryImportStatus.ANALYZING
+                || !diaryImport.getLastMoodLogId().equals(chunk.afterId())) {
+            return false;
+        }
+
+        List<Long> logIds = chunk.items().stream().map(BatchAnalysisItem::id).toList();
+        Map<Long, MoodLog> moodLogs = moodLogRepository.findAllWithAnalysisByIdIn(logIds).stream()
+                .collect(Collectors.toMap(MoodLog::getId, Function.identity()));
+
+        int analyzed = 0;
+        int failed = 0;
+        for (Long logId : logIds) {
+            AiAnalysisResult result = results.get(logId);
+            MoodLog moodLog = moodLogs.get(logId);
+            if (moodLog != null && moodLog.getMoodAnalysis() != null) {
+                // 그 사이 사용자가 직접 재분석한 일기
+                analyzed++;
+                continue;
+            }
+            // 단건 재시도까지 실패한 경우(키워드 없음)는 분석 없이 둠 (사용자가 재분석 가능), 읽은 뒤 삭제된 일기도 건너뜀
+            if (moodLog == null || result == null || result.keywords() == null || result.keywords().isEmpty()) {
+                failed++;
+                continue;
+            }
+
+            MoodAnalysis analysis = moodAnalysisRepository.save(MoodAnalysis.builder()
+                    .moodLog(moodLog)
+                    .representativeMood(result.representativeMood())
+                    .moodScore(result.moodScore())
+                    .keywords(result.keywords())
+                    .imagePrompt(result.imagePrompt())
+                    .imageUrl(null)
+                    .build());
+            moodLog.setMoodAnalysis(analysis);
+            moodStatsService.add(analysis);
+            calendarCacheService.evict(moodLog);
+            analyzed++;
+        }
+
+        diaryImport.advance(logIds.get(logIds.size() - 1), analyzed, failed);
+        return true;
+    }
+
+    // 아직 분석 중이고 체크포인트가 afterId 그대로인지 (저장 충돌이 작업 자체의 충돌인지 확인용, primary에서 읽음)
+    public boolean isAnalyzingAt(Long importId, Long afterId) {
+        DiaryImport diaryImport = getImport(importId);
+        return diaryImport.getStatus() == DiaryImportStatus.ANALYZING
+                && diaryImport.getLastMoodLogId().equals(afterId);
+    }
+
+    public void complete(Long importId) {
+        getImport(importId).complete();
+    }
+
+    public void fail(Long importId, String error) {
+        DiaryImport diaryImport = getImport(importId);
+        if (diaryImport.getStatus() == DiaryImportStatus.ANALYZING) {
+            diaryImport.fail(error);
+        }
+    }
+
+    private DiaryImport getImport(Long importId) {
+        return diaryImportRepository.findById(importId)
+                .orElseThrow(() -> new IllegalArgumentException("가져오기 작업을 찾을 수 없습니다."));
+    }
+}
@@ -0,0 +1,132 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.DiaryImportChunk;
+import dodo.springboot.prismbackend.mood.entity.DiaryImport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+
+// 가져온 일기 분석: 체크포인트 다음 N건 읽기 -> Gemini 배치 요청 1번 -> 결과 저장 반복
+// 묶음 사이에 쉬어서 다른 사용자의 분석 요청이 밀리지 않도록 함
+@Slf4j
+@Component
+public class DiaryImportWorker {
+
+    // 사용자가 같은 분석을 동시에 바꿔서(재생성, 이미지 완료) 묶음 저장이 충돌할 때 연속으로 다시 시도하는 횟수
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    private final DiaryImportService diaryImportService;
+    private final AnalysisCacheService analysisCacheService;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final Duration batchInterval;
+
+    public DiaryImportWorker(DiaryImportService diaryImportService,
+                             AnalysisCacheService analysisCacheService,
+                             ThreadPoolTaskExecutor importExecutor,
+                             @Value("${spring.import.batch-interval:1s}") Duration batchInterval) {
+        this.diaryImportService = diaryImportService;
+        this.analysisCacheService = analysisCacheService;
+        this.importExecutor = importExecutor;
+        this.batchInterval = batchInterval;
+    }
+
+    // 일기 저장 (요청 스레드) 후 분석은 백그라운드로
+    public Long start(Long userId, InputStream in, DiaryImportReader.Format format) {
+        Long importId = diaryImportService.importFile(userId, in, format);
+        launch(importId);
+        return importId;
+    }
+
+    // 서버가 중간에 내려갔던 작업은 체크포인트부터 이어서 진행
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (Long importId : diaryImportService.findAnalyzingIds()) {
+            log.info("일기 가져오기 {} 분석 이어서 진행", importId);
+            launch(importId);
+        }
+    }
+
+    private void launch(Long importId) {
+        try {
+            importExecutor.execute(() -> run(importId));
+        } catch (TaskRejectedException e) {
+            // 대기열이 꽉 참 (다음 서버 시작 때 이어서 진행)
+            log.warn("일기 가져오기 {} 분석 대기열이 꽉 찼습니다.", importId);
+        }
+    }
+
+    private void run(Long importId) {
+        int conflicts = 0;
+        try {
+            while (true) {
+                DiaryImportChunk chunk = diaryImportService.nextChunk(importId);
+                if (chunk == null) {
+                    return;
+                }
+                if (chunk.items().isEmpty()) {
+                    diaryImportService.complete(importId);
+                    log.info("일기 가져오기 {} 분석 완료", importId);
+                    return;
+                }
+
+                Map<Long, AiAnalysisResult> results;
+                try {
+                    results = analysisCacheService.analyzeBatch(chunk.items());
+                } catch (ProviderUnavailableException e) {
+                    // Gemini가 막혀 있으면 기다렸다가 같은 묶음부터 다시
+                    Thread.sleep(e.getRetryAfter().toMillis());
+                    continue;
+                }
+                boolean applied;
+                try {
+                    applied = diaryImportService.applyChunk(importId, chunk, results);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (isImportConflict(e, importId, chunk)) {
+                        throw e;
+                    }
+                    // 사용자가 묶음 안의 분석을 바꿈 (묶음 전체가 롤백됨) -> 바뀐 분석을 다시 읽어서 같은 묶음부터 다시
+                    if (++conflicts > MAX_CONFLICT_RETRIES) {
+                        throw new IllegalStateException("분석 저장 충돌이 계속됩니다.", e);
+                    }
+                    log.info("일기 가져오기 {} 묶음 저장 중 분석이 바뀌어서 다시 시도합니다. ({}번째)", importId, conflicts);
+                    continue;
+                }
+                if (!applied) {
+                    log.info("일기 가져오기 {} 분석 중단됨 (다른 서버가 진행 중)", importId);
+                    return;
+                }
+                conflicts = 0;
+                Thread.sleep(batchInterval.toMillis());
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("일기 가져오기 {}을 다른 서버가 진행 중이어서 중단합니다.", importId);
+        } catch (InterruptedException e) {
+            // 서버 종료 중 (다음 시작 때 체크포인트부터 이어서 진행)
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("일기 가져오기 {} 분석 실패", importId, e);
+            diaryImportService.fail(importId, e.getMessage());
+        }
+    }
+
+    // 가져오기 작업 자체의 충돌인지 (아니면 사용자가 바꾼 분석과 충돌)
+    // JDBC 배치로 묶인 update는 충돌한 엔티티를 알려주지 않음 -> 그때는 체크포인트가 그대로인지로 판단
+    private boolean isImportConflict(ObjectOptimisticLockingFailureException e, Long importId, DiaryImportChunk chunk) {
+        String entity = e.getPersistentClassName();
+        if (entity != null) {
+            return entity.equals(DiaryImport.class.getName());
+        }
+        return !diaryImportService.isAnalyzingAt(importId, chunk.afterId());
+    }
+}
@@ -1,42 +1,56 @@
 package dodo.springboot.prismbackend.mood.service;
 
+import dodo.springboot.prismbackend.global.exception.ProviderUnavailableException;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
 import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.AnalysisField;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import dodo.springboot.prismbackend.mood.dto.GeminiResponse;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeminiService {
 
-    @Value("${spring.gemini.api-key}")
-    private String apiKey;
-    private final WebClient.Builder webClientBuilder;
+    // 프롬프트를 바꾸면 올려야 함 (분석 캐시 키에 포함됨)
+    public static final String PROMPT_VERSION = "v2";
 
-    public AiAnalysisResult analyzeMood(String diaryContent, String userCharacter) {
-        if (apiKey == null || apiKey.isEmpty()) {
-            log.error("GEMINI_API_KEY가 설정되지 않았습니다! .env 파일을 확인하세요.");
-            return new AiAnalysisResult("설정 오류", 0, List.of(), "API Key Missing");
-        } else {
-            log.info("Gemini API Key 로드됨: {}...", apiKey.substring(0, Math.min(apiKey.length(), 5)));
-        }
-        String url = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + apiKey;
-
-        // 이미지 묘사 표현 프롬프트
-        String prompt = """
-            You are a Visual Prompt Engineer for a "Daily Diary Illustration" app.
-            
-            **Input:** Diary: "%s" / Character: "%s"
-            
+    // 단건/배치 프롬프트 공통 규칙
+    private static final String STYLE_RULES = """
             **CHARACTER:** Convert to "handmade clay [character]"
             
             **STYLE:** Handmade clay figure, stop-motion animation style, slightly imperfect, visible fingerprint texture, wobbly handcrafted charm, warm muted pastel colors, simple soft background, single character only, Aardman animation style.
@@ -54,50 +68,559 @@ public class GeminiService {
             - Food examples: 붕어빵→"fish-shaped bread pastry", 마라탕→"bowl of spicy red soup with noodles", 떡볶이→"bowl of red sauce rice cakes", 빙수→"shaved ice in bowl"
             - Activity examples: 공부/시험→book/pencil, 야근/일→laptop/coffee, 운동→dumbbell, 게임→controller, TV/넷플→TV/remote, 카페→coffee cup, 감기→thermometer/tissue
             - If no clear match→extract main noun from diary and describe it
+            """;
+
+    private static final String IMAGE_PROMPT_TEMPLATE = "handmade clay figure, stop-motion style, single character only, one clay [CHARACTER], [expression], [pose], holding/next to [PROP - MUST INCLUDE, described in English], warm muted pastel colors, simple background, Aardman style. Negative prompt: realistic, photograph, anime, perfect, smooth, multiple characters, complex background";
+
+    private static final String EXAMPLE_RESULT = """
+            {"representative_mood":"만족","mood_score":75,"keywords":["붕어빵","간식","행복"],"image_prompt":"handmade clay figure, stop-motion style, single character only, one clay dog with happy curved eyes and big smile, holding small fish-shaped bread pastry, warm muted pastel colors, simple beige background, Aardman style. Negative prompt: realistic, photograph, anime, perfect, smooth, multiple characters, complex background"}""";
+
+    // 단건 분석 지시문 (요청마다 바뀌지 않는 부분, 컨텍스트 캐시에 등록)
+    private static final String MOOD_INSTRUCTION = """
+            You are a Visual Prompt Engineer for a "Daily Diary Illustration" app.
             
+            **Input:** Diary: "<diary>" / Character: "<character>"
+            
+            %s
             **OUTPUT (JSON only):**
             {
               "representative_mood": "Korean word",
               "mood_score": 0-100,
               "keywords": ["context", "emotion", "action"],
-              "image_prompt": "handmade clay figure, stop-motion style, single character only, one clay [CHARACTER], [expression], [pose], holding/next to [PROP - MUST INCLUDE, described in English], warm muted pastel colors, simple background, Aardman style. Negative prompt: realistic, photograph, anime, perfect, smooth, multiple characters, complex background"
+              "image_prompt": "%s"
             }
             
             **EXAMPLE:**
             Diary: "붕어빵 먹음" / Character: "dog"
-            {"representative_mood":"만족","mood_score":75,"keywords":["붕어빵","간식","행복"],"image_prompt":"handmade clay figure, stop-motion style, single character only, one clay dog with happy curved eyes and big smile, holding small fish-shaped bread pastry, warm muted pastel colors, simple beige background, Aardman style. Negative prompt: realistic, photograph, anime, perfect, smooth, multiple characters, complex background"}
-            """.formatted(diaryContent, userCharacter);
+            %s
+            """.formatted(STYLE_RULES, IMAGE_PROMPT_TEMPLATE, EXAMPLE_RESULT);
+
+    // 배치 분석 지시문
+    private static final String BATCH_INSTRUCTION = """
+            You are a Visual Prompt Engineer for a "Daily Diary Illustration" app.
+            
+            **Input:** JSON array of diaries. Analyze EACH item independently, using its own "character".
+            
+            %s
+            **OUTPUT (JSON array only):**
+            Exactly one object per input item, in the same order, with the same "id".
+            [
+              {
+                "id": <input id>,
+                "representative_mood": "Korean word",
+                "mood_score": 0-100,
+                "keywords": ["context", "emotion", "action"],
+                "image_prompt": "%s"
+              }
+            ]
+            
+            **EXAMPLE:**
+            Input: [{"id":1,"diary":"붕어빵 먹음","character":"dog"}]
+            [%s]
+            """.formatted(STYLE_RULES, IMAGE_PROMPT_TEMPLATE, EXAMPLE_RESULT.replaceFirst("\\{", "{\"id\":1,"));
+
+    // 응답 형식 고정 (generationConfig.responseSchema, 코드블록/설명 없이 JSON만 생성)
+    // propertyOrdering: 스트리밍 시 대표 감정/점수/키워드가 이미지 프롬프트보다 먼저 생성되도록
+    private static final List<String> RESULT_FIELDS = List.of("representative_mood", "mood_score", "keywords", "image_prompt");
+
+    private static final Map<String, Object> RESULT_PROPERTIES = Map.of(
+            "representative_mood", Map.of("type", "STRING"),
+            "mood_score", Map.of("type", "INTEGER"),
+            "keywords", Map.of("type", "ARRAY", "items", Map.of("type", "STRING")),
+            "image_prompt", Map.of("type", "STRING"));
+
+    private static final Map<String, Object> RESULT_SCHEMA = Map.of(
+            "type", "OBJECT",
+            "properties", RESULT_PROPERTIES,
+            "required", RESULT_FIELDS,
+            "propertyOrdering", RESULT_FIELDS);
+
+    private static final Map<String, Object> BATCH_SCHEMA = batchSchema();
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT = new ParameterizedTypeReference<>() {
+    };
+
+    // 컨텍스트 캐시 등록 요청 제한 시간 / 등록 실패 시 다시 시도하기까지 (그동안은 지시문을 요청마다 직접 보냄)
+    private static final Duration CONTEXT_CACHE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CONTEXT_CACHE_RETRY_DELAY = Duration.ofMinutes(5);
+    // post()가 리턴하는 "요청에 넣은 컨텍스트 캐시가 없음" 표시 (같은 객체인지로만 비교)
+    private static final byte[] CACHE_MISSING = new byte[0];
+
+    @Value("${spring.gemini.api-key}")
+    private String apiKey;
+    // 테스트/부하 측정에서는 가짜 서버 주소로 바꿈
+    @Value("${spring.gemini.base-url:https://generativelanguage.googleapis.com/v1beta}")
+    private String baseUrl;
+    @Value("${spring.gemini.model:gemini-2.5-flash}")
+    private String model;
+    // 고정 지시문을 Gemini 컨텍스트 캐시에 한 번 등록해 두고 요청에는 캐시 이름 + 일기만 보냄
+    @Value("${spring.gemini.context-cache.enabled:true}")
+    private boolean contextCacheEnabled;
+    @Value("${spring.gemini.context-cache.ttl:1h}")
+    private Duration contextCacheTtl;
+    private final WebClient geminiWebClient;
+    private final ProviderGuard geminiGuard;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // (지시문 종류, 프롬프트 버전, 모델) -> 등록된 컨텍스트 캐시
+    private final Map<String, CachedInstruction> cachedInstructions = new ConcurrentHashMap<>();
+    // 여러 스레드가 동시에 만료를 봐도 한 번만 등록 (등록 중 외부 호출을 기다리므로 synchronized 대신 Lock, 가상 스레드 고정 방지)
+    // 등록하는 스레드만 잡고, 나머지는 기다리지 않음 (tryLock)
+    private final Lock contextCacheLock = new ReentrantLock();
+
+    // 실패 시 기본값 대신 예외 (기본값이 분석 결과로 저장/캐시되지 않도록, 작업이면 재시도 또는 FAILED)
+    public AiAnalysisResult analyzeMood(String diaryContent, String userCharacter) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            log.error("GEMINI_API_KEY가 설정되지 않았습니다! .env 파일을 확인하세요.");
+            throw new IllegalStateException("GEMINI_API_KEY가 설정되지 않았습니다.");
+        }
+
+        byte[] response = generateContent("single", "mood", MOOD_INSTRUCTION,
+                moodPrompt(diaryContent, userCharacter), RESULT_SCHEMA);
+        return parseGeminiResponse(response);
+    }
+
+    // 단건 분석을 streamGenerateContent(SSE)로 받으면서 결과 JSON을 조각 단위로 파싱
+    // 대표 감정/점수/키워드는 완성되는 즉시 onField로 넘김 (호출한 스레드에서 실행)
+    // 실패 시 analyzeMood와 같이 예외 (호출한 쪽이 작업 재시도로 넘김)
+    public AiAnalysisResult analyzeMoodStream(String diaryContent, String userCharacter, Consumer<AnalysisField> onField) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new IllegalStateException("GEMINI_API_KEY가 설정되지 않았습니다.");
+        }
+
+        String userText = moodPrompt(diaryContent, userCharacter);
+        AnalysisStreamParser parser = new AnalysisStreamParser(onField);
+
+        String cachedContent = cachedInstruction("mood", MOOD_INSTRUCTION);
+        if (!streamContent(cachedContent, requestBody(cachedContent, MOOD_INSTRUCTION, userText, RESULT_SCHEMA), parser)) {
+            // 응답 본문을 받기 전에 실패하므로 파서는 그대로 다시 씀
+            invalidate("mood", cachedContent);
+            streamContent(null, requestBody(null, MOOD_INSTRUCTION, userText, RESULT_SCHEMA), parser);
+        }
+
+        AiAnalysisResult result;
+        try {
+            result = parser.result();
+        } catch (IllegalStateException e) {
+            countParse("stream", false);
+            throw e;
+        }
+        countParse("stream", isValid(result));
+        if (!isValid(result)) {
+            throw new IllegalStateException("Gemini 스트리밍 응답 형식이 올바르지 않습니다.");
+        }
+        return result;
+    }
+
+    // 단건 분석 요청마다 보내는 부분 (지시문은 MOOD_INSTRUCTION)
+    private String moodPrompt(String diaryContent, String userCharacter) {
+        return "Diary: \"%s\" / Character: \"%s\"".formatted(diaryContent, userCharacter);
+    }
+
+    // 여러 일기를 한 번의 요청으로 분석 (재분석/백필용)
+    // 응답 배열에서 형식이 잘못됐거나 빠진 항목만 단건 호출로 다시 분석
+    // 리턴: 일기 id -> 분석 결과 (입력 순서 유지, 단건 재시도까지 실패한 일기는 빠짐)
+    public Map<Long, AiAnalysisResult> analyzeMoodBatch(List<BatchAnalysisItem> items) {
+        Map<Long, AiAnalysisResult> parsed = new HashMap<>();
+        if (items.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        if (apiKey == null || apiKey.isEmpty()) {
+            log.error("GEMINI_API_KEY가 설정되지 않았습니다! .env 파일을 확인하세요.");
+            throw new IllegalStateException("GEMINI_API_KEY가 설정되지 않았습니다.");
+        }
+        try {
+            byte[] response = generateContent("batch", "batch", BATCH_INSTRUCTION, batchPrompt(items), BATCH_SCHEMA);
+            parsed = parseBatchResponse(response);
+        } catch (ProviderUnavailableException e) {
+            // 막혔을 때 단건으로 쪼개서 다시 보내지 않음
+            throw e;
+        } catch (Exception e) {
+            log.error("Gemini 배치 분석 실패 ({}건), 단건으로 재시도합니다.", items.size(), e);
+        }
+
+        Map<Long, AiAnalysisResult> results = new LinkedHashMap<>();
+        int fallback = 0;
+        for (BatchAnalysisItem item : items) {
+            AiAnalysisResult result = parsed.get(item.id());
+            if (result == null) {
+                fallback++;
+                try {
+                    result = analyzeMood(item.content(), item.character());
+                } catch (ProviderUnavailableException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // 결과에서 빼고 다음 일기로 (호출한 쪽에서 실패 건수로 집계, 기존 분석 유지)
+                    log.warn("Gemini 단건 재분석 실패 (일기 {}): {}", item.id(), e.getMessage());
+                    continue;
+                }
+            }
+            results.put(item.id(), result);
+        }
+        if (fallback > 0) {
+            log.warn("Gemini 배치 분석 중 {}/{}건을 단건으로 재분석했습니다.", fallback, items.size());
+            // 단건 재요청만큼 비용이 더 듦
+            meterRegistry.counter("prism.gemini.retry", "reason", "batch_item").increment(fallback);
+        }
+        return results;
+    }
+
+    // 배치 분석 요청마다 보내는 부분: 일기 JSON 배열 (지시문은 BATCH_INSTRUCTION)
+    private String batchPrompt(List<BatchAnalysisItem> items) throws Exception {
+        List<Map<String, Object>> input = new ArrayList<>();
+        for (BatchAnalysisItem item : items) {
+            input.add(Map.of("id", item.id(), "diary", item.content(), "character", item.character()));
+        }
+        return objectMapper.writeValueAsString(input);
+    }
+
+    // generateContent 호출 후 응답 본문 리턴 (동시 처리 한도/서킷 브레이커 적용)
+    // 파싱은 보호 장치 밖에서 (형식이 어긋난 응답을 제공자 장애로 집계하지 않도록)
+    // 컨텍스트 캐시가 서버에서 먼저 사라졌으면 (404/403) 지시문을 직접 넣어서 한 번 더
+    private byte[] generateContent(String call, String kind, String instruction, String userText, Map<String, Object> schema) {
+        String cachedContent = cachedInstruction(kind, instruction);
+        byte[] response = post(call, cachedContent, requestBody(cachedContent, instruction, userText, schema));
+        if (response != CACHE_MISSING) {
+            return response;
+        }
+        invalidate(kind, cachedContent);
+        return post(call, null, requestBody(null, instruction, userText, schema));
+    }
+
+    // 요청에 넣은 컨텍스트 캐시가 없으면 CACHE_MISSING
+    private byte[] post(String call, String cachedContent, Map<String, Object> body) {
+        long startedAt = System.nanoTime();
+        byte[] response = geminiGuard.call(() -> {
+            try {
+                return geminiWebClient.post()
+                        .uri(baseUrl + "/models/" + model + ":generateContent")
+                        .header("x-goog-api-key", apiKey) // 키를 URL에 넣지 않음 (로그/메트릭 노출 방지)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .retrieve()
+                        .bodyToMono(byte[].class)
+                        .block();
+            } catch (WebClientResponseException e) {
+                if (!isCacheMissing(cachedContent, e)) {
+                    throw e;
+                }
+                return CACHE_MISSING;
+            }
+        });
+        if (response != CACHE_MISSING) {
+            recordLatency(call, cachedContent, startedAt);
+        }
+        return response;
+    }
+
+    // streamGenerateContent 호출, 받는 대로 파서에 넘김 (스트림이 끝날 때까지 동시 처리 한도 1칸을 차지함)
+    // 요청에 넣은 컨텍스트 캐시가 없으면 false
+    private boolean streamContent(String cachedContent, Map<String, Object> body, AnalysisStreamParser parser) {
+        long startedAt = System.nanoTime();
+        AtomicBoolean cacheMissing = new AtomicBoolean();
+        GeminiResponse.UsageMetadata usage = geminiGuard.call(() -> {
+            Flux<ServerSentEvent<String>> events = geminiWebClient.post()
+                    .uri(baseUrl + "/models/" + model + ":streamGenerateContent?alt=sse")
+                    .header("x-goog-api-key", apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToFlux(SSE_EVENT);
+            // 토큰 사용량은 마지막 이벤트 기준 (누적값)
+            GeminiResponse.UsageMetadata last = null;
+            try {
+                for (ServerSentEvent<String> event : events.toIterable()) {
+                    GeminiResponse chunk = feedChunk(parser, event.data());
+                    if (chunk != null && chunk.usageMetadata() != null) {
+                        last = chunk.usageMetadata();
+                    }
+                }
+            } catch (WebClientResponseException e) {
+                if (!isCacheMissing(cachedContent, e)) {
+                    throw e;
+                }
+                cacheMissing.set(true);
+            }
+            return last;
+        });
+        if (cacheMissing.get()) {
+            return false;
+        }
+        recordLatency("stream", cachedContent, startedAt);
+        recordUsage("stream", usage);
+        return true;
+    }
+
+    // 컨텍스트 캐시 이름이 서버에서 먼저 사라진 경우 (만료/삭제 -> 404/403)
+    // 제공자 장애도 잘못된 요청도 아닌 캐시 미스라서 보호 장치 안에서 정상 응답으로 처리 (한도/서킷에 집계하지 않음)
+    private static boolean isCacheMissing(String cachedContent, WebClientResponseException e) {
+        return cachedContent != null
+                && (e instanceof WebClientResponseException.NotFound || e instanceof WebClientResponseException.Forbidden);
+    }
+
+    // 요청 본문: 지시문(캐시 이름 또는 직접) + 이번 일기 + JSON 응답 형식
+    private Map<String, Object> requestBody(String cachedContent, String instruction, String userText, Map<String, Object> schema) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (cachedContent != null) {
+            body.put("cachedContent", cachedContent);
+        } else {
+            body.put("systemInstruction", Map.of("parts", List.of(Map.of("text", instruction))));
+        }
+        body.put("contents", List.of(Map.of("role", "user", "parts", List.of(Map.of("text", userText)))));
+        body.put("generationConfig", Map.of(
+                "responseMimeType", MediaType.APPLICATION_JSON_VALUE,
+                "responseSchema", schema));
+        return body;
+    }
 
+    // 지시문을 등록한 컨텍스트 캐시 이름 (꺼져 있거나 등록 실패 시 null -> 요청에 지시문을 직접 넣음)
+    // TTL의 90%가 지나면 새로 등록, 프롬프트 버전/모델이 바뀌면 키가 달라져서 새로 등록
+    // 등록은 잠금을 잡은 한 스레드만, 나머지는 기다리지 않고 아직 만료 전인 이전 이름을 씀 (없으면 지시문 직접)
+    private String cachedInstruction(String kind, String instruction) {
+        if (!contextCacheEnabled) {
+            return null;
+        }
+        String key = kind + ":" + PROMPT_VERSION + ":" + model;
+        CachedInstruction cached = cachedInstructions.get(key);
+        Instant now = Instant.now();
+        if (cached != null && now.isBefore(cached.refreshAt())) {
+            return cached.name();
+        }
+        CachedInstruction previous = (cached != null && now.isBefore(cached.expiresAt())) ? cached : null;
+        if (!contextCacheLock.tryLock()) {
+            return previous != null ? previous.name() : null;
+        }
         try {
-            String response = webClientBuilder.build().post()
-                    .uri(url)
+            cached = cachedInstructions.get(key);
+            if (cached == null || !Instant.now().isBefore(cached.refreshAt())) {
+                cached = createCachedInstruction(kind, instruction);
+                if (cached.name() == null && previous != null) {
+                    // 새로 등록하지 못했으면 이전 캐시가 만료될 때까지는 그대로 씀
+                    cached = new CachedInstruction(previous.name(), min(cached.refreshAt(), previous.expiresAt()), previous.expiresAt());
+                }
+                cachedInstructions.put(key, cached);
+            }
+            return cached.name();
+        } finally {
+            contextCacheLock.unlock();
+        }
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // POST /cachedContents (실패해도 분석은 계속, 지시문을 요청마다 직접 보냄)
+    private CachedInstruction createCachedInstruction(String kind, String instruction) {
+        Instant now = Instant.now();
+        try {
+            byte[] response = geminiWebClient.post()
+                    .uri(baseUrl + "/cachedContents")
+                    .header("x-goog-api-key", apiKey)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(Map.of("contents", List.of(Map.of("parts", List.of(Map.of("text", prompt))))))
+                    .bodyValue(Map.of(
+                            "model", "models/" + model,
+                            "displayName", "prism-" + kind + "-" + PROMPT_VERSION,
+                            "systemInstruction", Map.of("parts", List.of(Map.of("text", instruction))),
+                            "ttl", contextCacheTtl.toSeconds() + "s"))
                     .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+                    .bodyToMono(byte[].class)
+                    .block(CONTEXT_CACHE_TIMEOUT);
+            String name = objectMapper.readValue(response, CachedContentResponse.class).name();
+            if (name == null || name.isBlank()) {
+                throw new IllegalStateException("컨텍스트 캐시 이름이 없습니다.");
+            }
+            log.info("Gemini 컨텍스트 캐시 등록 ({}, {}): {}", kind, PROMPT_VERSION, name);
+            meterRegistry.counter("prism.gemini.context_cache", "kind", kind, "result", "created").increment();
+            return new CachedInstruction(name, now.plus(contextCacheTtl.minus(contextCacheTtl.dividedBy(10))), now.plus(contextCacheTtl));
+        } catch (Exception e) {
+            log.warn("Gemini 컨텍스트 캐시 등록 실패 ({}), {} 동안 지시문을 요청마다 보냅니다: {}",
+                    kind, CONTEXT_CACHE_RETRY_DELAY, e.getMessage());
+            meterRegistry.counter("prism.gemini.context_cache", "kind", kind, "result", "failed").increment();
+            Instant retryAt = now.plus(CONTEXT_CACHE_RETRY_DELAY);
+            return new CachedInstruction(null, retryAt, retryAt);
+        }
+    }
 
-            log.info("Gemini response: {}", response);
-            return parseGeminiResponse(response);
+    // 서버에서 먼저 지워진 캐시 (다음 요청에서 새로 등록)
+    private void invalidate(String kind, String name) {
+        log.warn("Gemini 컨텍스트 캐시를 찾을 수 없습니다 ({}): {}", kind, name);
+        meterRegistry.counter("prism.gemini.context_cache", "kind", kind, "result", "missing").increment();
+        cachedInstructions.values().removeIf(cached -> name.equals(cached.name()));
+    }
+
+    // 응답 본문 -> 생성된 텍스트 -> 분석 결과 (트리 없이 바로 레코드로)
+    // 형식이 어긋나면 예외 (스트리밍과 같이 호출한 쪽이 재시도)
+    private AiAnalysisResult parseGeminiResponse(byte[] rawResponse) {
+        AiAnalysisResult result;
+        try {
+            GeminiResponse response = objectMapper.readValue(rawResponse, GeminiResponse.class);
+            recordUsage("single", response.usageMetadata());
+            String text = response.text();
+            log.debug("Gemini response: {}", text);
+            result = objectMapper.readValue(text, AiAnalysisResult.class);
         } catch (Exception e) {
-            log.error("Gemini Error", e);
-            // 에러 시 기본값 리턴 (중단 방지)
-            return new AiAnalysisResult("분석 불가", 0, List.of(), "A peaceful landscape painting");
+            countParse("single", false);
+            log.warn("Gemini 응답 파싱 실패: {}", e.getMessage());
+            throw new IllegalStateException("Gemini 응답을 파싱할 수 없습니다.", e);
         }
+        countParse("single", isValid(result));
+        if (!isValid(result)) {
+            throw new IllegalStateException("Gemini 응답 형식이 올바르지 않습니다.");
+        }
+        return result;
     }
 
-    private AiAnalysisResult parseGeminiResponse(String rawResponse) {
+    // 배치 응답에서 검증을 통과한 항목만 리턴 (나머지는 호출한 쪽에서 단건 재시도)
+    // 배열을 한 번에 바인딩하지 않고 항목 하나씩 읽음: 한 항목이 잘못돼도(null, 타입 불일치) 그 항목만 빠짐
+    // 응답이 중간에 잘렸으면 그 앞까지 읽은 항목은 그대로 씀
+    private Map<Long, AiAnalysisResult> parseBatchResponse(byte[] rawResponse) throws Exception {
+        String text;
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(rawResponse);
-            String jsonText = root.path("candidates").get(0).path("content").path("parts").get(0).path("text").asText();
+            GeminiResponse response = objectMapper.readValue(rawResponse, GeminiResponse.class);
+            recordUsage("batch", response.usageMetadata());
+            text = response.text();
+            if (text == null) {
+                throw new IllegalStateException("Gemini 배치 응답에 결과가 없습니다.");
+            }
+        } catch (Exception e) {
+            countParse("batch", false);
+            throw e;
+        }
 
-            if (jsonText.startsWith("```json")) jsonText = jsonText.substring(7);
-            if (jsonText.endsWith("```")) jsonText = jsonText.substring(0, jsonText.length() - 3);
+        Map<Long, AiAnalysisResult> results = new HashMap<>();
+        int total = 0;
+        boolean complete = true;
+        try (JsonParser parser = objectMapper.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                countParse("batch", false);
+                throw new IllegalStateException("Gemini 배치 응답이 배열이 아닙니다.");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                // 항목 하나를 트리로 읽고(문법 오류면 여기서 멈춤) 바인딩은 항목별로
+                JsonNode node = parser.readValueAsTree();
+                total++;
+                try {
+                    BatchResultItem item = objectMapper.treeToValue(node, BatchResultItem.class);
+                    if (item == null || item.id() == null) {
+                        continue;
+                    }
+                    AiAnalysisResult result = item.toResult();
+                    if (isValid(result)) {
+                        results.putIfAbsent(item.id(), result);
+                    }
+                } catch (JsonProcessingException e) {
+                    log.debug("Gemini 배치 응답 항목 바인딩 실패: {}", e.getMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // 잘렸거나 문법이 어긋난 응답 (응답 토큰 한도 초과 등)
+            complete = false;
+            log.warn("Gemini 배치 응답이 {}번째 항목 뒤에서 끊겼습니다: {}", total, e.getOriginalMessage());
+        }
+        countParse("batch", complete && results.size() == total);
+        return results;
+    }
 
-            return mapper.readValue(jsonText, AiAnalysisResult.class);
+    // 스트리밍 응답 이벤트 하나에서 이번에 생성된 텍스트 조각을 꺼내서 파서에 넘김 (이벤트 리턴, 형식이 어긋나면 null)
+    // 형식이 어긋나도 여기서 던지지 않음 (파서에 기록 -> 스트림이 끝난 뒤 result()에서)
+    private GeminiResponse feedChunk(AnalysisStreamParser parser, String data) {
+        if (data == null || data.isBlank()) {
+            return null;
+        }
+        try {
+            GeminiResponse chunk = objectMapper.readValue(data, GeminiResponse.class);
+            parser.feed(chunk.text());
+            return chunk;
         } catch (Exception e) {
-            return new AiAnalysisResult("파싱 에러", 0, List.of(), "A abstract painting of emotions");
+            parser.fail(e);
+            return null;
         }
     }
-}
\ No newline at end of file
+
+    // 파싱 결과 집계 (ok가 아닌 건은 작업 재시도 또는 단건 재요청 -> 그만큼 비용이 더 듦)
+    private void countParse(String call, boolean ok) {
+        meterRegistry.counter("prism.gemini.parse", "call", call, "result", ok ? "ok" : "failed").increment();
+    }
+
+    // 호출 1건의 응답 시간 (컨텍스트 캐시 사용 여부별)
+    private void recordLatency(String call, String cachedContent, long startedAt) {
+        Timer.builder("prism.gemini.request")
+                .description("Gemini 호출 1건 응답 시간")
+                .tag("call", call)
+                .tag("context_cache", cachedContent != null ? "used" : "unused")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // 호출 1건의 토큰 사용량 (prompt: 입력 전체, cached: 그중 컨텍스트 캐시에서 읽은 만큼, output: 생성)
+    private void recordUsage(String call, GeminiResponse.UsageMetadata usage) {
+        if (usage == null) {
+            return;
+        }
+        recordTokens(call, "prompt", usage.promptTokenCount());
+        recordTokens(call, "cached", usage.cachedContentTokenCount());
+        recordTokens(call, "output", usage.candidatesTokenCount());
+    }
+
+    private void recordTokens(String call, String type, Integer count) {
+        DistributionSummary.builder("prism.gemini.tokens")
+                .description("Gemini 호출 1건 토큰 수")
+                .baseUnit("tokens")
+                .tag("call", call)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(count != null ? count : 0);
+    }
+
+    // 배치 응답 형식: 분석 결과 + 입력 id
+    private static Map<String, Object> batchSchema() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", Map.of("type", "INTEGER"));
+        properties.putAll(RESULT_PROPERTIES);
+        List<String> fields = new ArrayList<>();
+        fields.add("id");
+        fields.addAll(RESULT_FIELDS);
+        return Map.of(
+                "type", "ARRAY",
+                "items", Map.of(
+                        "type", "OBJECT",
+                        "properties", properties,
+                        "required", fields,
+                        "propertyOrdering", fields));
+    }
+
+    // 컨텍스트 캐시 (name이 null이면 등록 실패 -> refreshAt까지 지시문을 직접 보냄)
+    // refreshAt: 새로 등록을 시작하는 시각 (TTL의 90%), expiresAt: 서버에서 만료되는 시각 (그 전까지는 등록 중에도 씀)
+    private record CachedInstruction(String name, Instant refreshAt, Instant expiresAt) {
+    }
+
+    // POST /cachedContents 응답 중 캐시 이름만
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record CachedContentResponse(String name) {
+    }
+
+    // 배치 응답 항목 하나
+    private record BatchResultItem(
+            Long id,
+            @JsonProperty("representative_mood") String representativeMood,
+            @JsonProperty("mood_score") Integer moodScore,
+            List<String> keywords,
+            @JsonProperty("image_prompt") String imagePrompt
+    ) {
+        AiAnalysisResult toResult() {
+            return new AiAnalysisResult(representativeMood, moodScore, keywords, imagePrompt);
+        }
+    }
+
+    private boolean isValid(AiAnalysisResult result) {
+        return result != null
+                && result.representativeMood() != null && !result.representativeMood().isBlank()
+                && result.moodScore() != null && result.moodScore() >= 0 && result.moodScore() <= 100
+                && result.keywords() != null && !result.keywords().isEmpty()
+                && result.imagePrompt() != null && !result.imagePrompt().isBlank();
+    }
+}
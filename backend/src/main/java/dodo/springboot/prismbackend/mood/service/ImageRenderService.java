@@ -0,0 +1,192 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.dto.ImageRenditions;
+import dodo.springboot.prismbackend.global.util.ImageUtil;
+import dodo.springboot.prismbackend.mood.dto.RenderedImages;
+import dodo.springboot.prismbackend.mood.dto.RenderTask;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 이미지 생성 파이프라인 (Cloudflare 생성 -> 리사이징 -> Supabase 업로드)
+// 원본은 워커 스레드에서 다 받은 뒤 디코딩 (CPU 스레드가 네트워크를 기다리지 않도록, 최대 spring.image.max-original-size까지만 받음)
+// 결과 JPEG는 CPU 풀에서 byte[]로 인코딩한 뒤 워커 스레드에서 업로드 (업로드가 느려도 CPU 스레드를 잡고 있지 않음)
+// 워커 스레드에서 실행되며 DB에는 접근하지 않음
+// 디코딩/리사이징/인코딩(CPU 작업)은 imageCpuExecutor에서만 실행 (동시 실행 수 = 코어 수 기준)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageRenderService {
+
+    // 스레드별 힙 할당량 측정용 (HotSpot 확장 API)
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final CloudflareService cloudflareService;
+    private final StorageService storageService;
+    private final ImageUtil imageUtil;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor imageCpuExecutor;
+
+    // 받을 원본(PNG) 최대 크기 (디코딩 픽셀 수 상한 2048 x 2048을 넉넉히 덮는 값)
+    // 이보다 크면 끝까지 받지 않고 실패 처리 (렌더 1건당 힙 사용량 상한)
+    @Value("${spring.image.max-original-size:16MB}")
+    private DataSize maxOriginalSize;
+
+    // 이미지 생성 후 업로드된 공개 URL 리턴 (실패 시 예외 -> 워커가 재시도)
+    public RenderedImages render(RenderTask task) {
+        long startedAt = System.nanoTime();
+
+        // Cloudflare 이미지 생성 (응답 헤더까지)
+        InputStream imageStream = timed("generate", () -> cloudflareService.generateImage(task.imagePrompt()));
+        if (imageStream == null) {
+            throw new IllegalStateException("이미지 생성 실패");
+        }
+
+        // 응답 본문은 워커 스레드에서 끝까지 받음 (CPU 풀에서는 메모리에 있는 원본만 읽음)
+        // 상한보다 1바이트만 더 읽어보고 넘으면 거절 (남은 본문은 close로 버림)
+        byte[] original = timed("download", () -> {
+            int limit = Math.toIntExact(maxOriginalSize.toBytes());
+            try (InputStream in = imageStream) {
+                byte[] bytes = in.readNBytes(limit + 1);
+                if (bytes.length > limit) {
+                    meterRegistry.counter("prism.image.original.too-large").increment();
+                    throw new IllegalStateException("생성된 이미지가 너무 큽니다. (" + maxOriginalSize + " 초과)");
+                }
+                return bytes;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // 한 번만 디코딩하고 썸네일(500px) + 상세 이미지 생성
+        ImageRenditions renditions = timed("resize", () -> onCpu(() -> measured("decode",
+                () -> imageUtil.resizeImage(new ByteArrayInputStream(original)))));
+        if (renditions == null) {
+            throw new IllegalStateException("이미지 리사이징 실패");
+        }
+
+        // JPEG 인코딩 결과를 바로 Supabase storage로 업로드
+        // 상세 이미지 업로드가 실패하면 먼저 올린 썸네일은 지움 (재시도 때 새 파일명으로 다시 올림)
+        String imageUrl = upload(renditions.thumbnail(), "user_" + task.userId() + ".jpg");
+        String detailImageUrl;
+        try {
+            detailImageUrl = upload(renditions.detail(), "user_" + task.userId() + "_detail.jpg");
+        } catch (RuntimeException e) {
+            storageService.deleteStorageImage(imageUrl);
+            throw e;
+        }
+
+        log.info("이미지 생성 완료 (logId: {}, {}ms)", task.logId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return new RenderedImages(imageUrl, detailImageUrl);
+    }
+
+    // 저장하지 못한 이미지 삭제 (생성 도중 재분석, 결과 저장 실패)
+    public void discard(RenderedImages images) {
+        storageService.deleteStorageImage(images.imageUrl());
+        storageService.deleteStorageImage(images.detailImageUrl());
+    }
+
+    // CPU 풀에서 JPEG로 인코딩하고, 업로드는 워커 스레드에서
+    // 인코딩 결과는 리사이징된 이미지 크기에 묶임 (너비 detail-width 이하, 픽셀 수는 디코딩 상한 이하, 보통 수백 KB)
+    // CPU 풀 대기열이 꽉 차서 인코딩을 못 넣으면 TaskRejectedException (워커가 작업을 잠시 미룸)
+    private String upload(BufferedImage image, String filename) {
+        byte[] jpeg = timed("encode", () -> onCpu(() -> measured("encode", () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(initialJpegSize(image));
+            imageUtil.writeJpeg(image, out);
+            return out.toByteArray();
+        })));
+        String url = timed("upload", () -> storageService.uploadImage(jpeg, filename));
+        if (url == null) {
+            throw new IllegalStateException("이미지 업로드 실패");
+        }
+        return url;
+    }
+
+    // 인코딩 버퍼 초기 크기 (품질 0.75 기준 픽셀당 약 0.25바이트, 중간에 몇 번 안 늘어나게)
+    private static int initialJpegSize(BufferedImage image) {
+        return Math.max(8 * 1024, image.getWidth() * image.getHeight() / 4);
+    }
+
+    // CPU 작업 전용 풀에서 실행하고 끝날 때까지 기다림
+    // 대기열이 꽉 차 있으면 TaskRejectedException (워커가 작업을 잠시 미룸)
+    private <T> T onCpu(Supplier<T> supplier) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = imageCpuExecutor.submit(() -> {
+                cpuTimer("wait").record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return cpuTimer("run").record(supplier);
+            });
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("prism.image.cpu.rejected").increment();
+            throw e;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이미지 처리 중단", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("이미지 처리 실패", e.getCause());
+        }
+    }
+
+    // CPU 풀 대기/처리 시간
+    private Timer cpuTimer(String phase) {
+        return Timer.builder("prism.image.cpu")
+                .description("이미지 CPU 작업 대기/처리 시간")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    // 단계별 소요 시간 기록
+    private <T> T timed(String stage, Supplier<T> supplier) {
+        return Timer.builder("prism.render.stage")
+                .description("이미지 생성 단계별 소요 시간")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    // 단계별 힙 할당량 기록 (현재 스레드 기준)
+    private <T> T measured(String stage, Supplier<T> supplier) {
+        long before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        try {
+            return supplier.get();
+        } finally {
+            DistributionSummary.builder("prism.render.allocated")
+                    .description("이미지 생성 단계별 힙 할당량")
+                    .baseUnit("bytes")
+                    .tag("stage", stage)
+                    .register(meterRegistry)
+                    .record(THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before);
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package dodo.springboot.prismbackend.mood.service;
 
 import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
-import dodo.springboot.prismbackend.mood.dto.MoodLogAnalysisResponseDto;
+import dodo.springboot.prismbackend.mood.dto.AnalysisTask;
+import dodo.springboot.prismbackend.mood.dto.AnalysisStatusResponseDto;
 import dodo.springboot.prismbackend.mood.dto.MoodLogRequestDto;
+import dodo.springboot.prismbackend.mood.dto.RenderTask;
+import dodo.springboot.prismbackend.mood.dto.RenderedImages;
+import dodo.springboot.prismbackend.mood.dto.StreamingAnalysisTask;
+import dodo.springboot.prismbackend.mood.entity.AiJob;
+import dodo.springboot.prismbackend.mood.entity.AiJobStatus;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
 import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
 import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.entity.RenderStatus;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
 import dodo.springboot.prismbackend.mood.repository.CalendarRepository;
 import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
 import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
@@ -13,7 +22,12 @@ import dodo.springboot.prismbackend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -24,79 +38,218 @@ public class MoodLogService {
     private final MoodAnalysisRepository moodAnalysisRepository;
     private final UserRepository userRepository;
     private final CalendarRepository calendarRepository;
-    
-    private final GeminiService geminiService;
-    private final CloudflareService cloudflareService;
-    private final StorageService storageService;
+    private final AiJobRepository aiJobRepository;
+
+    private final AiJobService aiJobService;
+    private final AnalysisCacheService analysisCacheService;
+    private final CalendarCacheService calendarCacheService;
+    private final MoodStatsService moodStatsService;
+    private final TransactionTemplate transactionTemplate;
 
-    // 일기 저장 및 AI 분석 (이미지 생성 X)
+    // 일기 저장 및 AI 분석 작업 등록 (이미지 생성 X)
+    // Gemini 호출은 워커가 처리하므로 요청 스레드는 바로 반환됨
     @Transactional
-    public MoodLogAnalysisResponseDto analyzeDiary(Long userId, MoodLogRequestDto requestDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+    public AnalysisStatusResponseDto analyzeDiary(Long userId, MoodLogRequestDto requestDto) {
+        MoodLog moodLog = saveDiary(userId, requestDto);
 
-        // 일기(MoodLog) 우선 저장
-        MoodLog moodLog = moodLogRepository.save(MoodLog.builder()
-                .user(user)
-                .logDate(requestDto.date())
-                .content(requestDto.content())
-                .build());
+        // Gemini 분석 작업 등록
+        AiJob job = aiJobService.enqueue(moodLog, AiJobType.ANALYSIS);
+        calendarCacheService.evict(moodLog);
 
-        // Gemini 분석 및 결과 저장
-        processAiAnalysis(user, moodLog);
+        return new AnalysisStatusResponseDto(moodLog.getId(), job.getStatus(), null, null);
+    }
 
-        MoodAnalysis analysis = moodLog.getMoodAnalysis();
+    // 일기 저장 및 스트리밍 분석 작업 등록 (POST /api/logs/stream)
+    // Gemini 호출은 호출한 쪽(AnalysisStreamService)이 바로 하므로 작업은 RUNNING으로 등록 (워커가 가져가지 않음)
+    // 그 사이 서버가 죽으면 멈춘 작업 회수로 다시 대기열에 들어가서 워커가 이어서 처리
+    @Transactional
+    public StreamingAnalysisTask startStreamingAnalysis(Long userId, MoodLogRequestDto requestDto) {
+        MoodLog moodLog = saveDiary(userId, requestDto);
+
+        AiJob job = aiJobService.enqueue(moodLog, AiJobType.ANALYSIS);
+        job.start();
+        calendarCacheService.evict(moodLog);
+
+        AnalysisTask task = toAnalysisTask(moodLog);
+        return new StreamingAnalysisTask(job.getId(), moodLog.getId(), task.content(), task.character());
+    }
 
-        // 키워드 리턴
-        return new MoodLogAnalysisResponseDto(
+    // 분석 결과 저장 후 작업 완료 (워커/스트리밍 공통)
+    // 분석하는 동안 다른 쪽(재분석)이 먼저 저장했으면 그 결과를 둠
+    @Transactional
+    public AnalysisStatusResponseDto completeAnalysis(Long jobId, AiAnalysisResult aiResult) {
+        AiJob job = findJob(jobId);
+        MoodLog moodLog = job.getMoodLog();
+        if (aiResult != null && moodLog.getMoodAnalysis() == null) {
+            saveAnalysis(moodLog, aiResult);
+        }
+        job.complete();
+
+        MoodAnalysis analysis = moodLog.getMoodAnalysis();
+        return new AnalysisStatusResponseDto(
                 moodLog.getId(),
-                analysis.getKeywords(),
-                analysis.getRepresentativeMood()
+                AiJobStatus.DONE,
+                analysis != null ? analysis.getKeywords() : null,
+                analysis != null ? analysis.getRepresentativeMood() : null
         );
     }
 
-    // 이미지 생성
+    // 분석 작업 상태 조회
+    @Transactional(readOnly = true)
+    public AnalysisStatusResponseDto getAnalysisStatus(Long logId, Long userId) {
+        // 일기 조회 및 본인 확인 (분석 결과까지 한 번에)
+        MoodLog moodLog = calendarRepository.findWithAnalysisByIdAndUserId(logId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
+
+        // 분석 결과가 있으면 완료
+        MoodAnalysis analysis = moodLog.getMoodAnalysis();
+        if (analysis != null) {
+            return new AnalysisStatusResponseDto(
+                    moodLog.getId(),
+                    AiJobStatus.DONE,
+                    analysis.getKeywords(),
+                    analysis.getRepresentativeMood()
+            );
+        }
+
+        AiJobStatus status = aiJobRepository.findFirstByMoodLog_IdAndTypeOrderByIdDesc(logId, AiJobType.ANALYSIS)
+                .map(AiJob::getStatus)
+                .orElseThrow(() -> new IllegalStateException("분석 작업이 존재하지 않습니다."));
+
+        return new AnalysisStatusResponseDto(moodLog.getId(), status, null, null);
+    }
+
+    // 워커가 가져간 분석 작업 처리
+    // 일기 읽기 (짧은 트랜잭션) -> Gemini 호출 (트랜잭션 밖) -> 결과 저장 (짧은 트랜잭션)
+    // 응답을 기다리는 동안 DB 커넥션을 잡고 있지 않음 (느린 응답 몇 건에 풀이 말라서 달력 조회까지 막히지 않도록)
+    @Transactional(propagation = Propagation.NEVER)
+    public void processAnalysisJob(Long jobId) {
+        AnalysisTask task = transactionTemplate.execute(status -> toAnalysisTask(findJob(jobId).getMoodLog()));
+
+        // 재시도 등으로 이미 분석된 일기는 Gemini를 부르지 않음
+        AiAnalysisResult aiResult = task.analysisVersion() == null
+                ? analysisCacheService.analyze(task.content(), task.character(), false)
+                : null;
+
+        transactionTemplate.executeWithoutResult(status -> completeAnalysis(jobId, aiResult));
+    }
+
+    // Gemini에 넘길 일기 정보 (작성자 캐릭터 설정이 없으면 기본값)
+    public AnalysisTask toAnalysisTask(MoodLog moodLog) {
+        String character = moodLog.getUser().getCharacterDescription();
+        MoodAnalysis analysis = moodLog.getMoodAnalysis();
+        return new AnalysisTask(
+                moodLog.getId(),
+                moodLog.getContent(),
+                (character != null && !character.isEmpty()) ? character : "dog",
+                analysis != null ? analysis.getVersion() : null);
+    }
+
+    // 이미지 생성 작업 등록
+    // 생성/업로드는 워커가 처리하고, 진행 상태는 renderStatus로 조회
     @Transactional
     public Long generateImageForLog(Long logId, Long userId) {
         // 일기 조회 및 본인 확인
-        MoodLog moodLog = calendarRepository.findByIdAndUser_Id(logId, userId)
+        MoodLog moodLog = calendarRepository.findWithAnalysisByIdAndUserId(logId, userId)
                 .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없거나 접근 권한이 없습니다."));
         MoodAnalysis analysis = moodLog.getMoodAnalysis();
         if (analysis == null || analysis.getImagePrompt() == null) {
             throw new IllegalStateException("분석 데이터가 존재하지 않습니다.");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+        // 이미 대기/생성 중이면 중복 등록하지 않음
+        if (analysis.getRenderStatus() == RenderStatus.PENDING || analysis.getRenderStatus() == RenderStatus.RENDERING) {
+            return moodLog.getId();
+        }
+
+        analysis.setRenderStatus(RenderStatus.PENDING);
+        aiJobService.enqueue(moodLog, AiJobType.IMAGE);
+        calendarCacheService.evict(moodLog);
+
+        return moodLog.getId();
+    }
+
+    // 워커가 가져간 이미지 작업 시작 (RENDERING 표시 후 바로 커밋)
+    @Transactional
+    public RenderTask startRender(Long jobId) {
+        AiJob job = findJob(jobId);
+        MoodLog moodLog = job.getMoodLog();
+        MoodAnalysis analysis = moodLog.getMoodAnalysis();
+        if (analysis == null || analysis.getImagePrompt() == null) {
+            throw new IllegalStateException("분석 데이터가 존재하지 않습니다.");
+        }
 
-        // Cloudflare 이미지 생성
-        // 저장된 프롬프트를 사용하여 이미지 생성
-        byte[] imageBytes = cloudflareService.generateImage(analysis.getImagePrompt());
+        analysis.setRenderStatus(RenderStatus.RENDERING);
+        calendarCacheService.evict(moodLog);
+        return new RenderTask(jobId, moodLog.getId(), moodLog.getUser().getId(), analysis.getImagePrompt());
+    }
 
-        // Supabase storage 업로드
-        String imageUrl = null;
-        if (imageBytes != null) {
-            // 일단 .png로 저장 -> StorageService가 .jpg로 바꿈
-            String filename = "user_" + user.getId() + ".png";
-            imageUrl = storageService.uploadImage(imageBytes, filename);
+    // 이미지 작업 완료, 이미지를 분석에 저장했으면 true (false면 호출한 쪽에서 업로드한 이미지 삭제)
+    @Transactional
+    public boolean completeRender(Long jobId, RenderedImages images) {
+        AiJob job = findJob(jobId);
+        MoodAnalysis analysis = job.getMoodLog().getMoodAnalysis();
+        if (analysis == null || analysis.getRenderStatus() != RenderStatus.RENDERING) {
+            // 생성 도중 재분석으로 분석 결과가 바뀐 경우 (이전 프롬프트로 만든 이미지는 쓰지 않음)
+            job.complete();
+            return false;
         }
 
         // DB 업데이트 (Dirty Checking)
-        analysis.setImageUrl(imageUrl);
+        analysis.setImageUrl(images.imageUrl());
+        analysis.setDetailImageUrl(images.detailImageUrl());
+        analysis.setRenderStatus(RenderStatus.READY);
+        job.complete();
+        calendarCacheService.evict(job.getMoodLog());
+        return true;
+    }
 
-        return moodLog.getId();
+    // 이미지 작업 실패 (재시도 남았으면 다시 PENDING)
+    @Transactional
+    public void failRender(Long jobId, String error) {
+        // 작업을 일기/분석과 같이 먼저 읽어 두면 aiJobService에서는 다시 조회하지 않음
+        Optional<MoodLog> target = aiJobRepository.findWithMoodLogById(jobId).map(AiJob::getMoodLog);
+        AiJobStatus status = aiJobService.fail(jobId, error);
+        target
+                .filter(moodLog -> moodLog.getMoodAnalysis() != null)
+                .ifPresent(moodLog -> {
+                    moodLog.getMoodAnalysis().setRenderStatus(
+                            status == AiJobStatus.FAILED ? RenderStatus.FAILED : RenderStatus.PENDING);
+                    calendarCacheService.evict(moodLog);
+                });
+    }
+
+    // 시도 횟수를 다 쓰고 멈춘 이미지 작업 실패 처리 (RENDERING으로 남지 않도록 분석도 FAILED)
+    @Transactional
+    public void failStaleRender(Long jobId, Duration timeout, String error) {
+        Optional<MoodLog> target = aiJobRepository.findWithMoodLogById(jobId).map(AiJob::getMoodLog);
+        if (!aiJobService.failStale(jobId, timeout, error)) {
+            return;
+        }
+        target
+                .filter(moodLog -> moodLog.getMoodAnalysis() != null)
+                .ifPresent(moodLog -> {
+                    moodLog.getMoodAnalysis().setRenderStatus(RenderStatus.FAILED);
+                    calendarCacheService.evict(moodLog);
+                });
     }
 
-    // Gemini 분석 및 결과 저장
+    // 제공자가 막혀서 못 한 이미지 작업을 미룸 (다시 PENDING)
     @Transactional
-    public void processAiAnalysis(User user, MoodLog moodLog) {
-        // 유저의 캐릭터 설정 가져오기
-        String userChar = (user.getCharacterDescription() != null && !user.getCharacterDescription().isEmpty())
-                ? user.getCharacterDescription() : "dog";
-        // GeminiService 호출 (그림 묘사 프롬프트 생성)
-        AiAnalysisResult aiResult = geminiService.analyzeMood(moodLog.getContent(), userChar);
-
-        // 분석 결과 저장 (이미지 URL은 null 상태로 저장)
+    public void deferRender(Long jobId, Duration delay) {
+        Optional<MoodLog> target = aiJobRepository.findWithMoodLogById(jobId).map(AiJob::getMoodLog);
+        aiJobService.defer(jobId, delay);
+        target
+                .filter(moodLog -> moodLog.getMoodAnalysis() != null)
+                .ifPresent(moodLog -> {
+                    moodLog.getMoodAnalysis().setRenderStatus(RenderStatus.PENDING);
+                    calendarCacheService.evict(moodLog);
+                });
+    }
+
+    // 분석 결과 저장 (이미지 URL은 null 상태로 저장)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void saveAnalysis(MoodLog moodLog, AiAnalysisResult aiResult) {
         MoodAnalysis analysis = MoodAnalysis.builder()
                 .moodLog(moodLog)
                 .representativeMood(aiResult.representativeMood())
@@ -110,5 +263,23 @@ public class MoodLogService {
         moodAnalysisRepository.save(analysis);
         // MoodLog에 분석 결과 연결
         moodLog.setMoodAnalysis(analysis);
+        moodStatsService.add(analysis);
+        calendarCacheService.evict(moodLog);
+    }
+
+    // 일기(MoodLog) 저장
+    private MoodLog saveDiary(Long userId, MoodLogRequestDto requestDto) {
+        // FK만 필요하므로 유저는 조회하지 않고 참조만 (인증된 userId)
+        User user = userRepository.getReferenceById(userId);
+        return moodLogRepository.save(MoodLog.builder()
+                .user(user)
+                .logDate(requestDto.date())
+                .content(requestDto.content())
+                .build());
+    }
+
+    private AiJob findJob(Long jobId) {
+        return aiJobRepository.findWithMoodLogById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("작업 없음"));
     }
-}
\ No newline at end of file
+}
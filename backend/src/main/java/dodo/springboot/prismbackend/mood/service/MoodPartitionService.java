@@ -0,0 +1,51 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// mood_logs / mood_analysis 월별 파티션 미리 만들기 (create_mood_partition 함수, V4/V9 마이그레이션)
+// 파티션이 없는 달의 일기는 default 파티션으로 들어가고, 그 달 파티션을 만들 때 함수가 새 파티션으로 옮김
+// 옮기는 동안 테이블을 잠그므로 평소에는 넉넉히 앞서 만들어 둠
+@Slf4j
+@Service
+public class MoodPartitionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public MoodPartitionService(JdbcTemplate jdbcTemplate,
+                                @Value("${spring.partition.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    // 서버 시작 시 + 매일 새벽 3시 (이미 있는 파티션은 건너뜀)
+    // 한 달씩 따로 호출 (각각 자기 트랜잭션) -> 한 달이 실패해도 나머지 달은 만들어짐
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 3 * * *")
+    public void createUpcomingPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        LocalDate last = month.plusMonths(monthsAhead);
+        int created = 0;
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            try {
+                Integer count = jdbcTemplate.queryForObject("SELECT create_mood_partition(?)", Integer.class, month);
+                created += count != null ? count : 0;
+            } catch (DataAccessException e) {
+                log.error("일기 파티션 생성 실패 ({})", YearMonth.from(month), e);
+            }
+        }
+        if (created > 0) {
+            log.info("일기 파티션 {}개 생성", created);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.repository.KeywordDailyStatRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 관리자 통계 집계 테이블 (keyword_daily_stats, mood_daily_stats) 관리
+// 분석 결과를 저장/변경/삭제하는 트랜잭션 안에서 호출해야 함 (집계가 원본과 같이 커밋/롤백되도록)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoodStatsService {
+
+    private final KeywordDailyStatRepository keywordDailyStatRepository;
+    private final MoodDailyStatRepository moodDailyStatRepository;
+
+    // 새 분석 결과 반영
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(MoodAnalysis analysis) {
+        apply(analysis, 1);
+    }
+
+    // 지우거나 덮어쓰기 전의 분석 결과 빼기 (덮어쓸 때는 remove -> 변경 -> add 순서)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(MoodAnalysis analysis) {
+        apply(analysis, -1);
+    }
+
+    // 여러 분석 결과 한 번에 빼기 (체험용 계정 일괄 삭제)
+    // 날짜/키워드별로 합쳐서 행마다 한 번만 갱신, 잠금 순서는 날짜 -> 키워드 순으로 고정
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeAll(Collection<MoodAnalysis> analyses) {
+        Map<LocalDate, long[]> scores = new TreeMap<>(); // 날짜 -> {점수 합, 개수}
+        Map<LocalDate, Map<String, Long>> keywordCounts = new TreeMap<>();
+        for (MoodAnalysis analysis : analyses) {
+            LocalDate logDate = analysis.getLogDate();
+            if (analysis.getMoodScore() != null) {
+                long[] score = scores.computeIfAbsent(logDate, date -> new long[2]);
+                score[0] += analysis.getMoodScore();
+                score[1]++;
+            }
+            if (analysis.getKeywords() != null) {
+                Map<String, Long> counts = keywordCounts.computeIfAbsent(logDate, date -> new TreeMap<>());
+                analysis.getKeywords().forEach(keyword -> counts.merge(keyword, 1L, Long::sum));
+            }
+        }
+
+        scores.forEach((logDate, score) -> moodDailyStatRepository.add(logDate, -score[0], -score[1]));
+        keywordCounts.forEach((logDate, counts) ->
+                counts.forEach((keyword, count) -> keywordDailyStatRepository.add(logDate, keyword, -count)));
+    }
+
+    // 분석 결과 전체에서 다시 집계 (집계 테이블을 처음 채우거나 어긋났을 때)
+    // 두 테이블을 잠가서 그동안 저장되는 분석은 재집계가 끝난 뒤에 반영됨 (중복/누락 없음)
+    // 잠금 순서는 증감 upsert(apply/removeAll)와 같게 감정 점수 -> 키워드 (반대로 잡으면 교착 상태)
+    @Transactional
+    public void rebuild() {
+        moodDailyStatRepository.lockForRebuild();
+        keywordDailyStatRepository.lockForRebuild();
+
+        moodDailyStatRepository.deleteAllRows();
+        keywordDailyStatRepository.deleteAllRows();
+        int moodRows = moodDailyStatRepository.rebuild();
+        int keywordRows = keywordDailyStatRepository.rebuild();
+        log.info("통계 재집계 완료 (키워드 {}행, 감정 점수 {}행)", keywordRows, moodRows);
+    }
+
+    private void apply(MoodAnalysis analysis, int sign) {
+        if (analysis == null) {
+            return;
+        }
+        LocalDate logDate = analysis.getMoodLog().getLogDate();
+
+        if (analysis.getMoodScore() != null) {
+            moodDailyStatRepository.add(logDate, (long) sign * analysis.getMoodScore(), sign);
+        }
+
+        // 키워드 순서대로 갱신 (동시에 저장하는 트랜잭션끼리 행 잠금 순서가 엇갈리지 않도록)
+        List<String> keywords = analysis.getKeywords();
+        if (keywords == null || keywords.isEmpty()) {
+            return;
+        }
+        Map<String, Long> counts = new TreeMap<>();
+        for (String keyword : keywords) {
+            counts.merge(keyword, 1L, Long::sum);
+        }
+        counts.forEach((keyword, count) -> keywordDailyStatRepository.add(logDate, keyword, sign * count));
+    }
+}
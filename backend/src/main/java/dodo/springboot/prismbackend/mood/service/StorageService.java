@@ -1,6 +1,5 @@
 package dodo.springboot.prismbackend.mood.service;
 
-import dodo.springboot.prismbackend.global.util.ImageUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,17 +24,12 @@ public class StorageService {
     @Value("${spring.supabase.key}")
     private String supabaseKey;
 
-    private final WebClient.Builder webClientBuilder;
-    private final ImageUtil imageUtil;
+    private final WebClient supabaseWebClient;
 
-    // 이미지 업로드
-    public String uploadImage(byte[] originalImageBytes, String filename) {
-        // 이미지 리사이징 (500px, JPG로 변환)
-        byte[] resizedImageBytes = imageUtil.resizeImage(originalImageBytes);
-        if (resizedImageBytes == null) {
-            log.error("리사이징 실패로 업로드 중단");
-            return null;
-        }
+    // 이미지 업로드 (리사이징된 JPG)
+    // 인코딩은 호출한 쪽이 CPU 풀에서 끝내고 결과만 넘김 (전송 중 Supabase가 느려도 CPU 스레드를 잡고 있지 않음)
+    // 업로드 실패 시 null
+    public String uploadImage(byte[] jpeg, String filename) {
         // 날짜(타임스탬프) 생성
         String timestamp = LocalDateTime.now()
                 .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
@@ -49,13 +43,14 @@ public class StorageService {
         String url = supabaseUrl + "/storage/v1/object/" + supabaseBucketName + "/" + jpgFilename;
 
         try {
-            webClientBuilder.build().post()
-                    .uri(url)
+            supabaseWebClient.post()
+                    // 파일명은 템플릿 변수로 (메트릭 uri 태그가 파일마다 늘어나지 않도록)
+                    .uri(supabaseUrl + "/storage/v1/object/{bucket}/{filename}", supabaseBucketName, jpgFilename)
                     .header("Authorization", "Bearer " + supabaseKey)
                     // Cloudflare는 기본 PNG로 줌. 하지만 JPEG로 저장해도 무관
                     .contentType(MediaType.IMAGE_JPEG)
                     // 리사이징한 데이터 보냄
-                    .bodyValue(resizedImageBytes)
+                    .bodyValue(jpeg)
                     .retrieve()
                     .bodyToMono(String.class)
                     .block();
@@ -81,12 +76,9 @@ public class StorageService {
             return false;
         }
 
-        // 삭제 요청 URL 생성
-        String deleteUrl = supabaseUrl + "/storage/v1/object/" + supabaseBucketName + "/" + filename;
-
         try {
-            webClientBuilder.build().delete()
-                    .uri(deleteUrl)
+            supabaseWebClient.delete()
+                    .uri(supabaseUrl + "/storage/v1/object/{bucket}/{filename}", supabaseBucketName, filename)
                     .header("Authorization", "Bearer " + supabaseKey)
                     .retrieve()
                     .toBodilessEntity() 
@@ -34,6 +34,8 @@ public class User extends BaseTimeEntity {
     @Column(columnDefinition = "TEXT")
     private String characterDescription = "dog"; // 본인 캐릭터
 
+    private LocalDateTime guestExpiresAt; // 체험용 계정이면 만료 시각 (일반 계정은 null)
+
     @Builder
     public User(String email, String nickname, Role role, String provider, String providerId) {
         this.email = email;
@@ -1,9 +1,15 @@
 package dodo.springboot.prismbackend.user.repository;
 
 import dodo.springboot.prismbackend.user.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,4 +21,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     select u from User u where u.id = :id and u.role = 'ADMIN'
     """)
     Optional<User> findByIdAndAdmin(Long id);
-}
\ No newline at end of file
+
+    // 만료된 체험용 계정
+    @Query("select u.id from User u where u.guestExpiresAt < :now order by u.id")
+    List<Long> findExpiredGuestIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,95 @@
+-- 기존 ddl-auto: update가 만들던 스키마 (엔티티 매핑과 같아야 함, 시작 시 validate)
+-- 이미 테이블이 있는 DB에서도 돌 수 있도록 IF NOT EXISTS로 작성
+
+CREATE TABLE IF NOT EXISTS users (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at            TIMESTAMP(6),
+    modified_at           TIMESTAMP(6),
+    email                 VARCHAR(255) NOT NULL UNIQUE,
+    nickname              VARCHAR(255) NOT NULL,
+    role                  VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    provider              VARCHAR(255),
+    provider_id           VARCHAR(255),
+    character_description TEXT
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    user_id     BIGINT       NOT NULL REFERENCES users (id),
+    token       VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS mood_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    user_id     BIGINT NOT NULL REFERENCES users (id),
+    log_date    DATE   NOT NULL,
+    content     TEXT   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS mood_analysis (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at          TIMESTAMP(6),
+    modified_at         TIMESTAMP(6),
+    mood_log_id         BIGINT NOT NULL UNIQUE REFERENCES mood_logs (id),
+    representative_mood VARCHAR(255),
+    mood_score          INTEGER,
+    keywords            TEXT[],
+    image_prompt        TEXT,
+    image_url           TEXT
+);
+-- 나중에 추가된 컬럼 (기존 DB에 없을 수 있음)
+ALTER TABLE mood_analysis ADD COLUMN IF NOT EXISTS detail_image_url TEXT;
+ALTER TABLE mood_analysis ADD COLUMN IF NOT EXISTS render_status VARCHAR(255)
+    CHECK (render_status IN ('PENDING', 'RENDERING', 'READY', 'FAILED'));
+
+CREATE TABLE IF NOT EXISTS ai_jobs (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at   TIMESTAMP(6),
+    modified_at  TIMESTAMP(6),
+    mood_log_id  BIGINT       NOT NULL REFERENCES mood_logs (id) ON DELETE CASCADE,
+    type         VARCHAR(255) NOT NULL CHECK (type IN ('ANALYSIS', 'IMAGE')),
+    status       VARCHAR(255) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'DONE', 'FAILED')),
+    attempts     INTEGER      NOT NULL,
+    available_at TIMESTAMP(6) NOT NULL,
+    locked_at    TIMESTAMP(6),
+    last_error   TEXT
+);
+
+CREATE TABLE IF NOT EXISTS analysis_cache (
+    content_hash        VARCHAR(64) PRIMARY KEY,
+    created_at          TIMESTAMP(6),
+    modified_at         TIMESTAMP(6),
+    prompt_version      VARCHAR(255) NOT NULL,
+    representative_mood VARCHAR(255),
+    mood_score          INTEGER,
+    keywords            TEXT[],
+    image_prompt        TEXT,
+    expires_at          TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS backfill_runs (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at       TIMESTAMP(6),
+    modified_at      TIMESTAMP(6),
+    requested_by     BIGINT       NOT NULL,
+    target_user_id   BIGINT,
+    status           VARCHAR(255) NOT NULL CHECK (status IN ('RUNNING', 'DONE', 'FAILED', 'CANCELLED')),
+    batch_size       INTEGER      NOT NULL,
+    last_mood_log_id BIGINT       NOT NULL,
+    processed_count  INTEGER      NOT NULL,
+    failed_count     INTEGER      NOT NULL,
+    request_count    INTEGER      NOT NULL,
+    last_error       TEXT,
+    finished_at      TIMESTAMP(6),
+    version          BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(100)     PRIMARY KEY,
+    tokens     DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP(6)     NOT NULL
+);
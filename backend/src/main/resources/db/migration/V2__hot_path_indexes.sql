@@ -0,0 +1,31 @@
+-- 자주 도는 쿼리용 인덱스
+
+-- 달력 월별 조회 (CalendarRepository.findAllByDateRangeAndUser_Id): user_id = ? AND log_date BETWEEN ? AND ?
+-- 상세/삭제의 findByIdAndUser_Id는 PK로 충분
+CREATE INDEX IF NOT EXISTS idx_mood_logs_user_date ON mood_logs (user_id, log_date);
+
+-- 통계 (기간 내 일기 -> 분석 조인): log_date 범위로 id만 뽑는 index-only scan
+CREATE INDEX IF NOT EXISTS idx_mood_logs_date_id ON mood_logs (log_date) INCLUDE (id);
+
+-- 감정 추이 통계 (AVG(mood_score)): 조인 키 + 점수로 index-only scan
+CREATE INDEX IF NOT EXISTS idx_mood_analysis_log_score ON mood_analysis (mood_log_id) INCLUDE (mood_score);
+
+-- 키워드 포함 검색 (keywords @> ARRAY['...'])
+-- unnest 집계 자체는 인덱스를 못 씀 -> 집계는 일별 통계 테이블로 따로 처리해야 함
+CREATE INDEX IF NOT EXISTS idx_mood_analysis_keywords ON mood_analysis USING gin (keywords);
+
+-- AI 작업 큐: 대기 중인 작업만 (완료된 작업이 쌓여도 인덱스 크기 유지)
+CREATE INDEX IF NOT EXISTS idx_ai_jobs_claimable ON ai_jobs (type, id) WHERE status = 'QUEUED';
+-- 멈춘 작업 회수
+CREATE INDEX IF NOT EXISTS idx_ai_jobs_running ON ai_jobs (locked_at) WHERE status = 'RUNNING';
+-- 일기별 최근 작업 조회 (분석 상태 조회) + 일기 삭제 시 CASCADE
+CREATE INDEX IF NOT EXISTS idx_ai_jobs_log_type ON ai_jobs (mood_log_id, type, id);
+
+-- 로그인 시 유저별 리프레시 토큰 조회
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+-- 만료된 분석 캐시 정리
+CREATE INDEX IF NOT EXISTS idx_analysis_cache_expires ON analysis_cache (expires_at);
+
+-- 요청 제한 버킷 정리
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_updated ON rate_limit_buckets (updated_at);
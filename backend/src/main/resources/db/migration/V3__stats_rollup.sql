@@ -0,0 +1,29 @@
+-- 관리자 통계용 날짜별 집계 테이블 (MoodStatsService가 분석 저장/변경/삭제 시 같이 갱신)
+
+CREATE TABLE keyword_daily_stats (
+    log_date DATE   NOT NULL,
+    keyword  TEXT   NOT NULL,
+    count    BIGINT NOT NULL,
+    PRIMARY KEY (log_date, keyword)
+);
+
+CREATE TABLE mood_daily_stats (
+    log_date    DATE   PRIMARY KEY,
+    score_sum   BIGINT NOT NULL,
+    score_count BIGINT NOT NULL
+);
+
+-- 기존 데이터로 처음 채우기 (이후 어긋나면 POST /api/admin/stats/rebuild)
+INSERT INTO keyword_daily_stats (log_date, keyword, count)
+SELECT ml.log_date, T.keyword, COUNT(*)
+FROM mood_analysis ma
+JOIN mood_logs ml ON ma.mood_log_id = ml.id
+CROSS JOIN LATERAL unnest(ma.keywords) AS T(keyword)
+GROUP BY ml.log_date, T.keyword;
+
+INSERT INTO mood_daily_stats (log_date, score_sum, score_count)
+SELECT ml.log_date, SUM(ma.mood_score), COUNT(ma.mood_score)
+FROM mood_analysis ma
+JOIN mood_logs ml ON ma.mood_log_id = ml.id
+WHERE ma.mood_score IS NOT NULL
+GROUP BY ml.log_date;
@@ -0,0 +1,145 @@
+-- mood_logs / mood_analysis를 log_date 기준 월별 파티션으로 전환
+-- 분석은 일기와 같은 날짜 파티션에 둠 (mood_analysis.log_date = mood_logs.log_date)
+-- 파티션 테이블의 PK/UNIQUE에는 log_date가 들어가야 해서 mood_logs.id만 참조하는 FK는 둘 수 없음
+--   -> mood_analysis는 (mood_log_id, log_date)로 참조, ai_jobs는 FK 없이 일기 삭제 시 앱에서 같이 삭제
+
+-- 1. 기존 테이블을 참조하는 FK 제거 (ddl-auto로 만든 DB는 FK 이름이 제각각이라 카탈로그에서 찾음)
+DO $$
+DECLARE
+    r record;
+BEGIN
+    FOR r IN
+        SELECT conrelid::regclass AS tbl, conname
+        FROM pg_constraint
+        WHERE contype = 'f'
+          AND confrelid IN ('mood_logs'::regclass, 'mood_analysis'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', r.tbl, r.conname);
+    END LOOP;
+END $$;
+
+-- 2. 기존 테이블은 _old로 옮김 (인덱스/제약 이름도 새 테이블과 겹치지 않게 바꿈)
+ALTER TABLE mood_logs RENAME TO mood_logs_old;
+ALTER TABLE mood_analysis RENAME TO mood_analysis_old;
+
+DO $$
+DECLARE
+    r record;
+BEGIN
+    FOR r IN
+        SELECT c.conrelid::regclass AS tbl, c.conname
+        FROM pg_constraint c
+        WHERE c.conrelid IN ('mood_logs_old'::regclass, 'mood_analysis_old'::regclass)
+          AND c.contype IN ('p', 'u')
+    LOOP
+        EXECUTE format('ALTER TABLE %s RENAME CONSTRAINT %I TO %I', r.tbl, r.conname, r.conname || '_old');
+    END LOOP;
+    FOR r IN
+        SELECT i.indexrelid::regclass AS idx, cl.relname
+        FROM pg_index i
+        JOIN pg_class cl ON cl.oid = i.indexrelid
+        LEFT JOIN pg_constraint c ON c.conindid = i.indexrelid
+        WHERE i.indrelid IN ('mood_logs_old'::regclass, 'mood_analysis_old'::regclass)
+          AND c.oid IS NULL
+    LOOP
+        EXECUTE format('ALTER INDEX %s RENAME TO %I', r.idx, r.relname || '_old');
+    END LOOP;
+END $$;
+
+-- identity 대신 시퀀스 기본값 (파티션 테이블 identity는 PG 17부터 지원)
+-- 기존 identity 시퀀스는 이름이 겹치므로 먼저 없앰
+ALTER TABLE mood_logs_old ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE mood_analysis_old ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE mood_logs_id_seq;
+CREATE SEQUENCE mood_analysis_id_seq;
+
+-- 3. 파티션 테이블 생성
+CREATE TABLE mood_logs (
+    id          BIGINT       NOT NULL DEFAULT nextval('mood_logs_id_seq'),
+    created_at  TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    user_id     BIGINT       NOT NULL REFERENCES users (id),
+    log_date    DATE         NOT NULL,
+    content     TEXT         NOT NULL,
+    PRIMARY KEY (id, log_date)
+) PARTITION BY RANGE (log_date);
+ALTER SEQUENCE mood_logs_id_seq OWNED BY mood_logs.id;
+
+CREATE TABLE mood_analysis (
+    id                  BIGINT NOT NULL DEFAULT nextval('mood_analysis_id_seq'),
+    created_at          TIMESTAMP(6),
+    modified_at         TIMESTAMP(6),
+    mood_log_id         BIGINT NOT NULL,
+    log_date            DATE   NOT NULL,
+    representative_mood VARCHAR(255),
+    mood_score          INTEGER,
+    keywords            TEXT[],
+    image_prompt        TEXT,
+    image_url           TEXT,
+    detail_image_url    TEXT,
+    render_status       VARCHAR(255) CHECK (render_status IN ('PENDING', 'RENDERING', 'READY', 'FAILED')),
+    PRIMARY KEY (id, log_date),
+    UNIQUE (mood_log_id, log_date),
+    FOREIGN KEY (mood_log_id, log_date) REFERENCES mood_logs (id, log_date)
+) PARTITION BY RANGE (log_date);
+ALTER SEQUENCE mood_analysis_id_seq OWNED BY mood_analysis.id;
+
+-- 범위 밖 날짜(아주 오래된/먼 미래 일기)용
+CREATE TABLE mood_logs_default PARTITION OF mood_logs DEFAULT;
+CREATE TABLE mood_analysis_default PARTITION OF mood_analysis DEFAULT;
+
+-- 4. 월별 파티션 생성 함수 (MoodPartitionService가 주기적으로 호출, 이미 있으면 건너뜀)
+CREATE OR REPLACE FUNCTION create_mood_partitions(from_month DATE, to_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    created     INTEGER := 0;
+    suffix      TEXT;
+BEGIN
+    -- 여러 서버가 동시에 만들지 않도록
+    PERFORM pg_advisory_xact_lock(hashtext('create_mood_partitions'));
+    WHILE month_start <= to_month LOOP
+        suffix := to_char(month_start, '"y"YYYY"m"MM');
+        IF to_regclass('mood_logs_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF mood_logs FOR VALUES FROM (%L) TO (%L)',
+                           'mood_logs_' || suffix, month_start, (month_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        IF to_regclass('mood_analysis_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF mood_analysis FOR VALUES FROM (%L) TO (%L)',
+                           'mood_analysis_' || suffix, month_start, (month_start + INTERVAL '1 month')::date);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 데이터 범위 ~ 3개월 뒤까지 미리 생성
+SELECT create_mood_partitions(
+    LEAST(COALESCE((SELECT MIN(log_date) FROM mood_logs_old), CURRENT_DATE), CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '3 months')::date);
+
+-- 5. 데이터 복사
+INSERT INTO mood_logs (id, created_at, modified_at, user_id, log_date, content)
+SELECT id, created_at, modified_at, user_id, log_date, content
+FROM mood_logs_old;
+
+INSERT INTO mood_analysis (id, created_at, modified_at, mood_log_id, log_date, representative_mood, mood_score,
+                           keywords, image_prompt, image_url, detail_image_url, render_status)
+SELECT ma.id, ma.created_at, ma.modified_at, ma.mood_log_id, ml.log_date, ma.representative_mood, ma.mood_score,
+       ma.keywords, ma.image_prompt, ma.image_url, ma.detail_image_url, ma.render_status
+FROM mood_analysis_old ma
+JOIN mood_logs_old ml ON ml.id = ma.mood_log_id;
+
+SELECT setval('mood_logs_id_seq', COALESCE((SELECT MAX(id) FROM mood_logs), 0) + 1, false);
+SELECT setval('mood_analysis_id_seq', COALESCE((SELECT MAX(id) FROM mood_analysis), 0) + 1, false);
+
+DROP TABLE mood_analysis_old;
+DROP TABLE mood_logs_old;
+
+-- 6. 인덱스 (부모에 만들면 모든 파티션에 생김)
+CREATE INDEX idx_mood_logs_user_date ON mood_logs (user_id, log_date);
+CREATE INDEX idx_mood_logs_date_id ON mood_logs (log_date) INCLUDE (id);
+CREATE INDEX idx_mood_analysis_log_score ON mood_analysis (mood_log_id) INCLUDE (mood_score);
+CREATE INDEX idx_mood_analysis_keywords ON mood_analysis USING gin (keywords);
@@ -0,0 +1,30 @@
+-- 일기 가져오기 (대량 insert를 JDBC 배치로 묶기 위해 시퀀스 + pooled 할당)
+
+-- Hibernate pooled optimizer: nextval 한 번에 id 50개 (allocationSize와 같아야 함)
+-- nextval 값이 블록의 끝이므로 기존 최대 id + 50부터 시작해야 겹치지 않음
+ALTER SEQUENCE mood_logs_id_seq INCREMENT BY 50;
+SELECT setval('mood_logs_id_seq', COALESCE((SELECT MAX(id) FROM mood_logs), 0) + 50, false);
+ALTER SEQUENCE mood_analysis_id_seq INCREMENT BY 50;
+SELECT setval('mood_analysis_id_seq', COALESCE((SELECT MAX(id) FROM mood_analysis), 0) + 50, false);
+
+-- 가져오기 작업 진행 상황
+CREATE TABLE diary_imports (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at       TIMESTAMP(6),
+    modified_at      TIMESTAMP(6),
+    user_id          BIGINT       NOT NULL REFERENCES users (id),
+    status           VARCHAR(255) NOT NULL CHECK (status IN ('ANALYZING', 'DONE', 'FAILED')),
+    imported_count   INTEGER      NOT NULL,
+    skipped_count    INTEGER      NOT NULL,
+    last_mood_log_id BIGINT       NOT NULL,
+    analyzed_count   INTEGER      NOT NULL,
+    failed_count     INTEGER      NOT NULL,
+    last_error       TEXT,
+    finished_at      TIMESTAMP(6),
+    version          BIGINT
+);
+CREATE INDEX idx_diary_imports_status ON diary_imports (status);
+
+-- 가져온 일기 표시 (분석 워커가 가져오기 단위로 순서대로 읽음)
+ALTER TABLE mood_logs ADD COLUMN import_id BIGINT;
+CREATE INDEX idx_mood_logs_import ON mood_logs (import_id, id) WHERE import_id IS NOT NULL;
@@ -0,0 +1,25 @@
+-- accessToken/refreshToken 폐기 (TokenRevocationService)
+-- 서버마다 메모리에 들고 있고, created_at/modified_at 기준으로 새로 생긴 것만 주기적으로 가져감
+
+-- 토큰 하나 폐기 (로그아웃), 토큰이 만료되면 지워도 됨
+CREATE TABLE revoked_tokens (
+    jti         VARCHAR(64) PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    user_id     BIGINT       NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_created ON revoked_tokens (created_at);
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
+
+-- 유저별로 이 시각 전에 발급된 토큰은 모두 폐기 (모든 기기 로그아웃, 탈퇴)
+-- 탈퇴 후에도 남아 있어야 해서 users FK는 두지 않음
+CREATE TABLE token_watermarks (
+    user_id     BIGINT PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    not_before  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_token_watermarks_modified ON token_watermarks (modified_at);
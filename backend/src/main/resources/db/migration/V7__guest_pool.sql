@@ -0,0 +1,5 @@
+-- 체험용(게스트) 계정: 서버가 미리 묶음으로 만들어 두고 체험하기를 누를 때마다 하나씩 나눠줌 (GuestService)
+-- 만료 시각이 지나면 일기/분석과 함께 일괄 삭제 (GuestCleanupService)
+ALTER TABLE users ADD COLUMN guest_expires_at TIMESTAMP(6);
+
+CREATE INDEX idx_users_guest_expires ON users (guest_expires_at) WHERE guest_expires_at IS NOT NULL;
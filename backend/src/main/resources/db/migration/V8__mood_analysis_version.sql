@@ -0,0 +1,3 @@
+-- 분석 결과 낙관적 잠금 (재분석/이미지 생성이 외부 호출 동안 트랜잭션 없이 기다렸다가 저장할 때 덮어쓰기 확인)
+-- 상수 기본값이라 기존 행은 다시 쓰지 않음 (파티션에도 같이 추가됨)
+ALTER TABLE mood_analysis ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,67 @@
+-- 월별 파티션을 만들 때 default 파티션에 그 달 일기가 이미 있으면 CREATE TABLE ... PARTITION OF가 실패함
+-- (파티션이 미리 없던 먼 미래/과거 날짜로 쓴 일기)
+-- -> 한 달씩 만들고, default에 그 달 행이 있으면 임시 테이블로 빼 두었다가 파티션을 만든 뒤 다시 넣음
+-- 한 트랜잭션 안에서 처리되므로 다른 세션에는 옮기는 중간 상태가 보이지 않음
+
+CREATE OR REPLACE FUNCTION create_mood_partition(target_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    month_start   DATE := date_trunc('month', target_month)::date;
+    month_end     DATE := (date_trunc('month', target_month) + INTERVAL '1 month')::date;
+    suffix        TEXT := to_char(date_trunc('month', target_month), '"y"YYYY"m"MM');
+    created       INTEGER := 0;
+    moved         BOOLEAN;
+BEGIN
+    -- 여러 서버가 동시에 만들지 않도록
+    PERFORM pg_advisory_xact_lock(hashtext('create_mood_partitions'));
+    IF to_regclass('mood_logs_' || suffix) IS NOT NULL AND to_regclass('mood_analysis_' || suffix) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    moved := EXISTS (SELECT 1 FROM mood_logs_default WHERE log_date >= month_start AND log_date < month_end)
+          OR EXISTS (SELECT 1 FROM mood_analysis_default WHERE log_date >= month_start AND log_date < month_end);
+    IF moved THEN
+        -- 분석 -> 일기 순서로 지움 (FK)
+        CREATE TEMP TABLE moving_mood_logs ON COMMIT DROP AS
+            SELECT * FROM mood_logs_default WHERE log_date >= month_start AND log_date < month_end;
+        CREATE TEMP TABLE moving_mood_analysis ON COMMIT DROP AS
+            SELECT * FROM mood_analysis_default WHERE log_date >= month_start AND log_date < month_end;
+        DELETE FROM mood_analysis_default WHERE log_date >= month_start AND log_date < month_end;
+        DELETE FROM mood_logs_default WHERE log_date >= month_start AND log_date < month_end;
+    END IF;
+
+    IF to_regclass('mood_logs_' || suffix) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF mood_logs FOR VALUES FROM (%L) TO (%L)',
+                       'mood_logs_' || suffix, month_start, month_end);
+        created := created + 1;
+    END IF;
+    IF to_regclass('mood_analysis_' || suffix) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF mood_analysis FOR VALUES FROM (%L) TO (%L)',
+                       'mood_analysis_' || suffix, month_start, month_end);
+        created := created + 1;
+    END IF;
+
+    IF moved THEN
+        -- 부모 테이블로 넣으면 방금 만든 파티션으로 들어감 (id는 그대로)
+        INSERT INTO mood_logs SELECT * FROM moving_mood_logs;
+        INSERT INTO mood_analysis SELECT * FROM moving_mood_analysis;
+        RAISE NOTICE 'default 파티션에서 % 일기를 옮김', suffix;
+        DROP TABLE moving_mood_analysis;
+        DROP TABLE moving_mood_logs;
+    END IF;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 기존 함수도 한 달씩 위 함수로 (호출하는 쪽은 그대로 쓸 수 있음, 다만 전체가 한 트랜잭션)
+CREATE OR REPLACE FUNCTION create_mood_partitions(from_month DATE, to_month DATE) RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    created     INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_month LOOP
+        created := created + create_mood_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,139 @@
+package dodo.springboot.prismbackend.admin.service;
+
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.service.AnalysisCacheService;
+import dodo.springboot.prismbackend.mood.service.CalendarCacheService;
+import dodo.springboot.prismbackend.mood.service.MoodStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+
+// 백필 묶음을 저장하는 도중 사용자가 같은 분석을 바꾸면(재생성, 이미지 완료) 작업이 멈추지 않고 다시 읽어서 끝까지 진행하는지 확인
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@Import({BackfillService.class, BackfillWorker.class, CalendarCacheService.class, BackfillConflictTest.Config.class})
+class BackfillConflictTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final AiAnalysisResult RESULT = new AiAnalysisResult("만족", 75, List.of("붕어빵"), "clay dog");
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ReplicaStickiness replicaStickiness() {
+            return new ReplicaStickiness("replica", Duration.ofSeconds(10));
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor backfillExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(1);
+            executor.setThreadNamePrefix("backfill-");
+            return executor;
+        }
+    }
+
+    @MockitoBean private AnalysisCacheService analysisCacheService;
+    @MockitoBean private MoodStatsService moodStatsService;
+
+    @Autowired private BackfillWorker backfillWorker;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void 묶음_저장_중_분석_버전이_바뀌면_다시_읽어서_끝까지_진행() throws InterruptedException {
+        JdbcTemplate db = new JdbcTemplate(dataSource);
+        db.update("INSERT INTO users (id, email, nickname, role) VALUES (1, 'admin@prism.com', 'admin', 'ADMIN')");
+        db.update("INSERT INTO mood_logs (id, user_id, log_date, content) VALUES (1, 1, ?, '붕어빵')", LocalDate.now());
+        db.update("""
+                INSERT INTO mood_analysis (id, mood_log_id, log_date, representative_mood, mood_score, keywords, version)
+                VALUES (1, 1, ?, '보통', 50, ARRAY['예전'], 0)""", LocalDate.now());
+        db.update("""
+                INSERT INTO backfill_runs (id, requested_by, status, batch_size, last_mood_log_id,
+                                           processed_count, failed_count, request_count, version)
+                VALUES (1, 1, 'RUNNING', 10, 0, 0, 0, 0, 0)""");
+
+        willAnswer(invocation -> {
+            List<BatchAnalysisItem> items = invocation.getArgument(0);
+            return items.stream().collect(Collectors.toMap(BatchAnalysisItem::id, item -> RESULT, (a, b) -> a));
+        }).given(analysisCacheService).analyzeBatch(anyList());
+
+        // 첫 저장에서 분석을 읽은 직후, 사용자가 같은 분석을 바꾼 것처럼 (트랜잭션 밖 커넥션으로) 버전을 올림
+        AtomicBoolean changed = new AtomicBoolean();
+        willAnswer(invocation -> {
+            if (changed.compareAndSet(false, true)) {
+                bumpVersion();
+            }
+            return null;
+        }).given(moodStatsService).remove(any(MoodAnalysis.class));
+
+        backfillWorker.resume();
+
+        Map<String, Object> run = Map.of();
+        for (int i = 0; i < 100; i++) {
+            run = db.queryForMap("SELECT status, last_mood_log_id, processed_count FROM backfill_runs WHERE id = 1");
+            if (!"RUNNING".equals(run.get("status"))) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(changed).isTrue();
+        assertThat(run).containsEntry("status", "DONE")
+                .containsEntry("last_mood_log_id", 1L)
+                .containsEntry("processed_count", 1);
+        // 두 번째 시도에서 바뀐 버전 위에 저장됨
+        assertThat(db.queryForMap("SELECT representative_mood, version FROM mood_analysis WHERE id = 1"))
+                .containsEntry("representative_mood", "만족")
+                .containsEntry("version", 2L);
+    }
+
+    private void bumpVersion() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE mood_analysis SET version = version + 1 WHERE id = 1");
+        }
+    }
+}
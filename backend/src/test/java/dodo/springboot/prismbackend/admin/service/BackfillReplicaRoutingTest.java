@@ -0,0 +1,162 @@
+package dodo.springboot.prismbackend.admin.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dodo.springboot.prismbackend.global.datasource.ReplicaLagMonitor;
+import dodo.springboot.prismbackend.global.datasource.ReplicaRoutingDataSource;
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import dodo.springboot.prismbackend.mood.service.AnalysisCacheService;
+import dodo.springboot.prismbackend.mood.service.CalendarCacheService;
+import dodo.springboot.prismbackend.mood.service.MoodStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+
+// 복제본이 늦어도 백필 워커가 체크포인트를 primary에서 읽어서 끝까지 진행하는지 확인
+// 복제 대신 Postgres 두 개에 같은 데이터를 넣어 두고, 이후 쓰기는 primary에만 반영 (복제본은 계속 옛 체크포인트)
+// 복제본은 복구 모드가 아니라서 지연 확인에서는 지연 0 -> 읽기 전용 트랜잭션은 복제본으로 감
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@Import({BackfillService.class, BackfillWorker.class, CalendarCacheService.class, MoodStatsService.class,
+        BackfillReplicaRoutingTest.Config.class})
+class BackfillReplicaRoutingTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final AiAnalysisResult RESULT = new AiAnalysisResult("만족", 75, List.of("붕어빵"), "clay dog");
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ReplicaStickiness replicaStickiness() {
+            return new ReplicaStickiness("replica", Duration.ofSeconds(10));
+        }
+
+        @Bean
+        HikariDataSource primaryPool() {
+            return pool(primaryDb);
+        }
+
+        @Bean
+        HikariDataSource replicaPool() {
+            HikariDataSource replica = pool(replicaDb);
+            Flyway.configure().dataSource(replica).locations("classpath:db/migration").load().migrate();
+            return replica;
+        }
+
+        @Bean
+        ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaPool, MeterRegistry meterRegistry) {
+            ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(Map.of("replica-1", replicaPool), Duration.ofSeconds(5), meterRegistry);
+            lagMonitor.check();
+            return lagMonitor;
+        }
+
+        // 실제 앱과 같은 구성 (DataSourceConfig): 첫 쿼리 때 readOnly 여부를 보고 커넥션을 고름
+        @Bean
+        @Primary
+        DataSource dataSource(HikariDataSource primaryPool, ReplicaLagMonitor replicaLagMonitor,
+                              ReplicaStickiness replicaStickiness, MeterRegistry meterRegistry) {
+            return new LazyConnectionDataSourceProxy(
+                    new ReplicaRoutingDataSource(primaryPool, replicaLagMonitor, replicaStickiness, meterRegistry));
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor backfillExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(1);
+            executor.setThreadNamePrefix("backfill-");
+            return executor;
+        }
+    }
+
+    @MockitoBean private AnalysisCacheService analysisCacheService;
+
+    @Autowired private BackfillWorker backfillWorker;
+    @Autowired private HikariDataSource primaryPool;
+    @Autowired private HikariDataSource replicaPool;
+
+    @Test
+    void 복제가_늦어도_방금_옮긴_체크포인트부터_이어서_끝까지_진행() throws InterruptedException {
+        JdbcTemplate primary = new JdbcTemplate(primaryPool);
+        JdbcTemplate replica = new JdbcTemplate(replicaPool);
+        // 작업 등록까지는 복제본에도 반영된 상태
+        for (JdbcTemplate db : List.of(primary, replica)) {
+            db.update("INSERT INTO users (id, email, nickname, role) VALUES (1, 'admin@prism.com', 'admin', 'ADMIN')");
+            db.update("INSERT INTO mood_logs (id, user_id, log_date, content) VALUES (1, 1, ?, '붕어빵'), (2, 1, ?, '호떡')",
+                    LocalDate.now(), LocalDate.now());
+            db.update("""
+                    INSERT INTO backfill_runs (id, requested_by, status, batch_size, last_mood_log_id,
+                                               processed_count, failed_count, request_count, version)
+                    VALUES (1, 1, 'RUNNING', 1, 0, 0, 0, 0, 0)""");
+        }
+        willAnswer(invocation -> {
+            List<BatchAnalysisItem> items = invocation.getArgument(0);
+            return items.stream().collect(Collectors.toMap(BatchAnalysisItem::id, item -> RESULT, (a, b) -> a));
+        }).given(analysisCacheService).analyzeBatch(anyList());
+
+        backfillWorker.resume();
+
+        // 한 건씩 두 묶음: 첫 묶음 저장 후 복제본의 체크포인트는 계속 0
+        Map<String, Object> run = Map.of();
+        for (int i = 0; i < 100; i++) {
+            run = primary.queryForMap("SELECT status, last_mood_log_id, processed_count FROM backfill_runs WHERE id = 1");
+            if (!"RUNNING".equals(run.get("status"))) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(run).containsEntry("status", "DONE")
+                .containsEntry("last_mood_log_id", 2L)
+                .containsEntry("processed_count", 2);
+        assertThat(replica.queryForObject("SELECT last_mood_log_id FROM backfill_runs WHERE id = 1", Long.class)).isZero();
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> db) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(db.getJdbcUrl());
+        pool.setUsername(db.getUsername());
+        pool.setPassword(db.getPassword());
+        return pool;
+    }
+}
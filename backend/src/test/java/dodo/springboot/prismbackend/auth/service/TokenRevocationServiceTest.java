@@ -0,0 +1,112 @@
+package dodo.springboot.prismbackend.auth.service;
+
+import dodo.springboot.prismbackend.auth.entity.RevokedToken;
+import dodo.springboot.prismbackend.auth.repository.RevokedTokenRepository;
+import dodo.springboot.prismbackend.auth.repository.TokenWatermarkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 재구성(rebuild) 중에도 이미 폐기된 토큰이 통과되지 않는지, refresh와 겹치지 않는지 확인
+class TokenRevocationServiceTest {
+
+    private static final RevokedToken REVOKED = RevokedToken.builder()
+            .jti("jti-1")
+            .userId(1L)
+            .expiresAt(LocalDateTime.now().plusHours(1))
+            .build();
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final TokenWatermarkRepository tokenWatermarkRepository = mock(TokenWatermarkRepository.class);
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        given(revokedTokenRepository.findAllByCreatedAtAfterAndExpiresAtAfter(any(), any())).willReturn(List.of(REVOKED));
+        given(tokenWatermarkRepository.findAllByModifiedAtAfter(any())).willReturn(List.of());
+        service = new TokenRevocationService(revokedTokenRepository, tokenWatermarkRepository, new SimpleMeterRegistry(), 1000);
+        service.load();
+    }
+
+    @Test
+    void 재구성_중에도_폐기된_토큰은_폐기로_확인() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(REVOKED);
+        }).given(revokedTokenRepository).findAllByCreatedAtAfterAndExpiresAtAfter(any(), any());
+
+        Thread rebuild = new Thread(service::rebuild);
+        rebuild.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 새 목록을 채우는 중 (DB 조회가 끝나지 않음)
+        assertThat(service.isRevoked("jti-1", 1L, Instant.now())).isTrue();
+        assertThat(service.isRevoked("jti-2", 1L, Instant.now())).isFalse();
+
+        release.countDown();
+        rebuild.join(5000);
+        assertThat(service.isRevoked("jti-1", 1L, Instant.now())).isTrue();
+    }
+
+    @Test
+    void 재구성이_실패하면_이전_목록_유지() {
+        given(revokedTokenRepository.findAllByCreatedAtAfterAndExpiresAtAfter(any(), any()))
+                .willThrow(new IllegalStateException("DB 연결 실패"));
+
+        assertThatThrownBy(service::rebuild).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.isRevoked("jti-1", 1L, Instant.now())).isTrue();
+    }
+
+    @Test
+    void 재구성_중에는_refresh가_기다림() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(REVOKED);
+        }).given(revokedTokenRepository).findAllByCreatedAtAfterAndExpiresAtAfter(any(), any());
+
+        Thread rebuild = new Thread(service::rebuild);
+        rebuild.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread refresh = new Thread(service::refresh);
+        refresh.start();
+        waitUntilParked(refresh);
+
+        // load 1번 + 재구성 1번 (refresh는 아직 조회 전)
+        verify(revokedTokenRepository, times(2)).findAllByCreatedAtAfterAndExpiresAtAfter(any(), any());
+
+        release.countDown();
+        rebuild.join(5000);
+        refresh.join(5000);
+        verify(revokedTokenRepository, times(3)).findAllByCreatedAtAfterAndExpiresAtAfter(any(), any());
+    }
+
+    private static void waitUntilParked(Thread thread) throws InterruptedException {
+        for (int i = 0; i < 100 && thread.getState() != Thread.State.WAITING; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+}
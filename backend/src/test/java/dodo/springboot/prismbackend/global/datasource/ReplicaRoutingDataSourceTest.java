@@ -0,0 +1,191 @@
+package dodo.springboot.prismbackend.global.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 라우팅 확인용: 복제 대신 Postgres 두 개를 띄우고 각각 자기 이름을 돌려주는 테이블을 둠
+@Testcontainers
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaStickiness stickiness;
+    private ReplicaLagMonitor lagMonitor;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUpDatabases() {
+        primaryPool = pool(primaryDb);
+        replicaPool = pool(replicaDb);
+        for (Map.Entry<HikariDataSource, String> db : Map.of(primaryPool, "primary", replicaPool, "replica").entrySet()) {
+            JdbcTemplate jdbc = new JdbcTemplate(db.getKey());
+            jdbc.execute("CREATE TABLE whoami (name TEXT)");
+            jdbc.update("INSERT INTO whoami VALUES (?)", db.getValue());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stickiness = new ReplicaStickiness("replica", Duration.ofSeconds(10));
+        route(Map.of("replica-1", replicaPool));
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션은_복제본() {
+        assertThat(whoami(readTx)).isEqualTo("replica");
+        assertThat(meterRegistry.counter("prism.datasource.route", "pool", "replica-1", "reason", "read").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void 쓰기_트랜잭션과_트랜잭션_밖은_primary() {
+        assertThat(whoami(writeTx)).isEqualTo("primary");
+        assertThat(whoami()).isEqualTo("primary");
+    }
+
+    @Test
+    void 쓴_사용자는_잠시_primary에서_읽음() {
+        login(1L);
+        writeTx.executeWithoutResult(status -> whoami());
+
+        assertThat(whoami(readTx)).isEqualTo("primary");
+
+        // 다른 사용자는 그대로 복제본
+        login(2L);
+        assertThat(whoami(readTx)).isEqualTo("replica");
+    }
+
+    @Test
+    void 롤백된_쓰기는_sticky_아님() {
+        login(1L);
+        writeTx.executeWithoutResult(status -> {
+            whoami();
+            status.setRollbackOnly();
+        });
+
+        assertThat(whoami(readTx)).isEqualTo("replica");
+    }
+
+    @Test
+    void 지연_확인에_실패한_복제본은_빼고_primary에서_읽음() {
+        HikariDataSource deadPool = new HikariDataSource();
+        deadPool.setJdbcUrl("jdbc:postgresql://localhost:1/prism");
+        deadPool.setConnectionTimeout(250);
+        deadPool.setInitializationFailTimeout(-1);
+        try (deadPool) {
+            route(Map.of("replica-1", deadPool));
+            lagMonitor.check();
+
+            assertThat(lagMonitor.next()).isNull();
+            assertThat(whoami(readTx)).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    void 허용치를_넘는_지연이면_primary에서_읽음() {
+        // 복제 중이 아닌 인스턴스는 지연 0 -> 허용치가 음수면 항상 초과
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-1", replicaPool), Duration.ofSeconds(-1), meterRegistry);
+        route(lagMonitor);
+        lagMonitor.check();
+
+        assertThat(whoami(readTx)).isEqualTo("primary");
+    }
+
+    @Test
+    void 복제본_여러_개면_돌아가며_읽음() {
+        route(Map.of("replica-1", replicaPool, "replica-2", replicaPool));
+        lagMonitor.check();
+
+        List<String> picked = List.of(lagMonitor.next(), lagMonitor.next(), lagMonitor.next(), lagMonitor.next());
+        assertThat(picked).containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+    }
+
+    @Test
+    void 계정을_지정한_커넥션은_primary에_그대로_넘김() throws SQLException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource(primaryDb.getJdbcUrl()), lagMonitor, stickiness, meterRegistry);
+
+        try (Connection connection = routing.getConnection(primaryDb.getUsername(), primaryDb.getPassword());
+             ResultSet rs = connection.createStatement().executeQuery("SELECT name FROM whoami")) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("primary");
+        }
+    }
+
+    private void route(Map<String, DataSource> replicas) {
+        route(new ReplicaLagMonitor(replicas, Duration.ofSeconds(5), meterRegistry));
+    }
+
+    private void route(ReplicaLagMonitor monitor) {
+        lagMonitor = monitor;
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryPool, lagMonitor, stickiness, meterRegistry));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private String whoami() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private String whoami(TransactionTemplate tx) {
+        return tx.execute(status -> whoami());
+    }
+
+    private void login(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> db) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(db.getJdbcUrl());
+        pool.setUsername(db.getUsername());
+        pool.setPassword(db.getPassword());
+        return pool;
+    }
+}
@@ -0,0 +1,66 @@
+package dodo.springboot.prismbackend.global.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// perIp 정책은 로그인 전 요청도 IP별로 세는지 확인
+class RateLimitInterceptorTest {
+
+    private static final int CAPACITY = 3;
+
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("spring.rate-limit.policies.guest.capacity", String.valueOf(CAPACITY))
+                .withProperty("spring.rate-limit.policies.guest.refill-interval", "1h");
+        // "1h" 같은 Duration 변환 (실제 앱과 같은 변환기)
+        env.setConversionService(new ApplicationConversionService());
+        interceptor = new RateLimitInterceptor(new InMemoryTokenBucketStore(), env, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 인증_없는_요청도_IP별로_제한() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(call("10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = call("10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        // 다른 IP는 따로 셈
+        assertThat(call("10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse call(String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/guest");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(new GuestEndpoint(), GuestEndpoint.class.getMethod("login"));
+        interceptor.preHandle(request, response, handler);
+        return response;
+    }
+
+    static class GuestEndpoint {
+        @RateLimited(value = "guest", perIp = true)
+        public void login() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package dodo.springboot.prismbackend.global.resilience;
+
+import dodo.springboot.prismbackend.config.ResilienceConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 한도는 제공자 장애(429, 5xx, 연결 실패/타임아웃)에서만 줄고, 요청 자체가 잘못된 4xx에서는 그대로인지 확인
+class ProviderGuardTest {
+
+    private static final int INITIAL_LIMIT = 8;
+    private static final int CALLS = 20;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ProviderGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("spring.gemini.guard.initial-limit", String.valueOf(INITIAL_LIMIT));
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        guard = new ResilienceConfig(env, meterRegistry).geminiGuard(circuitBreakerRegistry);
+    }
+
+    @Test
+    void 요청_오류_400은_한도를_줄이지_않음() {
+        failTimes(status(400));
+
+        assertThat(limit()).isEqualTo(INITIAL_LIMIT);
+        assertThat(inFlight()).isZero();
+        assertThat(guard.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void 요청_오류_404도_한도를_줄이지_않음() {
+        failTimes(status(404));
+
+        assertThat(limit()).isEqualTo(INITIAL_LIMIT);
+        assertThat(guard.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void 요청_과다_429는_한도를_줄임() {
+        failTimes(status(429));
+
+        assertThat(limit()).isLessThan(INITIAL_LIMIT);
+        assertThat(inFlight()).isZero();
+        assertThat(guard.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void 서버_오류_503은_한도를_줄임() {
+        failTimes(status(503));
+
+        assertThat(limit()).isLessThan(INITIAL_LIMIT);
+        assertThat(guard.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void 연결_실패는_한도를_줄임() {
+        failTimes(new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.POST, URI.create("http://127.0.0.1"), HttpHeaders.EMPTY));
+
+        assertThat(limit()).isLessThan(INITIAL_LIMIT);
+    }
+
+    @Test
+    void Error도_슬롯과_서킷_허가를_돌려줌() {
+        // 반열림 상태는 허가가 3개뿐 -> 돌려주지 않으면 이후 호출이 모두 막힘
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("gemini");
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+        StackOverflowError error = new StackOverflowError();
+
+        for (int i = 0; i < CALLS; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw error;
+            })).isSameAs(error);
+        }
+
+        assertThat(inFlight()).isZero();
+        assertThat(limit()).isEqualTo(INITIAL_LIMIT);
+        assertThat(guard.call(() -> "ok")).isEqualTo("ok");
+    }
+
+    // 서킷이 열리면 이후 호출은 실패 예외 대신 ProviderUnavailableException
+    private void failTimes(RuntimeException failure) {
+        for (int i = 0; i < CALLS && guard.isCallPermitted(); i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw failure;
+            })).isSameAs(failure);
+        }
+    }
+
+    private static WebClientResponseException status(int code) {
+        return WebClientResponseException.create(code, "status " + code, HttpHeaders.EMPTY, new byte[0], null);
+    }
+
+    private int limit() {
+        return (int) meterRegistry.get("prism.provider.limit").tag("provider", "gemini").gauge().value();
+    }
+
+    private int inFlight() {
+        return (int) meterRegistry.get("prism.provider.inflight").tag("provider", "gemini").gauge().value();
+    }
+}
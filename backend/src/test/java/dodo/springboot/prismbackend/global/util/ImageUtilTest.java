@@ -0,0 +1,47 @@
+package dodo.springboot.prismbackend.global.util;
+
+import dodo.springboot.prismbackend.global.dto.ImageRenditions;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 중간 단계 버퍼를 재사용해도 이전 렌더 결과가 다음 이미지에 비치지 않는지 확인
+class ImageUtilTest {
+
+    // 상세 이미지(1024px)까지 절반씩 줄이는 단계가 생기는 크기 (MAX_PIXELS 이내)
+    private static final int WIDTH = 4096;
+    private static final int HEIGHT = 1024;
+
+    private final ImageUtil imageUtil = new ImageUtil(500, 1024, 0.75f, false);
+
+    @Test
+    void 투명한_이미지에_이전_이미지가_비치지_않음() throws IOException {
+        BufferedImage red = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics2D = red.createGraphics();
+        graphics2D.setColor(Color.RED);
+        graphics2D.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics2D.dispose();
+        BufferedImage transparent = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+
+        imageUtil.resizeImage(png(red));
+        ImageRenditions renditions = imageUtil.resizeImage(png(transparent));
+
+        // 새 버퍼에 그린 것과 같이 검은색
+        assertThat(renditions.detail().getRGB(512, 128) & 0xFFFFFF).isZero();
+        assertThat(renditions.thumbnail().getRGB(250, 60) & 0xFFFFFF).isZero();
+    }
+
+    private static InputStream png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,56 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.AnalysisField;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisStreamParserTest {
+
+    private static final String RESULT_JSON = """
+            ```json
+            {"representative_mood":"만족","mood_score":75,"keywords":["붕어빵","간식"],"extra":{"keywords":["x"]},"image_prompt":"clay dog"}
+            ```""";
+
+    private final List<AnalysisField> fields = new ArrayList<>();
+    private final AnalysisStreamParser parser = new AnalysisStreamParser(fields::add);
+
+    @Test
+    void 항목이_완성되는_즉시_넘김() {
+        parser.feed("```json\n{\"representative_mood\":\"만");
+        assertThat(fields).isEmpty();
+
+        parser.feed("족\",\"mood_score\":7");
+        assertThat(fields).containsExactly(new AnalysisField(AnalysisField.REPRESENTATIVE_MOOD, "만족"));
+
+        parser.feed("5,\"keywords\":[\"붕어빵\",");
+        assertThat(fields).hasSize(2);
+        assertThat(fields.get(1)).isEqualTo(new AnalysisField(AnalysisField.MOOD_SCORE, 75));
+
+        parser.feed("\"간식\"],\"image_prompt\":\"clay dog\"}\n```");
+        assertThat(fields.get(2)).isEqualTo(new AnalysisField(AnalysisField.KEYWORDS, List.of("붕어빵", "간식")));
+        assertThat(parser.isFinished()).isTrue();
+        assertThat(parser.result()).isEqualTo(new AiAnalysisResult("만족", 75, List.of("붕어빵", "간식"), "clay dog"));
+    }
+
+    @Test
+    void 한_글자씩_받아도_같은_결과() {
+        RESULT_JSON.codePoints().forEach(c -> parser.feed(Character.toString(c)));
+
+        assertThat(fields).extracting(AnalysisField::name).containsExactly(
+                AnalysisField.REPRESENTATIVE_MOOD, AnalysisField.MOOD_SCORE, AnalysisField.KEYWORDS);
+        assertThat(parser.result()).isEqualTo(new AiAnalysisResult("만족", 75, List.of("붕어빵", "간식"), "clay dog"));
+    }
+
+    @Test
+    void 응답이_중간에_끊기면_예외() {
+        parser.feed("{\"representative_mood\":\"만족\",\"mood_score\":75");
+
+        assertThatThrownBy(parser::result).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,240 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.CalendarResponseDto;
+import dodo.springboot.prismbackend.mood.dto.MoodLogRequestDto;
+import dodo.springboot.prismbackend.mood.dto.RenderedImages;
+import dodo.springboot.prismbackend.mood.entity.AiJob;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.entity.RenderStatus;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
+import dodo.springboot.prismbackend.mood.repository.CalendarRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
+import dodo.springboot.prismbackend.user.entity.Role;
+import dodo.springboot.prismbackend.user.entity.User;
+import dodo.springboot.prismbackend.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 달력 캐시: 변경 경로마다 그 달 캐시가 지워져서 다음 조회에 새 데이터가 보이는지 확인
+@ExtendWith(MockitoExtension.class)
+class CalendarCacheServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long LOG_ID = 10L;
+    private static final Long JOB_ID = 100L;
+    private static final LocalDate LOG_DATE = LocalDate.of(2025, 3, 14);
+
+    private static final List<CalendarResponseDto> BEFORE =
+            List.of(new CalendarResponseDto(LOG_ID, LOG_DATE, null, 50, RenderStatus.PENDING));
+    private static final List<CalendarResponseDto> AFTER =
+            List.of(new CalendarResponseDto(LOG_ID, LOG_DATE, "https://img/thumb.jpg", 50, RenderStatus.READY));
+
+    @Mock private CalendarRepository calendarRepository;
+    @Mock private MoodLogRepository moodLogRepository;
+    @Mock private MoodAnalysisRepository moodAnalysisRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private AiJobRepository aiJobRepository;
+    @Mock private AiJobService aiJobService;
+    @Mock private AnalysisCacheService analysisCacheService;
+    @Mock private StorageService storageService;
+    @Mock private MoodStatsService moodStatsService;
+
+    private CalendarCacheService calendarCacheService;
+    private MoodLogService moodLogService;
+    private CalendarService calendarService;
+
+    private User user;
+    private MoodLog moodLog;
+
+    @BeforeEach
+    void setUp() {
+        calendarCacheService = new CalendarCacheService(new SimpleMeterRegistry(),
+                new ReplicaStickiness("", Duration.ofSeconds(10)), 100, Duration.ofMinutes(10));
+        moodLogService = new MoodLogService(moodLogRepository, moodAnalysisRepository, userRepository,
+                calendarRepository, aiJobRepository, aiJobService, analysisCacheService, calendarCacheService,
+                moodStatsService, transactionTemplate());
+        calendarService = new CalendarService(calendarRepository, storageService, moodLogService,
+                moodAnalysisRepository, moodLogRepository, aiJobRepository, calendarCacheService, moodStatsService,
+                analysisCacheService, transactionTemplate(), new SimpleMeterRegistry());
+
+        user = User.builder().email("user@prism.com").nickname("user").role(Role.USER).build();
+        ReflectionTestUtils.setField(user, "id", USER_ID);
+        moodLog = MoodLog.builder().user(user).logDate(LOG_DATE).content("붕어빵 먹음").build();
+        moodLog.setId(LOG_ID);
+    }
+
+    @Test
+    void 같은_달은_캐시에서_조회() {
+        given(calendarRepository.findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID))).willReturn(BEFORE);
+
+        assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(BEFORE);
+        assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(BEFORE);
+
+        verify(calendarRepository, times(1)).findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID));
+    }
+
+    @Test
+    void 일기_작성_후_새로_조회() {
+        given(userRepository.getReferenceById(USER_ID)).willReturn(user);
+        given(moodLogRepository.save(any(MoodLog.class))).willReturn(moodLog);
+        given(aiJobService.enqueue(moodLog, AiJobType.ANALYSIS))
+                .willReturn(AiJob.builder().moodLog(moodLog).type(AiJobType.ANALYSIS).build());
+
+        assertFreshAfter(() -> moodLogService.analyzeDiary(USER_ID, new MoodLogRequestDto(LOG_DATE, "붕어빵 먹음")));
+    }
+
+    @Test
+    void 분석_완료_후_새로_조회() {
+        given(aiJobRepository.findWithMoodLogById(JOB_ID))
+                .willReturn(Optional.of(AiJob.builder().moodLog(moodLog).type(AiJobType.ANALYSIS).build()));
+        given(analysisCacheService.analyze(anyString(), anyString(), anyBoolean())).willReturn(result());
+
+        assertFreshAfter(() -> moodLogService.processAnalysisJob(JOB_ID));
+    }
+
+    @Test
+    void 이미지_생성_요청_후_새로_조회() {
+        withAnalysis(null);
+        given(calendarRepository.findWithAnalysisByIdAndUserId(LOG_ID, USER_ID)).willReturn(Optional.of(moodLog));
+
+        assertFreshAfter(() -> moodLogService.generateImageForLog(LOG_ID, USER_ID));
+    }
+
+    @Test
+    void 이미지_생성_완료_후_새로_조회() {
+        withAnalysis(RenderStatus.RENDERING);
+        given(aiJobRepository.findWithMoodLogById(JOB_ID))
+                .willReturn(Optional.of(AiJob.builder().moodLog(moodLog).type(AiJobType.IMAGE).build()));
+
+        assertFreshAfter(() -> moodLogService.completeRender(JOB_ID,
+                new RenderedImages("https://img/thumb.jpg", "https://img/detail.jpg")));
+    }
+
+    @Test
+    void 일기_삭제_후_새로_조회() {
+        withAnalysis(RenderStatus.READY);
+        given(calendarRepository.findWithAnalysisByIdAndUserId(LOG_ID, USER_ID)).willReturn(Optional.of(moodLog));
+
+        assertFreshAfter(() -> calendarService.deleteLog(LOG_ID, USER_ID));
+    }
+
+    @Test
+    void 재분석_후_새로_조회() {
+        withAnalysis(RenderStatus.READY);
+        given(calendarRepository.findWithUserAndAnalysisByIdAndUserId(LOG_ID, USER_ID)).willReturn(Optional.of(moodLog));
+        given(calendarRepository.findWithAnalysisByIdAndUserId(LOG_ID, USER_ID)).willReturn(Optional.of(moodLog));
+        given(analysisCacheService.analyze(anyString(), anyString(), anyBoolean())).willReturn(result());
+
+        assertFreshAfter(() -> calendarService.regenerateImage(LOG_ID, USER_ID, false));
+    }
+
+    @Test
+    void 다른_달_캐시는_유지() {
+        given(calendarRepository.findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID))).willReturn(BEFORE);
+        calendarService.getCalendarList(2025, 4, USER_ID);
+
+        calendarCacheService.evict(USER_ID, LOG_DATE); // 3월 변경
+        calendarService.getCalendarList(2025, 4, USER_ID);
+
+        verify(calendarRepository, times(1)).findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID));
+    }
+
+    @Test
+    void 트랜잭션_안에서는_커밋_후에_지움() {
+        given(calendarRepository.findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID))).willReturn(BEFORE).willReturn(AFTER);
+        calendarService.getCalendarList(2025, 3, USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendarCacheService.evict(USER_ID, LOG_DATE);
+            // 커밋 전: 아직 캐시 유지 (지웠다면 커밋 전 데이터가 다시 채워질 수 있음)
+            assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(BEFORE);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(AFTER);
+    }
+
+    // 조회(캐시 채움) -> 변경 -> 조회 시 DB에서 새로 읽는지
+    private void assertFreshAfter(Runnable mutation) {
+        given(calendarRepository.findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID))).willReturn(BEFORE).willReturn(AFTER);
+        assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(BEFORE);
+        assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(BEFORE);
+
+        mutation.run();
+
+        assertThat(calendarService.getCalendarList(2025, 3, USER_ID)).isEqualTo(AFTER);
+        verify(calendarRepository, times(2)).findAllByDateRangeAndUser_Id(any(), any(), eq(USER_ID));
+    }
+
+    private void withAnalysis(RenderStatus renderStatus) {
+        MoodAnalysis analysis = MoodAnalysis.builder()
+                .moodLog(moodLog)
+                .representativeMood("만족")
+                .moodScore(50)
+                .keywords(List.of("붕어빵"))
+                .imagePrompt("clay dog")
+                .build();
+        analysis.setRenderStatus(renderStatus);
+        moodLog.setMoodAnalysis(analysis);
+    }
+
+    // DB 없이 커밋 시점(afterCommit 캐시 삭제)만 실제와 같게 동작하는 트랜잭션
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        });
+    }
+
+    private AiAnalysisResult result() {
+        return new AiAnalysisResult("만족", 75, List.of("붕어빵", "간식"), "clay dog");
+    }
+}
@@ -0,0 +1,209 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.entity.AiJob;
+import dodo.springboot.prismbackend.mood.entity.AiJobStatus;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
+import dodo.springboot.prismbackend.user.entity.Role;
+import dodo.springboot.prismbackend.user.entity.User;
+import dodo.springboot.prismbackend.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// 외부 호출(Gemini 분석, Supabase 이미지 삭제) 중에는 DB 커넥션을 잡고 있지 않은지 확인
+// 외부 호출 목(mock)이 불리는 시점에 트랜잭션/EntityManager가 스레드에 묶여 있거나 풀에서 빌려 간 커넥션이 있으면 실패
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@Import({CalendarService.class, MoodLogService.class, AiJobService.class, CalendarCacheService.class,
+        MoodStatsService.class, ReplicaStickiness.class, ExternalCallTransactionTest.Config.class})
+class ExternalCallTransactionTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static final AiAnalysisResult RESULT = new AiAnalysisResult("만족", 75, List.of("붕어빵", "간식"), "clay dog");
+
+    @MockitoBean private StorageService storageService;
+    @MockitoBean private AnalysisCacheService analysisCacheService;
+
+    @Autowired private CalendarService calendarService;
+    @Autowired private MoodLogService moodLogService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private MoodLogRepository moodLogRepository;
+    @Autowired private MoodAnalysisRepository moodAnalysisRepository;
+    @Autowired private AiJobRepository aiJobRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private DataSource dataSource;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@prism.com")
+                .nickname("user")
+                .role(Role.USER)
+                .build());
+        willAnswer(invocation -> {
+            assertNoConnectionHeld();
+            return RESULT;
+        }).given(analysisCacheService).analyze(anyString(), anyString(), anyBoolean());
+        willAnswer(invocation -> {
+            assertNoConnectionHeld();
+            return true;
+        }).given(storageService).deleteStorageImage(anyString());
+    }
+
+    @Test
+    void 분석_작업은_Gemini_응답을_커넥션_없이_기다림() {
+        MoodLog moodLog = diary();
+        AiJob job = aiJobRepository.save(AiJob.builder().moodLog(moodLog).type(AiJobType.ANALYSIS).build());
+
+        moodLogService.processAnalysisJob(job.getId());
+
+        verify(analysisCacheService).analyze(anyString(), anyString(), anyBoolean());
+        assertThat(moodAnalysisRepository.findAllByUserIdIn(List.of(user.getId()))).hasSize(1);
+        assertThat(aiJobRepository.findById(job.getId()).orElseThrow().getStatus()).isEqualTo(AiJobStatus.DONE);
+    }
+
+    @Test
+    void 재분석은_Gemini_응답과_이미지_삭제를_커넥션_없이_기다림() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        calendarService.regenerateImage(moodLog.getId(), user.getId(), false);
+
+        verify(storageService).deleteStorageImage("https://img/thumb.jpg");
+        verify(storageService).deleteStorageImage("https://img/detail.jpg");
+        MoodAnalysis analysis = moodAnalysisRepository.findAllByUserIdIn(List.of(user.getId())).get(0);
+        assertThat(analysis.getMoodScore()).isEqualTo(75);
+        assertThat(analysis.getImageUrl()).isNull();
+    }
+
+    @Test
+    void 일기_삭제는_이미지_삭제를_커넥션_없이_기다림() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        calendarService.deleteLog(moodLog.getId(), user.getId());
+
+        verify(storageService).deleteStorageImage("https://img/thumb.jpg");
+        verify(storageService).deleteStorageImage("https://img/detail.jpg");
+        assertThat(moodLogRepository.findById(moodLog.getId())).isEmpty();
+    }
+
+    @Test
+    void 분석_결과가_없는_일기도_삭제됨() {
+        // 분석 대기/실패 상태의 일기 (분석 결과 없음, 작업만 있음)
+        MoodLog moodLog = diary();
+        aiJobRepository.save(AiJob.builder().moodLog(moodLog).type(AiJobType.ANALYSIS).build());
+
+        assertThat(calendarService.deleteLog(moodLog.getId(), user.getId())).isTrue();
+
+        assertThat(moodLogRepository.findById(moodLog.getId())).isEmpty();
+        assertThat(aiJobRepository.findAll()).noneMatch(job -> job.getMoodLog().getId().equals(moodLog.getId()));
+        verify(storageService, never()).deleteStorageImage(anyString());
+    }
+
+    @Test
+    void 재분석_중에_분석이_바뀌면_덮어쓰지_않음() {
+        MoodLog moodLog = diaryWithAnalysis();
+        // Gemini 응답을 기다리는 동안 다른 요청이 분석 결과를 바꿈
+        willAnswer(invocation -> {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    moodAnalysisRepository.findAllByUserIdIn(List.of(user.getId())).get(0).setMoodScore(10));
+            return RESULT;
+        }).given(analysisCacheService).analyze(anyString(), anyString(), anyBoolean());
+
+        assertThatThrownBy(() -> calendarService.regenerateImage(moodLog.getId(), user.getId(), false))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        // 먼저 저장된 결과와 기존 이미지는 그대로
+        MoodAnalysis analysis = moodAnalysisRepository.findAllByUserIdIn(List.of(user.getId())).get(0);
+        assertThat(analysis.getMoodScore()).isEqualTo(10);
+        assertThat(analysis.getImageUrl()).isEqualTo("https://img/thumb.jpg");
+        verify(storageService, never()).deleteStorageImage(anyString());
+    }
+
+    private void assertNoConnectionHeld() throws SQLException {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive())
+                .as("외부 호출 중 트랜잭션 진행 중")
+                .isFalse();
+        assertThat(TransactionSynchronizationManager.getResourceMap())
+                .as("외부 호출 중 스레드에 묶인 EntityManager/커넥션")
+                .isEmpty();
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections())
+                .as("외부 호출 중 사용 중인 커넥션")
+                .isZero();
+    }
+
+    private MoodLog diary() {
+        return moodLogRepository.save(MoodLog.builder().user(user).logDate(LocalDate.now()).content("붕어빵 먹음").build());
+    }
+
+    private MoodLog diaryWithAnalysis() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            MoodLog moodLog = diary();
+            MoodAnalysis analysis = MoodAnalysis.builder()
+                    .moodLog(moodLog)
+                    .representativeMood("만족")
+                    .moodScore(50)
+                    .keywords(List.of("붕어빵"))
+                    .imagePrompt("clay dog")
+                    .imageUrl("https://img/thumb.jpg")
+                    .build();
+            analysis.setDetailImageUrl("https://img/detail.jpg");
+            moodAnalysisRepository.save(analysis);
+            return moodLog;
+        });
+    }
+}
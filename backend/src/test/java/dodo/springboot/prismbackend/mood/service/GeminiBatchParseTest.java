@@ -0,0 +1,139 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dodo.springboot.prismbackend.config.ResilienceConfig;
+import dodo.springboot.prismbackend.config.WebClientConfig;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.BatchAnalysisItem;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 배치 응답의 일부 항목만 잘못됐을 때 그 항목만 단건으로 다시 분석하는지 가짜 Gemini 서버로 확인
+class GeminiBatchParseTest {
+
+    private static final String SINGLE = """
+            {"representative_mood":"보통","mood_score":50,"keywords":["단건"],"image_prompt":"clay cat"}""";
+
+    private static final List<BatchAnalysisItem> ITEMS = List.of(
+            new BatchAnalysisItem(1L, "붕어빵", "dog"),
+            new BatchAnalysisItem(2L, "호떡", "dog"),
+            new BatchAnalysisItem(3L, "어묵", "dog"),
+            new BatchAnalysisItem(4L, "군고구마", "dog"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer upstream;
+    // 배치 요청에 돌려줄 결과 텍스트 (모델이 생성한 JSON 배열)
+    private volatile String batchText;
+    // 단건으로 다시 분석한 일기 내용
+    private final List<String> singleCalls = new CopyOnWriteArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/models/", this::generateContent);
+        upstream.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment env = new MockEnvironment().withProperty("spring.gemini.http.http2", "false");
+        WebClient webClient = new WebClientConfig(env).geminiWebClient(WebClient.builder());
+        ProviderGuard guard = new ResilienceConfig(env, meterRegistry).geminiGuard(CircuitBreakerRegistry.ofDefaults());
+
+        geminiService = new GeminiService(webClient, guard, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(geminiService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(geminiService, "baseUrl", "http://127.0.0.1:" + upstream.getAddress().getPort());
+        ReflectionTestUtils.setField(geminiService, "model", "stub");
+        ReflectionTestUtils.setField(geminiService, "contextCacheEnabled", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void 잘못된_항목과_null_항목만_단건으로_다시_분석() {
+        batchText = "[" + String.join(",",
+                item(1),
+                "null",
+                // 점수가 숫자가 아님 (바인딩 실패)
+                """
+                {"id":3,"representative_mood":"만족","mood_score":"높음","keywords":["어묵"],"image_prompt":"clay dog"}""",
+                item(4)) + "]";
+
+        Map<Long, AiAnalysisResult> results = geminiService.analyzeMoodBatch(ITEMS);
+
+        assertThat(results).containsOnlyKeys(1L, 2L, 3L, 4L);
+        assertThat(results.get(1L).keywords()).containsExactly("배치");
+        assertThat(results.get(4L).keywords()).containsExactly("배치");
+        assertThat(results.get(2L).keywords()).containsExactly("단건");
+        assertThat(results.get(3L).keywords()).containsExactly("단건");
+        assertThat(singleCalls).hasSize(2).anySatisfy(text -> assertThat(text).contains("호떡"))
+                .anySatisfy(text -> assertThat(text).contains("어묵"));
+        assertThat(meterRegistry.counter("prism.gemini.retry", "reason", "batch_item").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void 응답이_중간에_잘리면_앞부분은_쓰고_나머지만_단건으로() {
+        // 응답 토큰 한도에 걸려 세 번째 항목 중간에서 끊김
+        batchText = "[" + item(1) + "," + item(2) + ",{\"id\":3,\"representative_mood\":\"만";
+
+        Map<Long, AiAnalysisResult> results = geminiService.analyzeMoodBatch(ITEMS);
+
+        assertThat(results).containsOnlyKeys(1L, 2L, 3L, 4L);
+        assertThat(results.get(1L).keywords()).containsExactly("배치");
+        assertThat(results.get(2L).keywords()).containsExactly("배치");
+        assertThat(singleCalls).hasSize(2);
+        assertThat(meterRegistry.counter("prism.gemini.parse", "call", "batch", "result", "failed").count()).isEqualTo(1.0);
+    }
+
+    private static String item(long id) {
+        return """
+                {"id":%d,"representative_mood":"만족","mood_score":75,"keywords":["배치"],"image_prompt":"clay dog"}"""
+                .formatted(id);
+    }
+
+    // POST /models/stub:generateContent: 배치 요청(일기 JSON 배열)이면 batchText, 단건이면 SINGLE
+    private void generateContent(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        String userText = body.path("contents").path(0).path("parts").path(0).path("text").asText();
+
+        String text;
+        if (userText.startsWith("[")) {
+            text = batchText;
+        } else {
+            singleCalls.add(userText);
+            text = SINGLE;
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(Map.of(
+                "candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text))))),
+                "usageMetadata", Map.of("promptTokenCount", userText.length() / 4)));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import dodo.springboot.prismbackend.config.ResilienceConfig;
+import dodo.springboot.prismbackend.config.WebClientConfig;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 부하 비교: 일기 분석 요청 (Gemini 호출 후 block())을 동시에 보냈을 때 플랫폼 스레드 vs 가상 스레드
+// 플랫폼 스레드 모드는 Tomcat 기본 최대 스레드 수(200)만큼만 동시에 외부 응답을 기다릴 수 있음
+// 가짜 Gemini 서버 (고정 지연) 대상, 실행: ./gradlew benchmark -PjavaVersion=21 (17이면 가상 스레드 쪽은 건너뜀)
+@Tag("benchmark")
+class GeminiBlockingBenchmarkTest {
+
+    private static final int SUBMISSIONS = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long UPSTREAM_LATENCY_MS = 500;
+
+    private static final String RESPONSE = """
+            {"candidates":[{"content":{"parts":[{"text":"{\\"representative_mood\\":\\"만족\\",\\"mood_score\\":75,\\"keywords\\":[\\"붕어빵\\"],\\"image_prompt\\":\\"clay dog\\"}"}]}}]}
+            """;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 가짜 Gemini: 고정 지연 후 정상 응답, 동시에 몇 건 받고 있는지 기록
+        upstreamExecutor = Executors.newCachedThreadPool();
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), SUBMISSIONS);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(UPSTREAM_LATENCY_MS);
+                byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        upstream.start();
+
+        // 커넥션 풀/동시 처리 한도가 먼저 막히지 않도록 넉넉하게 (스레드 모델만 비교)
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("spring.gemini.http.max-connections", String.valueOf(SUBMISSIONS))
+                .withProperty("spring.gemini.http.http2", "false")
+                .withProperty("spring.gemini.guard.initial-limit", String.valueOf(SUBMISSIONS))
+                .withProperty("spring.gemini.guard.max-limit", String.valueOf(SUBMISSIONS));
+        WebClient webClient = new WebClientConfig(env).geminiWebClient(WebClient.builder());
+        ProviderGuard guard = new ResilienceConfig(env, meterRegistry).geminiGuard(CircuitBreakerRegistry.ofDefaults());
+
+        geminiService = new GeminiService(webClient, guard, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(geminiService, "apiKey", "benchmark-key");
+        ReflectionTestUtils.setField(geminiService, "baseUrl", "http://127.0.0.1:" + upstream.getAddress().getPort());
+        ReflectionTestUtils.setField(geminiService, "model", "stub");
+        ReflectionTestUtils.setField(geminiService, "contextCacheEnabled", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void 플랫폼_스레드와_가상_스레드의_동시_처리_비교() throws Exception {
+        ThreadPoolTaskExecutor tomcatLike = new ThreadPoolTaskExecutor();
+        tomcatLike.setCorePoolSize(TOMCAT_MAX_THREADS);
+        tomcatLike.setMaxPoolSize(TOMCAT_MAX_THREADS);
+        tomcatLike.setThreadNamePrefix("bench-platform-");
+        tomcatLike.initialize();
+        Result platform;
+        try {
+            platform = run("platform", tomcatLike);
+        } finally {
+            tomcatLike.shutdown();
+        }
+        System.out.println(platform);
+
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 Java 21 이상 (-PjavaVersion=21)");
+        Result virtual = run("virtual", new VirtualThreadTaskExecutor("bench-virtual-"));
+        System.out.println(virtual);
+
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+        // 플랫폼 스레드는 스레드 수만큼만 동시에 기다림
+        assertThat(platform.peakInFlight()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        assertThat(virtual.peakInFlight()).isGreaterThan(platform.peakInFlight());
+    }
+
+    // 분석 요청 SUBMISSIONS건을 한꺼번에 넣고 모두 끝날 때까지
+    private Result run(String mode, AsyncTaskExecutor executor) throws InterruptedException {
+        inFlight.set(0);
+        peakInFlight.set(0);
+        long[] latencies = new long[SUBMISSIONS];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(SUBMISSIONS);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    AiAnalysisResult result = geminiService.analyzeMood("붕어빵 먹음", "dog");
+                    if (result.keywords().isEmpty()) {
+                        failures.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latencies[index] = System.nanoTime() - submittedAt;
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(5, TimeUnit.MINUTES)).as("모든 요청 완료").isTrue();
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        return new Result(mode, SUBMISSIONS, failures.get(), peakInFlight.get(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                TimeUnit.NANOSECONDS.toMillis(latencies[SUBMISSIONS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[SUBMISSIONS * 99 / 100]));
+    }
+
+    private record Result(String mode, int submissions, int failures, int peakInFlight,
+                          long elapsedMs, long p50Ms, long p99Ms) {
+        @Override
+        public String toString() {
+            return "[%s] %d건, 실패 %d, 최대 동시 upstream %d, 전체 %dms (%.0f건/s), 지연 p50 %dms / p99 %dms".formatted(
+                    mode, submissions, failures, peakInFlight, elapsedMs,
+                    submissions * 1000.0 / Math.max(1, elapsedMs), p50Ms, p99Ms);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dodo.springboot.prismbackend.config.ResilienceConfig;
+import dodo.springboot.prismbackend.config.WebClientConfig;
+import dodo.springboot.prismbackend.global.resilience.ProviderGuard;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 고정 지시문을 컨텍스트 캐시에 등록해 두고 요청마다 일기만 보내는지 가짜 Gemini 서버로 확인
+// 가짜 서버는 Gemini처럼 usageMetadata를 돌려줌 (토큰 수는 글자 수 / 4로 어림, 실제 토크나이저 아님)
+class GeminiContextCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GeminiContextCacheTest.class);
+
+    private static final int CALLS = 5;
+
+    private static final String RESULT = """
+            {"representative_mood":"만족","mood_score":75,"keywords":["붕어빵"],"image_prompt":"clay dog"}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    // 등록된 캐시 이름 -> 지시문 글자 수
+    private final Map<String, Integer> cachedContents = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+
+    // 등록 요청(POST /cachedContents)을 잠시 붙잡아 둘 때
+    private volatile CountDownLatch createStarted;
+    private volatile CountDownLatch createRelease;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/cachedContents", this::createCachedContent);
+        upstream.createContext("/models/", this::generateContent);
+        // 등록 요청을 붙잡아 둔 동안에도 분석 요청은 처리
+        upstreamExecutor = Executors.newCachedThreadPool();
+        upstream.setExecutor(upstreamExecutor);
+        upstream.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment env = new MockEnvironment().withProperty("spring.gemini.http.http2", "false");
+        WebClient webClient = new WebClientConfig(env).geminiWebClient(WebClient.builder());
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        ProviderGuard guard = new ResilienceConfig(env, meterRegistry).geminiGuard(circuitBreakerRegistry);
+
+        geminiService = new GeminiService(webClient, guard, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(geminiService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(geminiService, "baseUrl", "http://127.0.0.1:" + upstream.getAddress().getPort());
+        ReflectionTestUtils.setField(geminiService, "model", "stub");
+        ReflectionTestUtils.setField(geminiService, "contextCacheEnabled", true);
+        ReflectionTestUtils.setField(geminiService, "contextCacheTtl", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void 지시문은_한_번만_등록하고_요청마다_일기만_보냄() {
+        for (int i = 0; i < CALLS; i++) {
+            assertThat(geminiService.analyzeMood("붕어빵 먹음 " + i, "dog").keywords()).containsExactly("붕어빵");
+        }
+
+        assertThat(created).hasValue(1);
+        assertThat(requests).hasSize(CALLS).allSatisfy(request -> {
+            assertThat(request.path("cachedContent").asText()).isEqualTo("cachedContents/1");
+            assertThat(request.has("systemInstruction")).isFalse();
+            assertThat(request.toString()).doesNotContain("**STYLE:**");
+        });
+    }
+
+    @Test
+    void 캐시를_끄면_요청마다_지시문을_보냄() {
+        ReflectionTestUtils.setField(geminiService, "contextCacheEnabled", false);
+
+        for (int i = 0; i < CALLS; i++) {
+            geminiService.analyzeMood("붕어빵 먹음 " + i, "dog");
+        }
+
+        assertThat(created).hasValue(0);
+        assertThat(requests).hasSize(CALLS).allSatisfy(request -> {
+            assertThat(request.has("cachedContent")).isFalse();
+            assertThat(request.path("systemInstruction").toString()).contains("**STYLE:**");
+        });
+    }
+
+    @Test
+    void 만료가_가까워지면_새로_등록() throws InterruptedException {
+        ReflectionTestUtils.setField(geminiService, "contextCacheTtl", Duration.ofMillis(200));
+
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+        Thread.sleep(300);
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+
+        assertThat(created).hasValue(2);
+        assertThat(requests.get(1).path("cachedContent").asText()).isEqualTo("cachedContents/2");
+    }
+
+    @Test
+    void 캐시가_서버에서_사라지면_지시문을_직접_보내고_다음에_새로_등록() {
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+        cachedContents.clear(); // 서버 쪽에서 만료/삭제
+
+        AiAnalysisResult result = geminiService.analyzeMood("붕어빵 먹음", "dog");
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+
+        assertThat(result.keywords()).containsExactly("붕어빵");
+        // 404 -> 같은 요청을 지시문 포함해서 다시 -> 다음 요청에서 새로 등록
+        assertThat(requests).hasSize(4);
+        assertThat(requests.get(2).path("systemInstruction").toString()).contains("**STYLE:**");
+        assertThat(requests.get(3).path("cachedContent").asText()).isEqualTo("cachedContents/2");
+        assertThat(created).hasValue(2);
+        // 캐시 미스는 제공자 장애로 집계하지 않음
+        assertThat(circuitBreakerRegistry.circuitBreaker("gemini").getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void 처음_등록하는_동안_다른_요청은_기다리지_않고_지시문을_직접_보냄() throws Exception {
+        holdNextCreate();
+        Thread registering = new Thread(() -> geminiService.analyzeMood("붕어빵 먹음", "dog"));
+        registering.start();
+        assertThat(createStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).path("systemInstruction").toString()).contains("**STYLE:**");
+        createRelease.countDown();
+        registering.join(5000);
+        assertThat(requests.get(1).path("cachedContent").asText()).isEqualTo("cachedContents/1");
+    }
+
+    @Test
+    void 만료_전_새로_등록하는_동안_다른_요청은_이전_캐시를_씀() throws Exception {
+        // TTL 4초 -> 3.6초부터 새로 등록, 4초까지는 이전 캐시가 살아 있음
+        ReflectionTestUtils.setField(geminiService, "contextCacheTtl", Duration.ofSeconds(4));
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+        Thread.sleep(3650);
+
+        holdNextCreate();
+        Thread registering = new Thread(() -> geminiService.analyzeMood("붕어빵 먹음", "dog"));
+        registering.start();
+        assertThat(createStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        geminiService.analyzeMood("붕어빵 먹음", "dog");
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).path("cachedContent").asText()).isEqualTo("cachedContents/1");
+        createRelease.countDown();
+        registering.join(5000);
+        assertThat(created).hasValue(2);
+        assertThat(requests.get(2).path("cachedContent").asText()).isEqualTo("cachedContents/2");
+    }
+
+    private void holdNextCreate() {
+        createStarted = new CountDownLatch(1);
+        createRelease = new CountDownLatch(1);
+    }
+
+    @Test
+    void 컨텍스트_캐시_전후_입력_토큰_비교() {
+        ReflectionTestUtils.setField(geminiService, "contextCacheEnabled", false);
+        for (int i = 0; i < CALLS; i++) {
+            geminiService.analyzeMood("붕어빵 먹음 " + i, "dog");
+        }
+        double promptBefore = tokens("prompt");
+        double cachedBefore = tokens("cached");
+
+        ReflectionTestUtils.setField(geminiService, "contextCacheEnabled", true);
+        for (int i = 0; i < CALLS; i++) {
+            geminiService.analyzeMood("붕어빵 먹음 " + i, "dog");
+        }
+
+        // 호출당 새로 읽는 입력 토큰 = prompt - cached (캐시에서 읽은 부분은 할인 요금)
+        double before = (promptBefore - cachedBefore) / CALLS;
+        double after = ((tokens("prompt") - promptBefore) - (tokens("cached") - cachedBefore)) / CALLS;
+        String report = "호출당 입력 토큰(어림) 전 %.0f / 후 %.0f, 평균 응답 시간 전 %.1fms / 후 %.1fms".formatted(
+                before, after, latency("unused"), latency("used"));
+        log.info("[context cache] {}", report);
+        assertThat(after).as(report).isLessThan(before / 5);
+    }
+
+    private double tokens(String type) {
+        DistributionSummary summary = meterRegistry.get("prism.gemini.tokens")
+                .tag("call", "single").tag("type", type).summary();
+        return summary.totalAmount();
+    }
+
+    // 가짜 서버 기준이라 절대값보다 전후 차이만 참고
+    private double latency(String contextCache) {
+        Timer timer = meterRegistry.get("prism.gemini.request")
+                .tag("call", "single").tag("context_cache", contextCache).timer();
+        return timer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    // POST /cachedContents: 지시문 등록 후 이름 리턴
+    private void createCachedContent(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        if (createStarted != null) {
+            createStarted.countDown();
+            try {
+                createRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String name = "cachedContents/" + created.incrementAndGet();
+        cachedContents.put(name, body.path("systemInstruction").path("parts").path(0).path("text").asText().length());
+        respond(exchange, 200, objectMapper.writeValueAsString(Map.of("name", name, "model", body.path("model").asText())));
+    }
+
+    // POST /models/stub:generateContent: 없는 캐시면 404, 아니면 분석 결과 + 토큰 사용량
+    private void generateContent(HttpExchange exchange) throws IOException {
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        requests.add(body);
+
+        int instructionChars;
+        boolean fromCache = body.has("cachedContent");
+        if (fromCache) {
+            Integer cached = cachedContents.get(body.path("cachedContent").asText());
+            if (cached == null) {
+                respond(exchange, 404, "{\"error\":{\"code\":404,\"status\":\"NOT_FOUND\"}}");
+                return;
+            }
+            instructionChars = cached;
+        } else {
+            instructionChars = body.path("systemInstruction").path("parts").path(0).path("text").asText().length();
+        }
+        int userChars = body.path("contents").path(0).path("parts").path(0).path("text").asText().length();
+
+        Map<String, Object> usage = fromCache
+                ? Map.of("promptTokenCount", (instructionChars + userChars) / 4,
+                        "cachedContentTokenCount", instructionChars / 4,
+                        "candidatesTokenCount", RESULT.length() / 4)
+                : Map.of("promptTokenCount", (instructionChars + userChars) / 4,
+                        "candidatesTokenCount", RESULT.length() / 4);
+        respond(exchange, 200, objectMapper.writeValueAsString(Map.of(
+                "candidates", List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", RESULT))))),
+                "usageMetadata", usage)));
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.util.ImageUtil;
+import dodo.springboot.prismbackend.mood.dto.RenderTask;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// 이미지 생성 파이프라인: 원본 다운로드 크기 상한, 업로드 중 CPU 스레드를 잡지 않는지
+@ExtendWith(MockitoExtension.class)
+class ImageRenderServiceTest {
+
+    @Mock private CloudflareService cloudflareService;
+    @Mock private StorageService storageService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor imageCpuExecutor;
+    private ImageRenderService imageRenderService;
+
+    @BeforeEach
+    void setUp() {
+        imageCpuExecutor = new ThreadPoolTaskExecutor();
+        imageCpuExecutor.setCorePoolSize(1);
+        imageCpuExecutor.setThreadNamePrefix("image-cpu-");
+        imageCpuExecutor.initialize();
+
+        imageRenderService = new ImageRenderService(cloudflareService, storageService,
+                new ImageUtil(500, 1024, 0.75f, false), meterRegistry, imageCpuExecutor);
+        ReflectionTestUtils.setField(imageRenderService, "maxOriginalSize", DataSize.ofKilobytes(64));
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageCpuExecutor.shutdown();
+    }
+
+    @Test
+    void 상한보다_큰_원본은_끝까지_받지_않고_실패() {
+        // 끝나지 않는 본문 (상한을 넘는 순간 멈춰야 함)
+        AtomicLong served = new AtomicLong();
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                served.incrementAndGet();
+                return 0;
+            }
+        };
+        given(cloudflareService.generateImage(anyString())).willReturn(endless);
+
+        assertThatThrownBy(() -> imageRenderService.render(new RenderTask(1L, 2L, 3L, "prompt")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("너무 큽니다");
+
+        assertThat(served.get()).isEqualTo(DataSize.ofKilobytes(64).toBytes() + 1);
+        assertThat(meterRegistry.counter("prism.image.original.too-large").count()).isEqualTo(1.0);
+        // 디코딩/업로드까지 가지 않음
+        assertThat(imageCpuExecutor.getThreadPoolExecutor().getCompletedTaskCount()).isZero();
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void 인코딩은_CPU_풀에서_끝내고_업로드는_워커_스레드에서() throws IOException {
+        given(cloudflareService.generateImage(anyString())).willReturn(png(1600, 1200));
+
+        List<String> uploadThreads = Collections.synchronizedList(new ArrayList<>());
+        willAnswer(invocation -> {
+            byte[] jpeg = invocation.getArgument(0);
+            // 인코딩이 끝난 JPEG가 넘어옴
+            assertThat(ImageIO.read(new ByteArrayInputStream(jpeg))).isNotNull();
+            uploadThreads.add(Thread.currentThread().getName());
+            return "https://img/" + invocation.getArgument(1);
+        }).given(storageService).uploadImage(any(byte[].class), anyString());
+
+        imageRenderService.render(new RenderTask(1L, 2L, 3L, "prompt"));
+
+        // CPU 풀 스레드(image-cpu-)가 아니라 render를 부른 스레드에서 업로드
+        assertThat(uploadThreads).hasSize(2)
+                .allMatch(name -> name.equals(Thread.currentThread().getName()));
+        assertThat(cpuTimer("run").count()).isEqualTo(3); // 디코딩 1번 + 인코딩 2번
+    }
+
+    private Timer cpuTimer(String phase) {
+        return meterRegistry.get("prism.image.cpu").tag("phase", phase).timer();
+    }
+
+    private static InputStream png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
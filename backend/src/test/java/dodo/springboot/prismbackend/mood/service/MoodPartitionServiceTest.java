@@ -0,0 +1,77 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// default 파티션에 그 달 일기가 이미 있어도 월별 파티션을 만들면서 옮기는지 (실제 Postgres, 마이그레이션 적용)
+// 함수가 한 달씩 자기 트랜잭션으로 실행되도록 테스트 트랜잭션은 쓰지 않음
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+class MoodPartitionServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void default_파티션에_있던_일기를_새_파티션으로_옮김() {
+        // 마이그레이션이 미리 만든 범위(3개월) 밖 -> default 파티션
+        LocalDate logDate = LocalDate.now().plusMonths(6).withDayOfMonth(15);
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, nickname, role) VALUES (?, 'user', 'USER') RETURNING id",
+                Long.class, UUID.randomUUID() + "@prism.com");
+        Long logId = insertLog(userId, logDate);
+        jdbcTemplate.update("""
+                INSERT INTO mood_analysis (mood_log_id, log_date, representative_mood, mood_score, image_prompt)
+                VALUES (?, ?, '만족', 75, 'clay dog')""", logId, logDate);
+        assertThat(partitionOf("mood_logs", "id", logId)).isEqualTo("mood_logs_default");
+
+        new MoodPartitionService(jdbcTemplate, 8).createUpcomingPartitions();
+
+        String suffix = logDate.format(SUFFIX);
+        assertThat(partitionOf("mood_logs", "id", logId)).isEqualTo("mood_logs_" + suffix);
+        assertThat(partitionOf("mood_analysis", "mood_log_id", logId)).isEqualTo("mood_analysis_" + suffix);
+        // 옮긴 달 뒤의 달도 만들어짐
+        assertThat(exists("mood_logs_" + LocalDate.now().plusMonths(8).format(SUFFIX))).isTrue();
+        // 범위 밖 일기는 계속 default 파티션으로
+        Long farFuture = insertLog(userId, LocalDate.now().plusYears(5));
+        assertThat(partitionOf("mood_logs", "id", farFuture)).isEqualTo("mood_logs_default");
+    }
+
+    private Long insertLog(Long userId, LocalDate logDate) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO mood_logs (user_id, log_date, content) VALUES (?, ?, '붕어빵') RETURNING id",
+                Long.class, userId, logDate);
+    }
+
+    private String partitionOf(String table, String column, Long id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM " + table + " WHERE " + column + " = ?", String.class, id);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
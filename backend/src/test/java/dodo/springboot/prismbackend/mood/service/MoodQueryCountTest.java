@@ -0,0 +1,236 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import dodo.springboot.prismbackend.mood.dto.AiAnalysisResult;
+import dodo.springboot.prismbackend.mood.dto.MoodLogRequestDto;
+import dodo.springboot.prismbackend.mood.dto.RenderedImages;
+import dodo.springboot.prismbackend.mood.entity.AiJob;
+import dodo.springboot.prismbackend.mood.entity.AiJobType;
+import dodo.springboot.prismbackend.mood.entity.MoodAnalysis;
+import dodo.springboot.prismbackend.mood.entity.MoodLog;
+import dodo.springboot.prismbackend.mood.repository.AiJobRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodAnalysisRepository;
+import dodo.springboot.prismbackend.mood.repository.MoodLogRepository;
+import dodo.springboot.prismbackend.user.entity.Role;
+import dodo.springboot.prismbackend.user.entity.User;
+import dodo.springboot.prismbackend.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+// 엔드포인트별 SQL 실행 횟수 고정 (N+1이나 불필요한 조회가 생기면 실패)
+// Hibernate 통계의 prepared statement 수 기준, 아래 기대값은 Postgres 16(마이그레이션 적용)에서 실제로 돌려서 잰 값
+// 서비스 트랜잭션이 실제로 커밋되도록 테스트 트랜잭션은 쓰지 않음
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@Import({CalendarService.class, MoodLogService.class, AiJobService.class, CalendarCacheService.class,
+        MoodStatsService.class, ReplicaStickiness.class, MoodQueryCountTest.Config.class})
+class MoodQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // 분석 키워드 2개 (키워드 집계 upsert 2번)
+    private static final List<String> KEYWORDS = List.of("붕어빵", "간식");
+
+    @MockitoBean private StorageService storageService;
+    @MockitoBean private AnalysisCacheService analysisCacheService;
+
+    @Autowired private CalendarService calendarService;
+    @Autowired private MoodLogService moodLogService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private MoodLogRepository moodLogRepository;
+    @Autowired private MoodAnalysisRepository moodAnalysisRepository;
+    @Autowired private AiJobRepository aiJobRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private User user;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        today = LocalDate.now();
+        // 테스트마다 다른 유저 (달력 캐시/데이터가 섞이지 않도록)
+        user = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@prism.com")
+                .nickname("user")
+                .role(Role.USER)
+                .build());
+        given(analysisCacheService.analyze(anyString(), anyString(), anyBoolean()))
+                .willReturn(new AiAnalysisResult("만족", 75, KEYWORDS, "clay dog"));
+
+        // id는 시퀀스에서 50개씩 받아오므로 첫 insert에서만 nextval이 나감
+        // 측정 구간에 섞이지 않도록 측정 월과 다른 날짜로 미리 한 건씩 저장
+        inTransaction(() -> {
+            MoodLog warmUp = moodLogRepository.save(MoodLog.builder()
+                    .user(user).logDate(today.minusYears(1)).content("준비").build());
+            return moodAnalysisRepository.save(MoodAnalysis.builder()
+                    .moodLog(warmUp)
+                    .representativeMood("만족")
+                    .moodScore(50)
+                    .keywords(KEYWORDS)
+                    .imagePrompt("clay dog")
+                    .build());
+        });
+    }
+
+    @Test
+    void 달력_목록은_1번_두번째는_캐시() {
+        diaryWithAnalysis();
+
+        assertStatements(1, () -> calendarService.getCalendarList(today.getYear(), today.getMonthValue(), user.getId()));
+        assertStatements(0, () -> calendarService.getCalendarList(today.getYear(), today.getMonthValue(), user.getId()));
+    }
+
+    @Test
+    void 상세_조회는_1번() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        assertStatements(1, () -> calendarService.getMoodLogDetail(moodLog.getId(), user.getId()));
+    }
+
+    @Test
+    void 분석_완료_상태_조회는_1번() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        assertStatements(1, () -> moodLogService.getAnalysisStatus(moodLog.getId(), user.getId()));
+    }
+
+    @Test
+    void 분석_대기_상태_조회는_2번() {
+        MoodLog moodLog = diary();
+        job(moodLog, AiJobType.ANALYSIS);
+
+        // 일기+분석 1번, 최근 작업 1번
+        assertStatements(2, () -> moodLogService.getAnalysisStatus(moodLog.getId(), user.getId()));
+    }
+
+    @Test
+    void 일기_작성은_insert_2번() {
+        // 유저는 조회하지 않음 (참조만), 일기 insert + 작업 insert
+        assertStatements(2, () -> moodLogService.analyzeDiary(user.getId(), new MoodLogRequestDto(today, "붕어빵 먹음")));
+    }
+
+    @Test
+    void 분석_작업_처리는_7번() {
+        MoodLog moodLog = diary();
+        AiJob job = job(moodLog, AiJobType.ANALYSIS);
+
+        // 읽기: 작업+일기+유저+분석 1번 (Gemini 호출은 트랜잭션 밖)
+        // 저장: 작업+일기+유저+분석 1번, 분석 insert 1번, 감정 집계 1번 + 키워드 집계 2번, 작업 완료 update 1번
+        assertStatements(7, () -> moodLogService.processAnalysisJob(job.getId()));
+    }
+
+    @Test
+    void 이미지_생성_요청은_3번() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        // 일기+분석 1번, 작업 insert 1번, 렌더 상태 update 1번
+        assertStatements(3, () -> moodLogService.generateImageForLog(moodLog.getId(), user.getId()));
+    }
+
+    @Test
+    void 이미지_생성_완료는_3번() {
+        MoodLog moodLog = diaryWithAnalysis();
+        AiJob job = job(moodLog, AiJobType.IMAGE);
+        moodLogService.startRender(job.getId());
+
+        // 작업+일기+유저+분석 1번, 분석 update 1번, 작업 update 1번
+        assertStatements(3, () -> moodLogService.completeRender(job.getId(),
+                new RenderedImages("https://img/thumb.jpg", "https://img/detail.jpg")));
+    }
+
+    @Test
+    void 일기_삭제는_7번() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        // 일기+분석 1번, 집계 빼기 3번, 작업 삭제 1번, 분석/일기 delete 2번
+        assertStatements(7, () -> calendarService.deleteLog(moodLog.getId(), user.getId()));
+    }
+
+    @Test
+    void 재분석은_9번() {
+        MoodLog moodLog = diaryWithAnalysis();
+
+        // 읽기: 일기+유저+분석 1번 (Gemini 호출은 트랜잭션 밖)
+        // 저장: 일기+분석 1번, 집계 빼기 3번, 분석 update 1번 (버전 확인), 집계 더하기 3번
+        assertStatements(9, () -> calendarService.regenerateImage(moodLog.getId(), user.getId(), false));
+    }
+
+    private void assertStatements(long expected, Runnable call) {
+        statistics.clear();
+        call.run();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("실행된 SQL 수")
+                .isEqualTo(expected);
+    }
+
+    private MoodLog diary() {
+        return moodLogRepository.save(MoodLog.builder().user(user).logDate(today).content("붕어빵 먹음").build());
+    }
+
+    private MoodLog diaryWithAnalysis() {
+        return inTransaction(() -> {
+            MoodLog moodLog = diary();
+            moodAnalysisRepository.save(MoodAnalysis.builder()
+                    .moodLog(moodLog)
+                    .representativeMood("만족")
+                    .moodScore(50)
+                    .keywords(KEYWORDS)
+                    .imagePrompt("clay dog")
+                    .build());
+            return moodLog;
+        });
+    }
+
+    private AiJob job(MoodLog moodLog, AiJobType type) {
+        return aiJobRepository.save(AiJob.builder().moodLog(moodLog).type(type).build());
+    }
+
+    private <T> T inTransaction(Supplier<T> supplier) {
+        return new TransactionTemplate(transactionManager).execute(status -> supplier.get());
+    }
+}
@@ -0,0 +1,113 @@
+package dodo.springboot.prismbackend.mood.service;
+
+import dodo.springboot.prismbackend.global.datasource.ReplicaStickiness;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// RUNNING에 멈춘 작업 회수: 시도 횟수가 남은 작업만 다시 대기열로, 다 쓴 작업은 실패 처리
+// (가져갈 때마다 서버를 죽이는 작업이 끝없이 다시 돌지 않도록)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers
+@Import({MoodLogService.class, AiJobService.class, CalendarCacheService.class, MoodStatsService.class,
+        ReplicaStickiness.class, StaleJobRecoveryTest.Config.class})
+class StaleJobRecoveryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean private AnalysisCacheService analysisCacheService;
+
+    @Autowired private AiJobService aiJobService;
+    @Autowired private MoodLogService moodLogService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private AiJobWorker aiJobWorker;
+
+    @BeforeEach
+    void setUp() {
+        // 회수에는 서비스만 씀 (실행기/제공자 보호 장치는 필요 없음)
+        aiJobWorker = new AiJobWorker(aiJobService, moodLogService, null, null, null, null, null, null);
+
+        jdbcTemplate.update("TRUNCATE ai_jobs, mood_analysis, mood_logs, users CASCADE");
+        jdbcTemplate.update("INSERT INTO users (id, email, nickname, role) VALUES (1, 'user@prism.com', 'user', 'USER')");
+        jdbcTemplate.update("INSERT INTO mood_logs (id, user_id, log_date, content) VALUES (1, 1, ?, '붕어빵'), (2, 1, ?, '호떡')",
+                LocalDate.now(), LocalDate.now());
+        jdbcTemplate.update("""
+                INSERT INTO mood_analysis (id, mood_log_id, log_date, representative_mood, mood_score, keywords,
+                                           image_prompt, render_status, version)
+                VALUES (1, 2, ?, '만족', 75, ARRAY['호떡'], 'clay dog', 'RENDERING', 0)""", LocalDate.now());
+    }
+
+    @Test
+    void 시도_횟수가_남은_작업만_다시_대기열로() {
+        // 기본 최대 시도 횟수 3
+        long retryable = job(1, "ANALYSIS", 2, 10);
+        long exhausted = job(1, "ANALYSIS", 3, 10);
+        long recent = job(1, "ANALYSIS", 3, 1); // 아직 처리 중일 수 있는 작업
+
+        aiJobWorker.recoverStaleJobs();
+
+        assertThat(status(retryable)).containsEntry("status", "QUEUED").containsEntry("locked_at", null);
+        assertThat(status(exhausted)).containsEntry("status", "FAILED").containsEntry("locked_at", null);
+        assertThat((String) status(exhausted).get("last_error")).contains("시도 횟수");
+        assertThat(status(recent)).containsEntry("status", "RUNNING");
+    }
+
+    @Test
+    void 시도_횟수를_다_쓴_이미지_작업은_분석도_실패로_표시() {
+        long exhausted = job(2, "IMAGE", 3, 10);
+
+        aiJobWorker.recoverStaleJobs();
+
+        assertThat(status(exhausted)).containsEntry("status", "FAILED");
+        // RENDERING으로 남아 있으면 화면에서 계속 생성 중으로 보임
+        assertThat(jdbcTemplate.queryForObject("SELECT render_status FROM mood_analysis WHERE id = 1", String.class))
+                .isEqualTo("FAILED");
+    }
+
+    // lockedMinutesAgo분 전부터 RUNNING인 작업
+    private long job(long moodLogId, String type, int attempts, int lockedMinutesAgo) {
+        LocalDateTime lockedAt = LocalDateTime.now().minusMinutes(lockedMinutesAgo);
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO ai_jobs (mood_log_id, type, status, attempts, available_at, locked_at)
+                VALUES (?, ?, 'RUNNING', ?, ?, ?) RETURNING id""", Long.class,
+                moodLogId, type, attempts, lockedAt, lockedAt);
+    }
+
+    private Map<String, Object> status(long jobId) {
+        return jdbcTemplate.queryForMap("SELECT status, locked_at, last_error FROM ai_jobs WHERE id = ?", jobId);
+    }
+}
@@ -0,0 +1,17 @@
+import api from './axios';
+
+// 체험하기 (서버가 체험용 계정 하나를 내주고 accessToken 발급)
+export const loginAsGuest = async (): Promise<{ accessToken: string; nickname: string }> => {
+    const response = await api.post('/auth/guest');
+    return response.data;
+};
+
+// 로그아웃 (서버에서 지금 쓰는 토큰 폐기)
+// 실패해도 (토큰 만료 등) 화면에서는 로그아웃 처리
+export const logoutFromServer = async (): Promise<void> => {
+    try {
+        await api.post('/auth/logout');
+    } catch (error) {
+        console.error('로그아웃 요청 실패', error);
+    }
+};
@@ -1,19 +1,146 @@
 import api from './axios';
-import {CalendarDetailResponseDto, CalendarResponseDto, AnalyzeResponse} from '@/types/diary';
+import {CalendarDetailResponseDto, CalendarResponseDto, AnalyzeResponse, AnalysisStatusResponse} from '@/types/diary';
 import {ApiResponse} from "@/types/global";
+import { useAuthStore } from '@/store/authStore';
 
-// 일기 저장 및 분석
-export const analyzeDiary = async (date: string, content: string): Promise<AnalyzeResponse> => {
-    const response = await api.post<ApiResponse<AnalyzeResponse>>('/logs', { date, content });
+const POLL_INTERVAL_MS = 1000;
+const sleep = (ms: number) => new Promise(resolve => setTimeout(resolve, ms));
+
+// 일기 저장 및 분석 (SSE 스트리밍)
+// 키워드는 생성되는 즉시 onKeywords로 전달, 서버가 작업 큐로 넘기거나(queued) 연결이 끊기면 상태 조회로 대기
+export const analyzeDiary = async (
+    date: string,
+    content: string,
+    onKeywords?: (keywords: string[]) => void,
+): Promise<AnalyzeResponse> => {
+    const accessToken = useAuthStore.getState().accessToken;
+    const response = await fetch(`${process.env.NEXT_PUBLIC_API_URL}/logs/stream`, {
+        method: 'POST',
+        headers: {
+            'Content-Type': 'application/json',
+            'Accept': 'text/event-stream',
+            ...(accessToken ? { 'Authorization': `Bearer ${accessToken}` } : {}),
+        },
+        credentials: 'include',
+        body: JSON.stringify({ date, content }),
+    });
+    if (!response.ok || !response.body) {
+        throw new Error('일기 저장에 실패했습니다.');
+    }
+
+    // 콜백 안에서 채움
+    const received: { logId: number | null; result: AnalyzeResponse | null } = { logId: null, result: null };
+    await readEvents(response.body, (event, data) => {
+        switch (event) {
+            case 'saved':
+                received.logId = Number(data);
+                break;
+            case 'keywords':
+                onKeywords?.(JSON.parse(data));
+                break;
+            case 'done': {
+                const status: AnalysisStatusResponse = JSON.parse(data);
+                received.result = {
+                    logId: status.logId,
+                    keywords: status.keywords ?? [],
+                    representativeMood: status.representativeMood ?? '',
+                };
+                break;
+            }
+            case 'failed':
+                throw new Error('일기 분석에 실패했습니다.');
+        }
+    });
+
+    if (received.result) {
+        return received.result;
+    }
+    if (received.logId === null) {
+        throw new Error('일기 저장에 실패했습니다.');
+    }
+    return waitForAnalysis(received.logId);
+};
+
+// SSE 응답 본문을 이벤트 단위로 읽기 (event/data 줄만 사용)
+const readEvents = async (
+    body: ReadableStream<Uint8Array>,
+    onEvent: (event: string, data: string) => void,
+): Promise<void> => {
+    const reader = body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    while (true) {
+        const { done, value } = await reader.read();
+        if (done) {
+            return;
+        }
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            const block = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary + 2);
+
+            let event = 'message';
+            const data: string[] = [];
+            for (const line of block.split('\n')) {
+                if (line.startsWith('event:')) {
+                    event = line.slice(6).trim();
+                } else if (line.startsWith('data:')) {
+                    data.push(line.slice(5).replace(/^ /, ''));
+                }
+            }
+            onEvent(event, data.join('\n'));
+        }
+    }
+};
+
+// 분석 상태 조회
+export const getAnalysisStatus = async (logId: number): Promise<AnalysisStatusResponse> => {
+    const response = await api.get<ApiResponse<AnalysisStatusResponse>>(`/logs/${logId}/analysis`);
     return response.data.data;
 };
 
+// 분석 완료까지 대기
+const waitForAnalysis = async (logId: number): Promise<AnalyzeResponse> => {
+    while (true) {
+        const status = await getAnalysisStatus(logId);
+        if (status.status === 'DONE') {
+            return {
+                logId: status.logId,
+                keywords: status.keywords ?? [],
+                representativeMood: status.representativeMood ?? '',
+            };
+        }
+        if (status.status === 'FAILED') {
+            throw new Error('일기 분석에 실패했습니다.');
+        }
+        await sleep(POLL_INTERVAL_MS);
+    }
+};
+
 // 이미지 생성
+// 서버는 202로 바로 응답하고 생성은 백그라운드에서 진행 -> 완료될 때까지 상세 조회
 export const generateImageOnly = async (logId: number): Promise<number> => {
     const response = await api.post<ApiResponse<number>>(`/logs/${logId}/image`);
+    await waitForImage(response.data.data);
     return response.data.data;
 };
 
+// 이미지 생성 완료까지 대기
+const waitForImage = async (logId: number): Promise<void> => {
+    while (true) {
+        const detail = await getDiaryDetail(logId);
+        if (detail.renderStatus === 'READY') {
+            return;
+        }
+        if (detail.renderStatus === 'FAILED') {
+            throw new Error('이미지 생성에 실패했습니다.');
+        }
+        await sleep(POLL_INTERVAL_MS);
+    }
+};
+
 // 달력 조회
 export const getCalendar = async (year: number, month: number): Promise<CalendarResponseDto[]> => {
     const response = await api.get<ApiResponse<CalendarResponseDto[]>>(`/logs/monthly`,{
@@ -5,6 +5,7 @@ import Link from "next/link";
 import { format, startOfMonth, endOfMonth, startOfWeek, endOfWeek, eachDayOfInterval, setMonth, isSameMonth, isSameDay } from 'date-fns';
 import { useAuthStore } from '@/store/authStore';
 import {getCalendar, getDiaryDetail} from '@/api/diaryApi';
+import {logoutFromServer} from '@/api/authApi';
 import ResultModal from '@/components/ResultModal';
 import LoadingScreen from '@/components/LoadingScreen';
 import LoginView from '@/components/Login';
@@ -172,7 +173,7 @@ export default function Home() {
                                     기록하기
                                 </button>
                                 <button
-                                    onClick={() => { if(confirm("로그아웃 하시겠습니까?")) logout(); }}
+                                    onClick={() => { if(confirm("로그아웃 하시겠습니까?")) logoutFromServer().finally(logout); }}
                                     className="text-[10px] sm:text-xs text-neutral-400 hover:text-neutral-600 transition-colors"
                                 >
                                     로그아웃
@@ -1,7 +1,7 @@
 'use client';
 
 import React from 'react';
-import api from "@/api/axios";
+import {loginAsGuest} from "@/api/authApi";
 import { useAuthStore } from '@/store/authStore';
 import {User} from "@/types/JwtPayload";
 import {handleDecode} from "@/util/jwt";
@@ -12,8 +12,7 @@ const Login = () => {
     // 게스트 로그인 핸들러
     const handleGuestLogin = async () => {
         try {
-            const response = await api.get('/auth/guest');
-            const data = response.data;
+            const data = await loginAsGuest();
 
             if (data.accessToken) {
                 const guestUser: User = handleDecode(data.accessToken);
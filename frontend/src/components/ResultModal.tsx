@@ -105,8 +105,8 @@ const ResultModal: React.FC<ResultModalProps> = ({ data, onClose, onUpdateDiary,
                         {localData?.imageUrl ? (
                             <>
                                 <img
-                                    src={localData.imageUrl}
-                                    key={localData.imageUrl}
+                                    src={localData.detailImageUrl ?? localData.imageUrl}
+                                    key={localData.detailImageUrl ?? localData.imageUrl}
                                     alt="AI Created"
                                     className="w-full h-full object-cover"
                                 />
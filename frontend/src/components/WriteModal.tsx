@@ -50,12 +50,16 @@ const WriteModal: React.FC<WriteModalProps> = ({ isOpen, onClose, selectedDate,
         try {
             // 분석 시작
             setIsAnalyzing(true);
-            const analysisResult:AnalyzeResponse = await analyzeDiary(date, content);
-            setIsAnalyzing(false);
+            // 키워드가 먼저 도착하면 분석이 끝나기 전에 키워드 애니메이션 시작
+            const showKeywords = (keywords: string[]) => {
+                setIsAnalyzing(false);
+                setKeywords(keywords);
+                setIsGenerating(true);
+            };
+            const analysisResult:AnalyzeResponse = await analyzeDiary(date, content, showKeywords);
 
             // 분석 완료 -> 키워드 애니메이션 시작
-            setKeywords(analysisResult.keywords);
-            setIsGenerating(true);
+            showKeywords(analysisResult.keywords);
 
             // 이미지 생성 요청
             await generateImageOnly(analysisResult.logId);
@@ -3,11 +3,14 @@ export interface MoodLogRequestDto {
     content: string;
 }
 
+export type RenderStatus = 'PENDING' | 'RENDERING' | 'READY' | 'FAILED';
+
 export interface CalendarResponseDto {
     id: number;
     date: string;
     imageUrl: string;
     moodScore: number;
+    renderStatus?: RenderStatus | null;
 }
 
 export interface CalendarDetailResponseDto {
@@ -15,8 +18,10 @@ export interface CalendarDetailResponseDto {
     date: string;
     keywords: string[];
     imageUrl: string | null;
+    detailImageUrl: string | null; // 상세 보기용 큰 이미지 (없으면 imageUrl)
     content: string;
     moodScore: number;
+    renderStatus: RenderStatus | null;
 }
 
 export interface AnalyzeResponse {
@@ -24,3 +29,12 @@ export interface AnalyzeResponse {
     keywords: string[];
     representativeMood: string;
 }
+
+export type AnalysisJobStatus = 'QUEUED' | 'RUNNING' | 'DONE' | 'FAILED';
+
+export interface AnalysisStatusResponse {
+    logId: number;
+    status: AnalysisJobStatus;
+    keywords: string[] | null;
+    representativeMood: string | null;
+}